@@ -0,0 +1,46 @@
+package com.logichaintwo.batch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.batch.core.partition.Partitioner;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+// Splits the product id space into contiguous ranges, one per worker partition
+@Component
+@RequiredArgsConstructor
+public class ProductRangePartitioner implements Partitioner {
+    public static final String MIN_PRODUCT_ID = "minProductId";
+    public static final String MAX_PRODUCT_ID = "maxProductId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM product");
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        if (bounds.get("min_id") == null) {
+            partitions.put("partition0", range(1, 0));
+            return partitions;
+        }
+        long min = ((Number) bounds.get("min_id")).longValue();
+        long max = ((Number) bounds.get("max_id")).longValue();
+        long span = Math.max(1, (max - min + gridSize) / gridSize);
+        int index = 0;
+        for (long start = min; start <= max; start += span) {
+            partitions.put("partition" + index++, range(start, Math.min(max, start + span - 1)));
+        }
+        return partitions;
+    }
+
+    private ExecutionContext range(long min, long max) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_PRODUCT_ID, min);
+        context.putLong(MAX_PRODUCT_ID, max);
+        return context;
+    }
+}
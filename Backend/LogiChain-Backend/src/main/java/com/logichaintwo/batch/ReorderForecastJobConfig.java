@@ -0,0 +1,51 @@
+package com.logichaintwo.batch;
+
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Manager step fans product id ranges out to worker steps running in parallel
+@Configuration
+public class ReorderForecastJobConfig {
+    public static final String JOB_NAME = "reorderForecastJob";
+
+    @Bean
+    public Job reorderForecastJob(JobRepository jobRepository,
+                                  @Qualifier("reorderForecastManagerStep") Step managerStep) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(managerStep)
+                .build();
+    }
+
+    @Bean
+    public Step reorderForecastManagerStep(JobRepository jobRepository,
+                                           ProductRangePartitioner partitioner,
+                                           @Qualifier("reorderForecastWorkerStep") Step workerStep,
+                                           @Value("${forecast.grid-size:4}") int gridSize) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("reorder-forecast-");
+        executor.setConcurrencyLimit(gridSize);
+        return new StepBuilder("reorderForecastManagerStep", jobRepository)
+                .partitioner("reorderForecastWorkerStep", partitioner)
+                .step(workerStep)
+                .gridSize(gridSize)
+                .taskExecutor(executor)
+                .build();
+    }
+
+    @Bean
+    public Step reorderForecastWorkerStep(JobRepository jobRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          ReorderForecastTasklet tasklet) {
+        return new StepBuilder("reorderForecastWorkerStep", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+}
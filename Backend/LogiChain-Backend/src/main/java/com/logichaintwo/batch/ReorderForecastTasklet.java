@@ -0,0 +1,165 @@
+package com.logichaintwo.batch;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.StepContribution;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forecasts daily demand for every product x warehouse pair in one product id range.
+ * Demand is attributed to the warehouse its order shipped from; order lines without
+ * a sourcing warehouse carry no location and are left out of the forecast.
+ */
+@Slf4j
+@Component
+@StepScope
+public class ReorderForecastTasklet implements Tasklet {
+    private static final int WRITE_BATCH_SIZE = 500;
+    // Smoothed mean absolute deviation to standard deviation, for roughly normal errors
+    private static final double MAD_TO_SIGMA = 1.25;
+
+    private static final String DEMAND_SQL =
+            "SELECT oi.product_id, s.warehouse_id, DATEDIFF(o.order_date, ?) AS day_index, SUM(oi.quantity) AS units "
+            + "FROM order_item oi "
+            + "JOIN orders o ON o.id = oi.order_id "
+            + "JOIN shipment s ON s.order_id = o.id "
+            + "WHERE oi.product_id BETWEEN ? AND ? AND s.warehouse_id IS NOT NULL "
+            + "AND o.order_date >= ? AND o.order_date < ? AND o.order_status <> 'CANCELLED' "
+            + "GROUP BY oi.product_id, s.warehouse_id, day_index "
+            + "ORDER BY oi.product_id, s.warehouse_id, day_index";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reorder_suggestion (product_id, warehouse_id, average_daily_demand, demand_deviation, "
+            + "available_quantity, reorder_point, suggested_quantity, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Value("#{stepExecutionContext['" + ProductRangePartitioner.MIN_PRODUCT_ID + "']}")
+    private Long minProductId;
+
+    @Value("#{stepExecutionContext['" + ProductRangePartitioner.MAX_PRODUCT_ID + "']}")
+    private Long maxProductId;
+
+    @Value("${forecast.lookback-days:180}")
+    private int lookbackDays;
+
+    @Value("${forecast.smoothing-alpha:0.3}")
+    private double alpha;
+
+    @Value("${forecast.lead-time-days:7}")
+    private int leadTimeDays;
+
+    @Value("${forecast.review-period-days:14}")
+    private int reviewPeriodDays;
+
+    @Value("${forecast.service-level-z:1.65}")
+    private double serviceLevelZ;
+
+    public ReorderForecastTasklet(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL Connector/J streams row by row instead of buffering the whole result set
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    private record Cell(long productId, long warehouseId) {
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        if (minProductId > maxProductId) {
+            return RepeatStatus.FINISHED;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(lookbackDays);
+        Map<Cell, Integer> availableByCell = loadAvailable();
+
+        // The streaming result set holds the connection, so suggestions are buffered and written afterwards
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime generatedAt = LocalDateTime.now();
+        double[] daily = new double[lookbackDays];
+        long[] current = {-1L, -1L};
+
+        streamingJdbcTemplate.query(DEMAND_SQL, rs -> {
+            long productId = rs.getLong(1);
+            long warehouseId = rs.getLong(2);
+            if (productId != current[0] || warehouseId != current[1]) {
+                if (current[0] >= 0) {
+                    rows.add(forecast(current[0], current[1], daily, availableByCell, generatedAt));
+                }
+                current[0] = productId;
+                current[1] = warehouseId;
+                Arrays.fill(daily, 0.0);
+            }
+            int day = rs.getInt(3);
+            if (day >= 0 && day < daily.length) {
+                daily[day] += rs.getDouble(4);
+            }
+        }, from, minProductId, maxProductId, from.atStartOfDay(), today.atStartOfDay());
+        if (current[0] >= 0) {
+            rows.add(forecast(current[0], current[1], daily, availableByCell, generatedAt));
+        }
+
+        jdbcTemplate.update("DELETE FROM reorder_suggestion WHERE product_id BETWEEN ? AND ?", minProductId, maxProductId);
+        for (int start = 0; start < rows.size(); start += WRITE_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(start, Math.min(rows.size(), start + WRITE_BATCH_SIZE)));
+        }
+        contribution.incrementWriteCount(rows.size());
+        log.info("Reorder forecast for products {}-{}: {} suggestions", minProductId, maxProductId, rows.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    private Map<Cell, Integer> loadAvailable() {
+        Map<Cell, Integer> available = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, warehouse_id, quantity - COALESCE(reserved_quantity, 0) "
+                + "FROM inventory WHERE product_id BETWEEN ? AND ?",
+                rs -> {
+                    available.put(new Cell(rs.getLong(1), rs.getLong(2)), rs.getInt(3));
+                }, minProductId, maxProductId);
+        return available;
+    }
+
+    // Simple exponential smoothing of the daily series, tracking the smoothed absolute error alongside the level
+    private Object[] forecast(long productId, long warehouseId, double[] daily, Map<Cell, Integer> availableByCell,
+                              LocalDateTime generatedAt) {
+        int warmup = Math.min(7, daily.length);
+        double level = 0;
+        for (int d = 0; d < warmup; d++) {
+            level += daily[d];
+        }
+        level = warmup > 0 ? level / warmup : 0;
+        double deviation = 0;
+        for (int d = warmup; d < daily.length; d++) {
+            double error = daily[d] - level;
+            deviation = alpha * Math.abs(error) + (1 - alpha) * deviation;
+            level += alpha * error;
+        }
+
+        double safetyStock = serviceLevelZ * MAD_TO_SIGMA * deviation * Math.sqrt(leadTimeDays);
+        int reorderPoint = (int) Math.ceil(level * leadTimeDays + safetyStock);
+        int orderUpTo = (int) Math.ceil(level * (leadTimeDays + reviewPeriodDays) + safetyStock);
+        int available = availableByCell.getOrDefault(new Cell(productId, warehouseId), 0);
+        int suggested = available <= reorderPoint ? Math.max(0, orderUpTo - available) : 0;
+
+        return new Object[] {productId, warehouseId, level, deviation, available, reorderPoint, suggested,
+                Timestamp.valueOf(generatedAt)};
+    }
+}
@@ -0,0 +1,45 @@
+package com.logichaintwo.batch;
+
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Return rates first, then reason clusters; each step replaces its own table
+@Configuration
+public class ReturnAnalyticsJobConfig {
+    public static final String JOB_NAME = "returnAnalyticsJob";
+
+    @Bean
+    public Job returnAnalyticsJob(JobRepository jobRepository,
+                                  @Qualifier("returnRateStep") Step rateStep,
+                                  @Qualifier("returnReasonStep") Step reasonStep) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(rateStep)
+                .next(reasonStep)
+                .build();
+    }
+
+    @Bean
+    public Step returnRateStep(JobRepository jobRepository,
+                               PlatformTransactionManager transactionManager,
+                               ReturnRateTasklet tasklet) {
+        return new StepBuilder("returnRateStep", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Step returnReasonStep(JobRepository jobRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 ReturnReasonTasklet tasklet) {
+        return new StepBuilder("returnReasonStep", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.logichaintwo.batch;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.StepContribution;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Return rates per product and per category over each configured trailing window. Sales
+ * and returns are streamed as per-product daily totals, so memory grows with the catalog,
+ * never with the number of orders. Returns are not itemised, so a return counts every unit
+ * of its order against the products in it.
+ */
+@Slf4j
+@Component
+public class ReturnRateTasklet implements Tasklet {
+    public static final String PRODUCT_SCOPE = "PRODUCT";
+    public static final String CATEGORY_SCOPE = "CATEGORY";
+    public static final String UNCATEGORIZED = "Uncategorized";
+
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private static final String SOLD_SQL =
+            "SELECT oi.product_id, DATEDIFF(?, o.order_date) AS age_days, SUM(oi.quantity) "
+            + "FROM order_item oi "
+            + "JOIN orders o ON o.id = oi.order_id "
+            + "WHERE o.order_date >= ? AND o.order_date < ? AND o.order_status <> 'CANCELLED' "
+            + "GROUP BY oi.product_id, age_days";
+
+    private static final String RETURNED_SQL =
+            "SELECT oi.product_id, DATEDIFF(?, r.requested_at) AS age_days, SUM(oi.quantity), COUNT(DISTINCT r.id) "
+            + "FROM returns r "
+            + "JOIN order_item oi ON oi.order_id = r.order_id "
+            + "WHERE r.requested_at >= ? AND r.requested_at < ? AND r.return_status <> 'REJECTED' "
+            + "GROUP BY oi.product_id, age_days";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO return_rate_stat (scope, product_id, sku, product_name, category, window_days, units_sold, "
+            + "units_returned, return_count, return_rate, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final int[] windows;
+
+    public ReturnRateTasklet(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                             @Value("${returns.analytics.windows-days:7,30,90}") Integer[] windowDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL Connector/J streams row by row instead of buffering the whole result set
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.windows = Arrays.stream(windowDays).mapToInt(Integer::intValue).filter(days -> days > 0)
+                .distinct().sorted().toArray();
+        if (windows.length == 0) {
+            throw new IllegalArgumentException("returns.analytics.windows-days needs at least one positive window");
+        }
+    }
+
+    private record ProductInfo(String sku, String name, String category) {
+    }
+
+    // Per window: units sold, units returned, returns
+    private static final class Totals {
+        final long[] sold;
+        final long[] returned;
+        final long[] returns;
+
+        Totals(int windowCount) {
+            sold = new long[windowCount];
+            returned = new long[windowCount];
+            returns = new long[windowCount];
+        }
+
+        void add(Totals other) {
+            for (int w = 0; w < sold.length; w++) {
+                sold[w] += other.sold[w];
+                returned[w] += other.returned[w];
+                returns[w] += other.returns[w];
+            }
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime from = today.minusDays(windows[windows.length - 1] - 1L).atStartOfDay();
+        LocalDateTime until = today.plusDays(1).atStartOfDay();
+        Map<Long, Totals> byProduct = new HashMap<>();
+
+        streamingJdbcTemplate.query(SOLD_SQL, rs -> {
+            int age = rs.getInt(2);
+            long units = rs.getLong(3);
+            Totals totals = byProduct.computeIfAbsent(rs.getLong(1), id -> new Totals(windows.length));
+            for (int w = 0; w < windows.length; w++) {
+                if (age < windows[w]) {
+                    totals.sold[w] += units;
+                }
+            }
+        }, today, from, until);
+        streamingJdbcTemplate.query(RETURNED_SQL, rs -> {
+            int age = rs.getInt(2);
+            long units = rs.getLong(3);
+            long returns = rs.getLong(4);
+            Totals totals = byProduct.computeIfAbsent(rs.getLong(1), id -> new Totals(windows.length));
+            for (int w = 0; w < windows.length; w++) {
+                if (age < windows[w]) {
+                    totals.returned[w] += units;
+                    totals.returns[w] += returns;
+                }
+            }
+        }, today, from, until);
+
+        Map<Long, ProductInfo> products = loadProducts(byProduct.keySet());
+        Map<String, Totals> byCategory = new HashMap<>();
+        Timestamp generatedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, Totals> entry : byProduct.entrySet()) {
+            ProductInfo info = products.get(entry.getKey());
+            if (info == null) {
+                // Deleted since it was ordered
+                continue;
+            }
+            String category = info.category() != null ? info.category() : UNCATEGORIZED;
+            byCategory.computeIfAbsent(category, c -> new Totals(windows.length)).add(entry.getValue());
+            addRows(rows, PRODUCT_SCOPE, entry.getKey(), info.sku(), info.name(), category, entry.getValue(),
+                    generatedAt);
+        }
+        for (Map.Entry<String, Totals> entry : byCategory.entrySet()) {
+            addRows(rows, CATEGORY_SCOPE, null, null, null, entry.getKey(), entry.getValue(), generatedAt);
+        }
+
+        jdbcTemplate.update("DELETE FROM return_rate_stat");
+        for (int start = 0; start < rows.size(); start += WRITE_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(start, Math.min(rows.size(), start + WRITE_BATCH_SIZE)));
+        }
+        contribution.incrementWriteCount(rows.size());
+        log.info("Return rates computed for {} products and {} categories over windows {}",
+                byProduct.size(), byCategory.size(), Arrays.toString(windows));
+        return RepeatStatus.FINISHED;
+    }
+
+    private void addRows(List<Object[]> rows, String scope, Long productId, String sku, String name, String category,
+                         Totals totals, Timestamp generatedAt) {
+        for (int w = 0; w < windows.length; w++) {
+            if (totals.sold[w] == 0 && totals.returned[w] == 0) {
+                continue;
+            }
+            Double rate = totals.sold[w] > 0 ? (double) totals.returned[w] / totals.sold[w] : null;
+            rows.add(new Object[] {scope, productId, sku, name, category, windows[w], totals.sold[w],
+                    totals.returned[w], totals.returns[w], rate, generatedAt});
+        }
+    }
+
+    private Map<Long, ProductInfo> loadProducts(Set<Long> ids) {
+        Map<Long, ProductInfo> products = new HashMap<>();
+        List<Long> pending = new ArrayList<>(ids);
+        for (int start = 0; start < pending.size(); start += WRITE_BATCH_SIZE) {
+            List<Long> chunk = pending.subList(start, Math.min(pending.size(), start + WRITE_BATCH_SIZE));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, sku, name, category FROM product WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        products.put(rs.getLong(1), new ProductInfo(rs.getString(2), rs.getString(3), rs.getString(4)));
+                    }, chunk.toArray());
+        }
+        return products;
+    }
+}
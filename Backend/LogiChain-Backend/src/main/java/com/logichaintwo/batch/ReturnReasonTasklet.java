@@ -0,0 +1,216 @@
+package com.logichaintwo.batch;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.StepContribution;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.infrastructure.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups free-text return reasons into themes without a model. Reasons are reduced to
+ * stemmed tokens; the most widespread tokens become cluster keys, and each reason joins the
+ * cluster of its most widespread key. Two streaming passes over the reasons keep memory
+ * bounded by the vocabulary cap rather than the number of returns.
+ */
+@Slf4j
+@Component
+public class ReturnReasonTasklet implements Tasklet {
+    public static final String OTHER = "other";
+
+    private static final int MAX_VOCABULARY = 50_000;
+    private static final int MAX_TERMS_PER_CLUSTER = 2_000;
+    private static final int TOP_TERMS = 5;
+    private static final int SAMPLE_LENGTH = 500;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "was", "were", "with", "that", "this", "not", "but", "are", "have", "has", "had",
+            "item", "items", "product", "products", "order", "ordered", "return", "returned", "returning", "please",
+            "just", "very", "too", "when", "what", "from", "they", "them", "its", "did", "does", "got", "get",
+            "would", "could", "after", "before", "only", "also", "than", "then", "there", "their", "been", "being",
+            "into", "out", "all", "any", "because", "which", "you", "your", "our", "one", "want", "wanted", "other");
+
+    private static final String REASONS_SQL =
+            "SELECT r.reason FROM returns r WHERE r.requested_at >= ? AND r.requested_at < ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO return_reason_cluster (keyword, label, top_terms, sample_reason, return_count, share, "
+            + "window_days, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final int windowDays;
+    private final int maxClusters;
+    private final int minClusterSize;
+
+    public ReturnReasonTasklet(JdbcTemplate jdbcTemplate, DataSource dataSource,
+                               @Value("${returns.analytics.windows-days:7,30,90}") Integer[] windowDays,
+                               @Value("${returns.analytics.max-clusters:25}") int maxClusters,
+                               @Value("${returns.analytics.min-cluster-size:5}") int minClusterSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL Connector/J streams row by row instead of buffering the whole result set
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        // Reasons are clustered over the longest window
+        this.windowDays = Arrays.stream(windowDays).mapToInt(Integer::intValue).max().orElse(90);
+        this.maxClusters = maxClusters;
+        this.minClusterSize = minClusterSize;
+    }
+
+    // A stem with the first spelling seen for it, which is what gets displayed
+    private static final class Term {
+        final String surface;
+        long count;
+
+        Term(String surface) {
+            this.surface = surface;
+        }
+    }
+
+    private static final class Cluster {
+        final Map<String, Term> terms = new HashMap<>();
+        String sample;
+        long count;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        LocalDateTime from = LocalDate.now().minusDays(windowDays - 1L).atStartOfDay();
+        LocalDateTime until = LocalDate.now().plusDays(1).atStartOfDay();
+
+        // Pass 1: in how many reasons each stem appears
+        Map<String, Term> frequency = new HashMap<>();
+        long[] floor = {0};
+        streamingJdbcTemplate.query(REASONS_SQL, rs -> {
+            for (Map.Entry<String, String> token : tokenize(rs.getString(1)).entrySet()) {
+                frequency.computeIfAbsent(token.getKey(), stem -> new Term(token.getValue())).count++;
+            }
+            if (frequency.size() > MAX_VOCABULARY) {
+                // Shed the rarest stems; they could never become cluster keys anyway
+                floor[0]++;
+                frequency.values().removeIf(term -> term.count <= floor[0]);
+            }
+        }, from, until);
+
+        Map<String, Integer> keyRank = new HashMap<>();
+        frequency.entrySet().stream()
+                .filter(e -> e.getValue().count >= minClusterSize)
+                .sorted(Map.Entry.<String, Term>comparingByValue(Comparator.comparingLong(t -> -t.count))
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(maxClusters)
+                .forEach(e -> keyRank.put(e.getKey(), keyRank.size()));
+
+        // Pass 2: assign every reason to the highest-ranked key it contains
+        Map<String, Cluster> clusters = new HashMap<>();
+        long[] total = {0};
+        streamingJdbcTemplate.query(REASONS_SQL, rs -> {
+            String reason = rs.getString(1);
+            Map<String, String> tokens = tokenize(reason);
+            String key = OTHER;
+            int best = Integer.MAX_VALUE;
+            for (String stem : tokens.keySet()) {
+                Integer rank = keyRank.get(stem);
+                if (rank != null && rank < best) {
+                    best = rank;
+                    key = stem;
+                }
+            }
+            Cluster cluster = clusters.computeIfAbsent(key, k -> new Cluster());
+            cluster.count++;
+            if (cluster.sample == null && reason != null) {
+                cluster.sample = reason.length() > SAMPLE_LENGTH ? reason.substring(0, SAMPLE_LENGTH) : reason;
+            }
+            for (Map.Entry<String, String> token : tokens.entrySet()) {
+                Term term = cluster.terms.get(token.getKey());
+                if (term == null && cluster.terms.size() < MAX_TERMS_PER_CLUSTER) {
+                    term = new Term(token.getValue());
+                    cluster.terms.put(token.getKey(), term);
+                }
+                if (term != null) {
+                    term.count++;
+                }
+            }
+            total[0]++;
+        }, from, until);
+
+        Timestamp generatedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<String, Cluster> entry : clusters.entrySet()) {
+            String key = entry.getKey();
+            Cluster cluster = entry.getValue();
+            List<String> topTerms = cluster.terms.entrySet().stream()
+                    .filter(e -> !e.getKey().equals(key))
+                    .sorted(Map.Entry.<String, Term>comparingByValue(Comparator.comparingLong(t -> -t.count))
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(TOP_TERMS)
+                    .map(e -> e.getValue().surface)
+                    .collect(Collectors.toList());
+            String keyword = OTHER.equals(key) ? OTHER : cluster.terms.get(key).surface;
+            List<String> labelTerms = new ArrayList<>();
+            labelTerms.add(OTHER.equals(key) ? "Other reasons" : keyword);
+            if (!OTHER.equals(key)) {
+                labelTerms.addAll(topTerms.subList(0, Math.min(2, topTerms.size())));
+            }
+            rows.add(new Object[] {keyword, String.join(" / ", labelTerms), String.join(",", topTerms), cluster.sample, cluster.count,
+                    (double) cluster.count / total[0], windowDays, generatedAt});
+        }
+
+        jdbcTemplate.update("DELETE FROM return_reason_cluster");
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        contribution.incrementWriteCount(rows.size());
+        log.info("Clustered {} return reasons from the last {} days into {} groups", total[0], windowDays,
+                rows.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    // Distinct stems of a reason, each with the spelling it first appeared in
+    static Map<String, String> tokenize(String reason) {
+        Map<String, String> tokens = new HashMap<>();
+        if (reason == null) {
+            return tokens;
+        }
+        for (String word : reason.toLowerCase().split("[^a-z]+")) {
+            if (word.length() < 3 || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            tokens.putIfAbsent(stem(word), word);
+        }
+        return tokens;
+    }
+
+    // Crude suffix stripping, enough to fold "damaged"/"damage" and "sizes"/"size" together
+    static String stem(String word) {
+        if (word.length() > 5 && word.endsWith("ing")) {
+            return word.substring(0, word.length() - 3);
+        }
+        if (word.length() > 4 && (word.endsWith("ed") || word.endsWith("es"))) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.length() > 3 && word.endsWith("e")) {
+            return word.substring(0, word.length() - 1);
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,53 @@
+package com.logichaintwo.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hibernate maps @Enumerated(STRING) to a native MySQL ENUM column, and ddl-auto=update never
+ * changes a column it has already created, so a constant added later is rejected on insert by
+ * databases created before it existed. The entities below now declare these columns as
+ * VARCHAR; this converts any that are still ENUM once the schema update has run. Columns that
+ * are already VARCHAR, or tables that do not exist yet, are left alone, so it is safe to run
+ * on every start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class EnumColumnMigration {
+
+    private record EnumColumn(String table, String column, int length) {
+    }
+
+    private static final List<EnumColumn> COLUMNS = List.of(
+            new EnumColumn("notification", "notification_type", 30),
+            new EnumColumn("notification_template", "notification_type", 30),
+            new EnumColumn("notification_digest_entry", "notification_type", 30),
+            new EnumColumn("notification", "status", 20));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void migrate() {
+        for (EnumColumn column : COLUMNS) {
+            List<String> nullable = jdbcTemplate.queryForList(
+                    "SELECT is_nullable FROM information_schema.columns WHERE table_schema = DATABASE() "
+                            + "AND table_name = ? AND column_name = ? AND data_type = 'enum'",
+                    String.class, column.table(), column.column());
+            if (nullable.isEmpty()) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + column.table() + " MODIFY " + column.column()
+                    + " VARCHAR(" + column.length() + ")" + ("NO".equals(nullable.get(0)) ? " NOT NULL" : ""));
+            log.info("Converted {}.{} from ENUM to VARCHAR({})", column.table(), column.column(), column.length());
+        }
+    }
+}
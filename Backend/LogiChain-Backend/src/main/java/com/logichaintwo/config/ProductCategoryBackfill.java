@@ -0,0 +1,34 @@
+package com.logichaintwo.config;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Brings categories written before they were normalised on save into the stored form
+ * (CategoryFacetIndex.toStored): trimmed, with blank and "Uncategorized" as NULL. Every
+ * writer normalises now, so after the first start this finds nothing to change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class ProductCategoryBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void backfill() {
+        // Lengths rather than <>, which ignores trailing spaces under PAD SPACE collations
+        int updated = jdbcTemplate.update("UPDATE product "
+                + "SET category = NULLIF(NULLIF(TRIM(category), ''), 'Uncategorized') WHERE category IS NOT NULL "
+                + "AND (CHAR_LENGTH(category) <> CHAR_LENGTH(TRIM(category)) OR TRIM(category) IN ('', 'Uncategorized'))");
+        if (updated > 0) {
+            log.info("Normalised the category of {} products", updated);
+        }
+    }
+}
@@ -12,13 +12,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
 import com.logichaintwo.dto.CarrierDTO;
+import com.logichaintwo.dto.CarrierStatsDTO;
 import com.logichaintwo.entities.Carrier;
 import com.logichaintwo.service.ExternalLoggerService;
 import com.logichaintwo.service.ICarrierService;
+import com.logichaintwo.service.ICarrierStatsService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +32,8 @@ import lombok.RequiredArgsConstructor;
 public class CarrierController {
 	private final ICarrierService service;
 
+	private final ICarrierStatsService statsService;
+
 	private final ExternalLoggerService logger;
 
 	@GetMapping
@@ -55,6 +60,25 @@ public class CarrierController {
 		}
 	}
 
+	@GetMapping("/{id}/stats")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> getStats(@PathVariable Long id) {
+		logger.log("INFO", "Fetching performance stats for carrier ID: " + id);
+		CarrierStatsDTO stats = statsService.getStats(id);
+		logger.log("INFO", "Carrier stats retrieved: ID " + id + ", delivered " + stats.getDeliveredCount());
+		return ResponseEntity.ok(ApiResponse.success("Carrier stats retrieved successfully", stats));
+	}
+
+	@GetMapping("/leaderboard")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> getLeaderboard(@RequestParam(defaultValue = "10") int limit,
+			@RequestParam(defaultValue = "1") long minDelivered) {
+		logger.log("INFO", "Fetching carrier leaderboard, limit " + limit + ", minDelivered " + minDelivered);
+		List<CarrierStatsDTO> leaderboard = statsService.getLeaderboard(limit, minDelivered);
+		logger.log("INFO", "Carrier leaderboard retrieved, count: " + leaderboard.size());
+		return ResponseEntity.ok(ApiResponse.success("Carrier leaderboard retrieved successfully", leaderboard));
+	}
+
 	@PostMapping
 	@PreAuthorize("hasAuthority('ADMIN')")
 	public ResponseEntity<ApiResponse> create(@Valid @RequestBody Carrier carrier) {
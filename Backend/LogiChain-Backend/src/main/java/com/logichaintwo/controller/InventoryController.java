@@ -1,7 +1,10 @@
 package com.logichaintwo.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,13 +15,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.InventoryBalanceDTO;
 import com.logichaintwo.dto.InventoryDTO;
+import com.logichaintwo.dto.InventoryLedgerPageDTO;
+import com.logichaintwo.dto.ReorderSuggestionDTO;
+import com.logichaintwo.dto.SourcingPlanDTO;
+import com.logichaintwo.dto.SourcingRequest;
 import com.logichaintwo.entities.Inventory;
 import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.IInventoryLedgerService;
 import com.logichaintwo.service.IInventoryService;
+import com.logichaintwo.service.IReorderSuggestionService;
+import com.logichaintwo.service.ISourcingService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +41,12 @@ import lombok.RequiredArgsConstructor;
 public class InventoryController {
 	private final IInventoryService service;
 
+	private final ISourcingService sourcingService;
+
+	private final IReorderSuggestionService reorderSuggestionService;
+
+	private final IInventoryLedgerService ledgerService;
+
 	private final ExternalLoggerService logger;
 
 	@GetMapping
@@ -49,6 +67,37 @@ public class InventoryController {
 		return ResponseEntity.ok(ApiResponse.success("Inventory retrieved successfully", inventory));
 	}
 
+	@GetMapping("/{id}/transactions")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
+	public ResponseEntity<ApiResponse> getTransactions(@PathVariable Long id,
+			@RequestParam(required = false) Long afterId, @RequestParam(defaultValue = "100") int size) {
+		logger.log("INFO", "Fetching ledger for inventory ID: " + id + " after entry: " + afterId);
+		InventoryLedgerPageDTO page = ledgerService.getHistory(id, afterId, size);
+		logger.log("INFO", "Ledger page retrieved for inventory ID: " + id + ", count: " + page.getEntries().size());
+		return ResponseEntity.ok(ApiResponse.success("Inventory transactions retrieved successfully", page));
+	}
+
+	@GetMapping("/{id}/balance")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
+	public ResponseEntity<ApiResponse> getBalanceAt(@PathVariable Long id,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+		logger.log("INFO", "Fetching balance of inventory ID: " + id + " at " + at);
+		InventoryBalanceDTO balance = ledgerService.getBalanceAt(id, at);
+		logger.log("INFO", "Balance computed for inventory ID: " + id);
+		return ResponseEntity.ok(ApiResponse.success("Inventory balance retrieved successfully", balance));
+	}
+
+	@GetMapping("/balance")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
+	public ResponseEntity<ApiResponse> getBalanceAt(@RequestParam Long productId, @RequestParam Long warehouseId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+		logger.log("INFO", "Fetching balance of product ID: " + productId + " in warehouse ID: " + warehouseId
+				+ " at " + at);
+		InventoryBalanceDTO balance = ledgerService.getBalanceAt(productId, warehouseId, at);
+		logger.log("INFO", "Balance computed for inventory ID: " + balance.getInventoryId());
+		return ResponseEntity.ok(ApiResponse.success("Inventory balance retrieved successfully", balance));
+	}
+
 	@GetMapping("/low-stock")
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
 	public ResponseEntity<ApiResponse> getLowStock() {
@@ -68,6 +117,46 @@ public class InventoryController {
 		return ResponseEntity.ok(ApiResponse.success("Inventory retrieved successfully", inventory));
 	}
 
+	@PostMapping("/sourcing")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> planSourcing(@Valid @RequestBody SourcingRequest request) {
+		logger.log("INFO", "Planning warehouse sourcing for " + request.getLines().size() + " order lines");
+		SourcingPlanDTO plan = sourcingService.plan(request);
+		logger.log("INFO", "Sourcing plan uses " + plan.getShipmentCount() + " warehouses, fully allocated: "
+				+ plan.isFullyAllocated());
+		return ResponseEntity.ok(ApiResponse.success("Sourcing plan computed successfully", plan));
+	}
+
+	@GetMapping("/sourcing/order/{orderId}")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> planSourcingForOrder(@PathVariable Long orderId,
+			@RequestParam(required = false) Double latitude, @RequestParam(required = false) Double longitude) {
+		logger.log("INFO", "Planning warehouse sourcing for order ID: " + orderId);
+		SourcingPlanDTO plan = sourcingService.planForOrder(orderId, latitude, longitude);
+		logger.log("INFO", "Sourcing plan for order " + orderId + " uses " + plan.getShipmentCount()
+				+ " warehouses, fully allocated: " + plan.isFullyAllocated());
+		return ResponseEntity.ok(ApiResponse.success("Sourcing plan computed successfully", plan));
+	}
+
+	@GetMapping("/reorder-suggestions")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
+	public ResponseEntity<ApiResponse> getReorderSuggestions(@RequestParam(required = false) Long warehouseId,
+			@RequestParam(defaultValue = "true") boolean actionableOnly) {
+		logger.log("INFO", "Fetching reorder suggestions for warehouse ID: " + warehouseId);
+		List<ReorderSuggestionDTO> suggestions = reorderSuggestionService.getSuggestions(warehouseId, actionableOnly);
+		logger.log("INFO", "Reorder suggestions retrieved, count: " + suggestions.size());
+		return ResponseEntity.ok(ApiResponse.success("Reorder suggestions retrieved successfully", suggestions));
+	}
+
+	@PostMapping("/reorder-suggestions/run")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<ApiResponse> runReorderForecast() {
+		logger.log("INFO", "Running reorder forecast job");
+		String status = reorderSuggestionService.runForecast();
+		logger.log("INFO", "Reorder forecast job finished with status: " + status);
+		return ResponseEntity.ok(ApiResponse.success("Reorder forecast finished", status));
+	}
+
 	@PostMapping
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'PRODUCT_MANAGER')")
 	public ResponseEntity<ApiResponse> create(@Valid @RequestBody Inventory inventory) {
@@ -0,0 +1,89 @@
+package com.logichaintwo.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.logichaintwo.service.MediaStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/media")
+@RequiredArgsConstructor
+public class MediaController {
+	// Content-addressed files never change, so caches may keep them for a year without revalidating
+	private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private final MediaStore store;
+
+	@GetMapping("/originals/{hash}")
+	public void original(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		serve(MediaStore.isHash(hash) ? store.original(hash) : null, hash, null, request, response);
+	}
+
+	@GetMapping("/thumbnails/{hash}/{width}.jpg")
+	public void thumbnail(@PathVariable String hash, @PathVariable int width, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		Path file = MediaStore.isHash(hash) && store.thumbnailWidths().contains(width) ? store.thumbnail(hash, width)
+				: null;
+		serve(file, hash + "-" + width, MediaType.IMAGE_JPEG_VALUE, request, response);
+	}
+
+	// Hands the file to Tomcat's sendfile when the connector supports it, otherwise copies channel to channel
+	private void serve(Path file, String etag, String contentType, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		if (file == null || !Files.isRegularFile(file)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		String quotedEtag = "\"" + etag + "\"";
+		response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE);
+		response.setHeader(HttpHeaders.ETAG, quotedEtag);
+		if (quotedEtag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		long length = Files.size(file);
+		response.setContentType(contentType != null ? contentType : probe(file));
+		response.setContentLengthLong(length);
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_START, 0L);
+			request.setAttribute(SENDFILE_END, length);
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = 0;
+			while (position < length) {
+				position += channel.transferTo(position, length - position, out);
+			}
+		}
+	}
+
+	private static String probe(Path file) throws IOException {
+		String type = Files.probeContentType(file);
+		return type != null ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+	}
+}
@@ -0,0 +1,78 @@
+package com.logichaintwo.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.MarkNotificationsReadRequest;
+import com.logichaintwo.dto.NotificationDTO;
+import com.logichaintwo.dto.NotificationInboxPageDTO;
+import com.logichaintwo.security.UserPrincipal;
+import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.INotificationService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+	private final INotificationService service;
+
+	private final ExternalLoggerService logger;
+
+	@GetMapping("/me")
+	public ResponseEntity<ApiResponse> getInbox(@AuthenticationPrincipal UserPrincipal principal,
+			@RequestParam(required = false) Long beforeId, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "false") boolean unreadOnly) {
+		Long userId = Long.parseLong(principal.getUserId());
+		NotificationInboxPageDTO inbox = service.getInbox(userId, beforeId, size, unreadOnly);
+		return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", inbox));
+	}
+
+	// Polled by the header badge, so it stays a counter lookup and is not logged
+	@GetMapping("/me/unread-count")
+	public ResponseEntity<ApiResponse> getUnreadCount(@AuthenticationPrincipal UserPrincipal principal) {
+		long unread = service.getUnreadCount(Long.parseLong(principal.getUserId()));
+		return ResponseEntity.ok(ApiResponse.success("Unread count retrieved successfully", unread));
+	}
+
+	@PostMapping("/me/read")
+	public ResponseEntity<ApiResponse> markRead(@AuthenticationPrincipal UserPrincipal principal,
+			@Valid @RequestBody MarkNotificationsReadRequest request) {
+		Long userId = Long.parseLong(principal.getUserId());
+		int marked = service.markRead(userId, request.getNotificationIds());
+		return ResponseEntity.ok(ApiResponse.success("Notifications marked as read",
+				Map.of("marked", marked, "unreadCount", service.getUnreadCount(userId))));
+	}
+
+	@PostMapping("/me/read-all")
+	public ResponseEntity<ApiResponse> markAllRead(@AuthenticationPrincipal UserPrincipal principal) {
+		Long userId = Long.parseLong(principal.getUserId());
+		logger.log("INFO", "Marking all notifications as read for user ID: " + userId);
+		int marked = service.markAllRead(userId);
+		return ResponseEntity.ok(ApiResponse.success("Notifications marked as read",
+				Map.of("marked", marked, "unreadCount", service.getUnreadCount(userId))));
+	}
+
+	@GetMapping("/user/{userId}")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> getByUserId(@PathVariable Long userId) {
+		logger.log("INFO", "Fetching notifications for user ID: " + userId);
+		List<NotificationDTO> notifications = service.getByUserId(userId);
+		logger.log("INFO", "Retrieved " + notifications.size() + " notifications for user " + userId);
+		return ResponseEntity.ok(ApiResponse.success("Notifications retrieved successfully", notifications));
+	}
+}
@@ -1,11 +1,14 @@
 package com.logichaintwo.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,11 +17,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.BulkOrderStatusRequest;
+import com.logichaintwo.dto.BulkOrderStatusResultDTO;
 import com.logichaintwo.dto.OrderDTO;
+import com.logichaintwo.dto.OrderDetailsDTO;
+import com.logichaintwo.dto.OrderHistoryPageDTO;
+import com.logichaintwo.dto.OrderStatusHistoryDTO;
 import com.logichaintwo.entities.Order;
+import com.logichaintwo.security.UserPrincipal;
 import com.logichaintwo.service.ExternalLoggerService;
 import com.logichaintwo.service.IOrderService;
 
@@ -51,6 +61,15 @@ public class OrderController {
 		return ResponseEntity.ok(ApiResponse.success("Order retrieved successfully", order));
 	}
 
+	@GetMapping("/{id}/details")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT', 'WAREHOUSE_MANAGER', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> getDetails(@PathVariable Long id) {
+		logger.log("INFO", "Fetching details for order ID: " + id);
+		OrderDetailsDTO details = service.getDetails(id);
+		logger.log("INFO", "Order details retrieved for ID: " + id + ", items: " + details.getItems().size());
+		return ResponseEntity.ok(ApiResponse.success("Order details retrieved successfully", details));
+	}
+
 	@GetMapping("/customer/{customerId}")
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT', 'CUSTOMER')")
 	public ResponseEntity<ApiResponse> getByCustomer(@PathVariable Long customerId) {
@@ -60,6 +79,29 @@ public class OrderController {
 		return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
 	}
 
+	@GetMapping("/customer/{customerId}/history")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> getCustomerHistory(@PathVariable Long customerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+			@RequestParam(required = false) Long beforeId, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "false") boolean includeSummary) {
+		logger.log("INFO", "Fetching order history before order " + beforeId + " for customer ID: " + customerId);
+		OrderHistoryPageDTO history = service.getHistory(customerId, beforeDate, beforeId, size, includeSummary);
+		logger.log("INFO", "Retrieved " + history.getOrders().size() + " orders for customer " + customerId);
+		return ResponseEntity.ok(ApiResponse.success("Order history retrieved successfully", history));
+	}
+
+	@GetMapping("/my/history")
+	@PreAuthorize("hasAuthority('CUSTOMER')")
+	public ResponseEntity<ApiResponse> getMyHistory(@AuthenticationPrincipal UserPrincipal principal,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+			@RequestParam(required = false) Long beforeId, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "false") boolean includeSummary) {
+		Long customerId = Long.parseLong(principal.getUserId());
+		OrderHistoryPageDTO history = service.getHistory(customerId, beforeDate, beforeId, size, includeSummary);
+		return ResponseEntity.ok(ApiResponse.success("Order history retrieved successfully", history));
+	}
+
 	@PostMapping
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER')")
 	public ResponseEntity<ApiResponse> create(@Valid @RequestBody Order order) {
@@ -83,14 +125,36 @@ public class OrderController {
 
 	@PatchMapping("/{id}/status")
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER_SUPPORT')")
-	public ResponseEntity<ApiResponse> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> statusMap) {
+	public ResponseEntity<ApiResponse> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> statusMap,
+			@AuthenticationPrincipal UserPrincipal principal) {
 		String newStatus = statusMap.get("status");
 		logger.log("INFO", "Updating status of order ID " + id + " to " + newStatus);
-		OrderDTO updated = service.updateStatus(id, newStatus);
+		OrderDTO updated = service.updateStatus(id, newStatus, Long.parseLong(principal.getUserId()));
 		logger.log("INFO", "Order status updated for ID: " + updated.getId() + " -> " + newStatus);
 		return ResponseEntity.ok(ApiResponse.success("Order status updated successfully", updated));
 	}
 
+	@PatchMapping("/status")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> updateStatuses(@Valid @RequestBody BulkOrderStatusRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Moving " + request.getOrderIds().size() + " orders to " + request.getStatus()
+				+ " from " + request.getExpectedStatus());
+		BulkOrderStatusResultDTO result = service.updateStatuses(request, Long.parseLong(principal.getUserId()));
+		logger.log("INFO", "Bulk order status update: " + result.getSucceeded().size() + " succeeded, "
+				+ result.getFailed().size() + " failed");
+		return ResponseEntity.ok(ApiResponse.success("Order statuses updated", result));
+	}
+
+	@GetMapping("/{id}/status-history")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> getStatusHistory(@PathVariable Long id) {
+		logger.log("INFO", "Fetching status history for order ID: " + id);
+		List<OrderStatusHistoryDTO> history = service.getStatusHistory(id);
+		logger.log("INFO", "Retrieved " + history.size() + " status changes for order ID: " + id);
+		return ResponseEntity.ok(ApiResponse.success("Order status history retrieved successfully", history));
+	}
+
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasAuthority('ADMIN')")
 	public ResponseEntity<ApiResponse> delete(@PathVariable Long id) {
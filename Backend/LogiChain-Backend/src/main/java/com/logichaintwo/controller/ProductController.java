@@ -1,8 +1,13 @@
 package com.logichaintwo.controller;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -12,15 +17,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.AutocompleteSuggestionDTO;
+import com.logichaintwo.dto.BulkUpsertResultDTO;
+import com.logichaintwo.dto.CategoryFacetDTO;
+import com.logichaintwo.dto.PriceChangeRequest;
 import com.logichaintwo.dto.ProductDTO;
+import com.logichaintwo.dto.ProductPageDTO;
+import com.logichaintwo.dto.ProductPriceDTO;
+import com.logichaintwo.dto.ProductSearchResultDTO;
 import com.logichaintwo.entities.Product;
+import com.logichaintwo.enums.Role;
 import com.logichaintwo.exception.ResourceNotFoundException;
 import com.logichaintwo.security.UserPrincipal;
 import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.IProductBulkService;
+import com.logichaintwo.service.IProductImageService;
+import com.logichaintwo.service.IProductPriceService;
+import com.logichaintwo.service.IProductSearchService;
 import com.logichaintwo.service.IProductService;
 
 import jakarta.validation.Valid;
@@ -31,6 +51,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ProductController {
     private final IProductService service;
+    private final IProductSearchService searchService;
+    private final IProductImageService imageService;
+    private final IProductBulkService bulkService;
+    private final IProductPriceService priceService;
     private final ExternalLoggerService logger;
 
     @GetMapping
@@ -41,6 +65,41 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
     }
     
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> search(@RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.log("INFO", "Searching products for '" + q + "' in category: " + category);
+        ProductSearchResultDTO result = searchService.search(q, category, fuzzy, page, size);
+        logger.log("INFO", "Product search matched " + result.getTotalHits() + " products");
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", result));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiResponse> autocomplete(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<AutocompleteSuggestionDTO> suggestions = searchService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<ApiResponse> getCategories() {
+        List<CategoryFacetDTO> categories = searchService.getCategories();
+        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+    }
+
+    @GetMapping("/browse")
+    public ResponseEntity<ApiResponse> browseCategory(@RequestParam(required = false) String category,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.log("INFO", "Browsing products in category: " + category + " after ID: " + afterId);
+        ProductPageDTO page = searchService.browseCategory(category, afterId, size);
+        logger.log("INFO", "Retrieved " + page.getProducts().size() + " products in category: " + category);
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", page));
+    }
+
     @GetMapping("/my")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER', 'WAREHOUSE_MANAGER')")
     public ResponseEntity<ApiResponse> getMyProducts(@AuthenticationPrincipal UserPrincipal principal) {
@@ -90,6 +149,52 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product retrieved successfully", product));
     }
 
+    // Public, so only price managers may look ahead at scheduled prices; everyone else sees today's at most
+    @GetMapping("/{id}/price")
+    public ResponseEntity<ApiResponse> getPriceAt(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean priceManager = principal != null && (Role.ADMIN.name().equals(principal.getUserRole())
+                || Role.PRODUCT_MANAGER.name().equals(principal.getUserRole()));
+        if (at != null && at.isAfter(now) && !priceManager) {
+            at = now;
+        }
+        ProductPriceDTO price = priceService.getPriceAt(id, at);
+        return ResponseEntity.ok(ApiResponse.success("Price retrieved successfully", price));
+    }
+
+    @GetMapping("/{id}/prices")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
+    public ResponseEntity<ApiResponse> getPriceHistory(@PathVariable Long id) {
+        logger.log("INFO", "Fetching price history for product ID: " + id);
+        List<ProductPriceDTO> history = priceService.getHistory(id);
+        logger.log("INFO", "Retrieved " + history.size() + " price versions for product ID: " + id);
+        return ResponseEntity.ok(ApiResponse.success("Price history retrieved successfully", history));
+    }
+
+    @PostMapping("/{id}/prices")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
+    public ResponseEntity<ApiResponse> schedulePrice(@PathVariable Long id, @Valid @RequestBody PriceChangeRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Long currentUserId = Long.parseLong(principal.getUserId());
+        logger.log("INFO", "Scheduling price " + request.getPrice() + " for product ID: " + id + " from "
+                + request.getEffectiveFrom() + " to " + request.getEffectiveTo());
+        ProductPriceDTO version = priceService.schedule(id, request, currentUserId);
+        logger.log("INFO", "Price version " + version.getId() + " recorded for product ID: " + id);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Price change scheduled successfully", version));
+    }
+
+    @DeleteMapping("/{id}/prices/{priceId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
+    public ResponseEntity<ApiResponse> cancelPrice(@PathVariable Long id, @PathVariable Long priceId) {
+        logger.log("INFO", "Cancelling price version " + priceId + " of product ID: " + id);
+        priceService.cancel(id, priceId);
+        logger.log("INFO", "Price version " + priceId + " cancelled");
+        return ResponseEntity.ok(ApiResponse.success("Price change cancelled successfully"));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
     public ResponseEntity<ApiResponse> create(@Valid @RequestBody Product product, @AuthenticationPrincipal UserPrincipal principal) {
@@ -113,6 +218,31 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product updated successfully", updated));
     }
 
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            "text/csv" })
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
+    public ResponseEntity<ApiResponse> bulkUpsert(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Long currentUserId = Long.parseLong(principal.getUserId());
+        logger.log("INFO", "Bulk product upsert (" + contentType + ") started by user: " + currentUserId);
+        BulkUpsertResultDTO result = bulkService.upsert(body, contentType, currentUserId);
+        logger.log("INFO", "Bulk product upsert finished: " + result.getCreated() + " created, " + result.getUpdated()
+                + " updated, " + result.getSkipped() + " skipped, " + result.getFailed() + " failed in "
+                + result.getElapsedMs() + " ms");
+        return ResponseEntity.ok(ApiResponse.success("Bulk upsert finished", result));
+    }
+
+    @PostMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
+    public ResponseEntity<ApiResponse> uploadImage(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        logger.log("INFO", "Uploading image for product ID: " + id + ", size: " + file.getSize());
+        ProductDTO product = imageService.upload(id, file);
+        logger.log("INFO", "Image stored for product ID: " + id + " at " + product.getImageUrl());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Image uploaded, thumbnails are being generated", product));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'PRODUCT_MANAGER')")
     public ResponseEntity<ApiResponse> delete(@PathVariable Long id) {
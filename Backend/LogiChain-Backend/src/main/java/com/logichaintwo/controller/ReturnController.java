@@ -5,20 +5,31 @@ import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.ReturnAnalyticsDTO;
+import com.logichaintwo.dto.BulkReturnStatusRequest;
+import com.logichaintwo.dto.BulkReturnStatusResultDTO;
 import com.logichaintwo.dto.ReturnDTO;
+import com.logichaintwo.dto.ReturnStatusRequest;
 import com.logichaintwo.entities.Return;
+import com.logichaintwo.enums.ReturnStatus;
+import com.logichaintwo.security.UserPrincipal;
 import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.IReturnAnalyticsService;
 import com.logichaintwo.service.IReturnService;
+import com.logichaintwo.service.IReturnWorkflowService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +39,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ReturnController {
 	private final IReturnService service;
+	private final IReturnWorkflowService workflowService;
+	private final IReturnAnalyticsService analyticsService;
 
 	private final ExternalLoggerService logger;
 
@@ -69,6 +82,68 @@ public class ReturnController {
 		return ResponseEntity.ok(ApiResponse.success("Return updated successfully", updated));
 	}
 
+	@PatchMapping("/{id}/status")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> updateStatus(@PathVariable Long id, @Valid @RequestBody ReturnStatusRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Moving return ID=" + id + " to " + request.getStatus());
+		ReturnDTO updated = workflowService.updateStatus(id, request.getStatus(), request.getWarehouseId(),
+				request.getNote(), Long.parseLong(principal.getUserId()));
+		logger.log("INFO", "Return status updated: ID=" + id + " -> " + request.getStatus());
+		return ResponseEntity.ok(ApiResponse.success("Return status updated successfully", updated));
+	}
+
+	@PostMapping("/approve")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> approve(@Valid @RequestBody BulkReturnStatusRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		return bulk(ReturnStatus.APPROVED, request, principal, "Returns approved");
+	}
+
+	@PostMapping("/receive")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> receive(@Valid @RequestBody BulkReturnStatusRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		return bulk(ReturnStatus.RECEIVED, request, principal, "Returns received");
+	}
+
+	@PostMapping("/refund")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> refund(@Valid @RequestBody BulkReturnStatusRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		return bulk(ReturnStatus.REFUNDED, request, principal, "Returns refunded");
+	}
+
+	@GetMapping("/refund-queue")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT')")
+	public ResponseEntity<ApiResponse> getRefundQueue(@RequestParam(required = false) Long afterId,
+			@RequestParam(defaultValue = "100") int size) {
+		logger.log("INFO", "Fetching refund queue after ID=" + afterId);
+		List<ReturnDTO> queue = workflowService.getRefundQueue(afterId, size);
+		logger.log("INFO", "Refund queue page retrieved: count=" + queue.size());
+		return ResponseEntity.ok(ApiResponse.success("Refund queue retrieved successfully", queue));
+	}
+
+	@GetMapping("/analytics")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'CUSTOMER_SUPPORT', 'PRODUCT_MANAGER')")
+	public ResponseEntity<ApiResponse> getAnalytics(@RequestParam(required = false) Integer windowDays,
+			@RequestParam(defaultValue = "50") int limit) {
+		logger.log("INFO", "Fetching return analytics for window: " + windowDays);
+		ReturnAnalyticsDTO analytics = analyticsService.getAnalytics(windowDays, limit);
+		logger.log("INFO", "Return analytics retrieved: " + analytics.getProducts().size() + " products, "
+				+ analytics.getReasonClusters().size() + " reason clusters");
+		return ResponseEntity.ok(ApiResponse.success("Return analytics retrieved successfully", analytics));
+	}
+
+	@PostMapping("/analytics/run")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<ApiResponse> runAnalytics() {
+		logger.log("INFO", "Running return analytics job");
+		String status = analyticsService.runAnalytics();
+		logger.log("INFO", "Return analytics job finished with status: " + status);
+		return ResponseEntity.ok(ApiResponse.success("Return analytics finished", status));
+	}
+
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasAuthority('ADMIN')")
 	public ResponseEntity<ApiResponse> delete(@PathVariable Long id) {
@@ -77,4 +152,14 @@ public class ReturnController {
 		logger.log("INFO", "Return deleted successfully: ID=" + id);
 		return ResponseEntity.ok(ApiResponse.success("Return deleted successfully"));
 	}
-}
\ No newline at end of file
+
+	private ResponseEntity<ApiResponse> bulk(ReturnStatus status, BulkReturnStatusRequest request,
+			UserPrincipal principal, String message) {
+		logger.log("INFO", "Moving " + request.getReturnIds().size() + " returns to " + status);
+		BulkReturnStatusResultDTO result = workflowService.updateStatuses(request.getReturnIds(), status,
+				request.getWarehouseId(), request.getNote(), Long.parseLong(principal.getUserId()));
+		logger.log("INFO", "Bulk return update to " + status + ": " + result.getSucceeded().size() + " succeeded, "
+				+ result.getFailed().size() + " failed");
+		return ResponseEntity.ok(ApiResponse.success(message, result));
+	}
+}
@@ -7,17 +7,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.DispatchResultDTO;
 import com.logichaintwo.dto.ShipmentDTO;
+import com.logichaintwo.dto.ShipmentEventDTO;
+import com.logichaintwo.dto.ShipmentStatusUpdateRequest;
 import com.logichaintwo.entities.Shipment;
 import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.IDispatchService;
 import com.logichaintwo.service.IShipmentService;
 
 import jakarta.validation.Valid;
@@ -29,6 +35,8 @@ import lombok.RequiredArgsConstructor;
 public class ShipmentController {
 	private final IShipmentService service;
 
+	private final IDispatchService dispatchService;
+
 	private final ExternalLoggerService logger;
 
 	@GetMapping
@@ -68,16 +76,45 @@ public class ShipmentController {
 				.body(ApiResponse.success("Shipment created successfully", created));
 	}
 
+	@PostMapping("/dispatch/{warehouseId}")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> dispatch(@PathVariable Long warehouseId,
+			@RequestParam(defaultValue = "false") boolean includeAssigned) {
+		logger.log("INFO", "POST /shipments/dispatch/" + warehouseId + " called, includeAssigned=" + includeAssigned);
+		DispatchResultDTO result = dispatchService.dispatch(warehouseId, includeAssigned);
+		logger.log("INFO", "Dispatch wave for warehouse " + warehouseId + " assigned " + result.getAssignedCount()
+				+ " of " + result.getCandidateCount() + " shipments in " + result.getElapsedMillis() + " ms");
+		return ResponseEntity.ok(ApiResponse.success("Shipments dispatched successfully", result));
+	}
+
 	@PutMapping("/{id}")
 	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
 	public ResponseEntity<ApiResponse> update(@PathVariable Long id, @Valid @RequestBody Shipment shipment) {
 		logger.log("INFO", "PUT /shipments/" + id + " called to update shipment");
-		shipment.setId(id);
-		ShipmentDTO updated = service.save(shipment);
+		ShipmentDTO updated = service.update(id, shipment);
 		logger.log("INFO", "Shipment updated: ID " + updated.getId());
 		return ResponseEntity.ok(ApiResponse.success("Shipment updated successfully", updated));
 	}
 
+	@PatchMapping("/{id}/status")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> updateStatus(@PathVariable Long id,
+			@Valid @RequestBody ShipmentStatusUpdateRequest request) {
+		logger.log("INFO", "PATCH /shipments/" + id + "/status called with status " + request.getStatus());
+		ShipmentDTO updated = service.updateStatus(id, request);
+		logger.log("INFO", "Shipment status updated: ID " + id + " -> " + updated.getShipmentStatus());
+		return ResponseEntity.ok(ApiResponse.success("Shipment status updated successfully", updated));
+	}
+
+	@GetMapping("/{id}/events")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER_SUPPORT', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> getEvents(@PathVariable Long id) {
+		logger.log("INFO", "GET /shipments/" + id + "/events called");
+		List<ShipmentEventDTO> events = service.getEvents(id);
+		logger.log("INFO", "Retrieved " + events.size() + " events for shipment " + id);
+		return ResponseEntity.ok(ApiResponse.success("Shipment events retrieved successfully", events));
+	}
+
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasAuthority('ADMIN')")
 	public ResponseEntity<ApiResponse> delete(@PathVariable Long id) {
@@ -0,0 +1,97 @@
+package com.logichaintwo.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.logichaintwo.dto.ApiResponse;
+import com.logichaintwo.dto.ReservationRequest;
+import com.logichaintwo.dto.StockReservationDTO;
+import com.logichaintwo.enums.Role;
+import com.logichaintwo.security.UserPrincipal;
+import com.logichaintwo.service.ExternalLoggerService;
+import com.logichaintwo.service.IStockReservationService;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/inventory/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+	private final IStockReservationService service;
+
+	private final ExternalLoggerService logger;
+
+	@PostMapping
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> reserve(@Valid @RequestBody ReservationRequest request,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Reserving " + request.getQuantity() + " units of inventory ID: " + request.getInventoryId());
+		StockReservationDTO reservation = service.reserve(request, Long.parseLong(principal.getUserId()));
+		logger.log("INFO", "Reservation created with ID: " + reservation.getId() + ", expires at "
+				+ reservation.getExpiresAt());
+		return ResponseEntity.status(HttpStatus.CREATED)
+				.body(ApiResponse.success("Stock reserved successfully", reservation));
+	}
+
+	@GetMapping("/{id}")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> getById(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Fetching reservation by ID: " + id);
+		StockReservationDTO reservation = service.getById(id, ownerId(principal));
+		return ResponseEntity.ok(ApiResponse.success("Reservation retrieved successfully", reservation));
+	}
+
+	@GetMapping("/inventory/{inventoryId}")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> getActiveByInventory(@PathVariable Long inventoryId) {
+		logger.log("INFO", "Fetching active reservations for inventory ID: " + inventoryId);
+		List<StockReservationDTO> reservations = service.getActiveByInventory(inventoryId);
+		logger.log("INFO", "Active reservations retrieved, count: " + reservations.size());
+		return ResponseEntity.ok(ApiResponse.success("Reservations retrieved successfully", reservations));
+	}
+
+	@PostMapping("/{id}/release")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> release(@PathVariable Long id, @AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Releasing reservation ID: " + id);
+		StockReservationDTO reservation = service.release(id, ownerId(principal));
+		logger.log("INFO", "Reservation released successfully for ID: " + id);
+		return ResponseEntity.ok(ApiResponse.success("Reservation released successfully", reservation));
+	}
+
+	@PostMapping("/{id}/confirm")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+	public ResponseEntity<ApiResponse> confirm(@PathVariable Long id) {
+		logger.log("INFO", "Confirming reservation ID: " + id);
+		StockReservationDTO reservation = service.confirm(id);
+		logger.log("INFO", "Reservation confirmed successfully for ID: " + id);
+		return ResponseEntity.ok(ApiResponse.success("Reservation confirmed successfully", reservation));
+	}
+
+	@PostMapping("/{id}/extend")
+	@PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER', 'CUSTOMER')")
+	public ResponseEntity<ApiResponse> extend(@PathVariable Long id, @RequestParam long ttlSeconds,
+			@AuthenticationPrincipal UserPrincipal principal) {
+		logger.log("INFO", "Extending reservation ID: " + id + " by " + ttlSeconds + " seconds");
+		StockReservationDTO reservation = service.extend(id, ttlSeconds, ownerId(principal));
+		logger.log("INFO", "Reservation ID: " + id + " now expires at " + reservation.getExpiresAt());
+		return ResponseEntity.ok(ApiResponse.success("Reservation extended successfully", reservation));
+	}
+
+	// Customers act only on their own holds; staff may act on any
+	private static Long ownerId(UserPrincipal principal) {
+		return Role.CUSTOMER.name().equals(principal.getUserRole()) ? Long.parseLong(principal.getUserId()) : null;
+	}
+}
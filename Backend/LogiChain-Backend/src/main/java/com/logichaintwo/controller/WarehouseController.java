@@ -12,10 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.logichaintwo.dto.ApiResponse;
 import com.logichaintwo.dto.WarehouseDTO;
+import com.logichaintwo.dto.WarehouseUtilizationDTO;
 import com.logichaintwo.entities.Warehouse;
 import com.logichaintwo.service.ExternalLoggerService;
 import com.logichaintwo.service.IWarehouseService;
@@ -49,6 +51,33 @@ public class WarehouseController {
         return ResponseEntity.ok(ApiResponse.success("Warehouse retrieved successfully", warehouse));
     }
 
+    @GetMapping("/{id}/utilization")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+    public ResponseEntity<ApiResponse> getUtilization(@PathVariable Long id) {
+    	logger.log("INFO", "Fetching utilization for warehouse ID: " + id);
+        WarehouseUtilizationDTO utilization = service.getUtilization(id);
+        logger.log("INFO", "Warehouse " + id + " utilization: " + utilization.getUtilizationPercent() + "%");
+        return ResponseEntity.ok(ApiResponse.success("Warehouse utilization retrieved successfully", utilization));
+    }
+
+    @GetMapping("/utilization")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'WAREHOUSE_MANAGER')")
+    public ResponseEntity<ApiResponse> getUtilization(@RequestParam(required = false) List<Long> ids) {
+    	logger.log("INFO", "Fetching utilization for warehouses: " + (ids == null ? "all" : ids));
+        List<WarehouseUtilizationDTO> utilization = service.getUtilization(ids);
+        logger.log("INFO", "Retrieved utilization for " + utilization.size() + " warehouses");
+        return ResponseEntity.ok(ApiResponse.success("Warehouse utilization retrieved successfully", utilization));
+    }
+
+    @PostMapping("/utilization/recalculate")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse> recalculateUtilization() {
+    	logger.log("INFO", "Recalculating used capacity for all warehouses");
+        int updated = service.recalculateUtilization();
+        logger.log("INFO", "Recalculated used capacity for " + updated + " warehouses");
+        return ResponseEntity.ok(ApiResponse.success("Warehouse utilization recalculated successfully", updated));
+    }
+
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<ApiResponse> create(@Valid @RequestBody Warehouse warehouse) {
@@ -0,0 +1,18 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestionDTO {
+    private Long productId;
+    private String sku;
+    private String name;
+    // SKU or NAME
+    private String matchedOn;
+}
@@ -0,0 +1,32 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import com.logichaintwo.enums.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 5000, message = "At most 5000 orders can be updated at once")
+    private List<Long> orderIds;
+
+    @NotNull(message = "Order status is required")
+    private OrderStatus status;
+
+    // When set, only orders currently in this status are moved
+    private OrderStatus expectedStatus;
+
+    @Size(max = 500, message = "Note must be at most 500 characters")
+    private String note;
+}
@@ -0,0 +1,22 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.logichaintwo.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusResultDTO {
+    private OrderStatus status;
+    private List<Long> succeeded;
+    // Order ID -> reason it was left unchanged
+    private Map<Long, String> failed;
+}
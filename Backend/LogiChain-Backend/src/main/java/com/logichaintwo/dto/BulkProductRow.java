@@ -0,0 +1,46 @@
+package com.logichaintwo.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a bulk product upload; rows are matched to existing products by SKU
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkProductRow {
+	@NotBlank(message = "SKU is required")
+	@Size(min = 2, max = 50, message = "SKU must be between 2 and 50 characters")
+	private String sku;
+
+	@NotBlank(message = "Product name is required")
+	@Size(min = 2, max = 200, message = "Product name must be between 2 and 200 characters")
+	private String name;
+
+	@NotNull(message = "Price is required")
+	@DecimalMin(value = "0.01", message = "Price must be greater than 0")
+	private BigDecimal price;
+
+	@NotNull(message = "Weight is required")
+	@DecimalMin(value = "0.01", message = "Weight must be greater than 0")
+	private Double weight;
+
+	@Size(max = 500, message = "Description must be at most 500 characters")
+	private String description;
+
+	@Size(max = 100, message = "Category must be at most 100 characters")
+	private String category;
+
+	private String imageUrl;
+}
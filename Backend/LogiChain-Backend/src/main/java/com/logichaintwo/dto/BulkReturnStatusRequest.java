@@ -0,0 +1,26 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReturnStatusRequest {
+    @NotEmpty(message = "At least one return ID is required")
+    @Size(max = 1000, message = "At most 1000 returns can be processed at once")
+    private List<Long> returnIds;
+
+    // Where received goods are restocked; defaults to the warehouse each order shipped from
+    private Long warehouseId;
+
+    @Size(max = 500, message = "Note must be at most 500 characters")
+    private String note;
+}
@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.logichaintwo.enums.ReturnStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReturnStatusResultDTO {
+    private ReturnStatus status;
+    private List<Long> succeeded;
+    // Return ID -> reason it was left unchanged
+    private Map<Long, String> failed;
+    // Units put back into stock by this call
+    private long unitsRestocked;
+}
@@ -0,0 +1,20 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowResultDTO {
+    // 1-based position in the uploaded body, not counting a CSV header
+    private long row;
+    private String sku;
+    // CREATED, UPDATED, SKIPPED or FAILED
+    private String status;
+    private Long productId;
+    private String message;
+}
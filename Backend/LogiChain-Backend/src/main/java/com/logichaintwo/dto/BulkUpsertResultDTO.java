@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpsertResultDTO {
+    private long totalRows;
+    private long created;
+    private long updated;
+    private long skipped;
+    private long failed;
+    private int chunks;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<BulkRowResultDTO> results;
+}
@@ -1,8 +1,11 @@
 package com.logichaintwo.dto;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -28,6 +31,15 @@ public class CarrierDTO {
     @NotBlank(message = "Contact email is required")
     @Email(message = "Invalid email format")
     private String contactEmail;
+
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+
+    @DecimalMin(value = "0.00", message = "Base cost cannot be negative")
+    private BigDecimal baseCost;
+
+    @DecimalMin(value = "0.00", message = "Cost per kg cannot be negative")
+    private BigDecimal costPerKg;
     
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarrierStatsDTO {
+    private Long carrierId;
+    private long deliveredCount;
+    private long lateCount;
+    private long failedCount;
+    private Double onTimeRate;
+    private Double failureRate;
+    private Double averageTransitHours;
+
+    // Delivered shipments keyed by whole days in transit; the last bucket collects everything longer
+    private Map<Integer, Long> transitDaysHistogram;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetDTO {
+    private String category;
+    private long productCount;
+    private long inStockCount;
+}
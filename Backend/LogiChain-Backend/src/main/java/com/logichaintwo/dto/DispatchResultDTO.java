@@ -0,0 +1,29 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchResultDTO {
+    private Long warehouseId;
+    private int candidateCount;
+    private int assignedCount;
+
+    // No carrier had capacity left for these
+    private List<Long> unassignedShipmentIds;
+
+    // Left CREATED status or got a carrier by hand while the wave was being planned, so they were not touched
+    private int skippedCount;
+    private List<Long> skippedShipmentIds;
+
+    private Map<Long, Integer> assignmentsByCarrier;
+    private long elapsedMillis;
+}
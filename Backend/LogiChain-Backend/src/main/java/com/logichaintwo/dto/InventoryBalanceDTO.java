@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryBalanceDTO {
+    private Long inventoryId;
+    private Long productId;
+    private Long warehouseId;
+    private LocalDateTime at;
+    private Integer quantity;
+    private Integer reservedQuantity;
+    private Integer availableQuantity;
+    private Long snapshotTransactionId;
+    private Long replayedEntries;
+}
@@ -29,4 +29,9 @@ public class InventoryDTO {
     
     @Min(value = 0, message = "Reserved quantity cannot be negative")
     private Integer reservedQuantity;
+
+    @Min(value = 0, message = "Reorder point cannot be negative")
+    private Integer reorderPoint;
+
+    private Boolean lowStock;
 }
\ No newline at end of file
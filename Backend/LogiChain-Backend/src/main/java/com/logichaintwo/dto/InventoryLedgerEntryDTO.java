@@ -0,0 +1,25 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryLedgerEntryDTO {
+    private Long id;
+    private TransactionType transactionType;
+    private Integer quantityChanged;
+    private Long referenceId;
+    private LocalDateTime timestamp;
+    // Running balances after this entry
+    private Integer quantityAfter;
+    private Integer reservedQuantityAfter;
+}
@@ -0,0 +1,19 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryLedgerPageDTO {
+    private Long inventoryId;
+    private List<InventoryLedgerEntryDTO> entries;
+    // Pass as afterId to fetch the next page; null once the ledger is exhausted
+    private Long nextAfterId;
+}
@@ -0,0 +1,20 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkNotificationsReadRequest {
+    @NotEmpty(message = "At least one notification ID is required")
+    @Size(max = 1000, message = "At most 1000 notifications can be marked at once")
+    private List<Long> notificationIds;
+}
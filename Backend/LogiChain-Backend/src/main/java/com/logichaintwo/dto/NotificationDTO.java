@@ -1,5 +1,7 @@
 package com.logichaintwo.dto;
 
+import java.time.LocalDateTime;
+
 import com.logichaintwo.enums.NotificationChannel;
 import com.logichaintwo.enums.NotificationStatus;
 import com.logichaintwo.enums.NotificationType;
@@ -45,4 +47,8 @@ public class NotificationDTO {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private NotificationStatus status;
+
+    private Long orderId;
+    private LocalDateTime createdAt;
+    private LocalDateTime readAt;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationInboxPageDTO {
+    private Long userId;
+    private int size;
+    private boolean hasNext;
+    // Pass back as beforeId for the next page; null on the last one
+    private Long nextBeforeId;
+    private long unreadCount;
+    private List<NotificationDTO> notifications;
+}
@@ -0,0 +1,36 @@
+package com.logichaintwo.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDetailsDTO {
+	private OrderDTO order;
+	private List<Item> items;
+	private ShipmentDTO shipment;
+	private List<ShipmentEventDTO> shipmentEvents;
+	private List<ReturnDTO> returns;
+	private List<NotificationDTO> notifications;
+
+	@Data
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Item {
+		private Long id;
+		private Long productId;
+		private String sku;
+		private String productName;
+		private Integer quantity;
+		private BigDecimal unitPrice;
+		private BigDecimal subtotal;
+	}
+}
@@ -0,0 +1,29 @@
+package com.logichaintwo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.OrderStatus;
+import com.logichaintwo.enums.ShipmentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryEntryDTO {
+    private Long id;
+    private String orderNumber;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private BigDecimal totalAmount;
+
+    // Filled only when the summary is requested
+    private Long itemCount;
+    private Long unitCount;
+    private ShipmentStatus shipmentStatus;
+}
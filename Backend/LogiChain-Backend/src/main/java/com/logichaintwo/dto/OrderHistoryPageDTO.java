@@ -0,0 +1,23 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryPageDTO {
+    private Long customerId;
+    private int size;
+    private boolean hasNext;
+    // Pass back as beforeDate and beforeId for the next page; null on the last page
+    private LocalDateTime nextBeforeDate;
+    private Long nextBeforeId;
+    private List<OrderHistoryEntryDTO> orders;
+}
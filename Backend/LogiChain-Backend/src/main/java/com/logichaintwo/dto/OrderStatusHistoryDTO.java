@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusHistoryDTO {
+    private Long id;
+    private Long orderId;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private Long changedBy;
+    private String note;
+    private LocalDateTime changedAt;
+}
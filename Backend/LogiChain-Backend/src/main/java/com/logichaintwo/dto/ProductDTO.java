@@ -2,6 +2,7 @@ package com.logichaintwo.dto;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -37,6 +38,9 @@ public class ProductDTO {
 	private String category;
 	private String imageUrl;
 
+	// Thumbnail URL per width in pixels, once the image pipeline has produced them
+	private Map<Integer, String> thumbnailUrls;
+
 	private Long createdBy;
 
 	private String createdByName;
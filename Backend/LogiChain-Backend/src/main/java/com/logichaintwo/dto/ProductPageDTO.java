@@ -0,0 +1,18 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDTO {
+    private List<ProductDTO> products;
+    // Pass as afterId to fetch the next page; null on the last page
+    private Long nextAfterId;
+}
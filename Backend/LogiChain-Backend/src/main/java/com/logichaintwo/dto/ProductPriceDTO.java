@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceDTO {
+    private Long id;
+    private Long productId;
+    private BigDecimal price;
+    private LocalDateTime effectiveFrom;
+    private LocalDateTime effectiveTo;
+    private boolean applied;
+    private Long createdBy;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResultDTO {
+    private String query;
+    private String category;
+    private int page;
+    private int size;
+    private long totalHits;
+    private List<ProductDTO> products;
+    // Product count per category across all matches, ignoring the category filter
+    private Map<String, Long> categoryFacets;
+}
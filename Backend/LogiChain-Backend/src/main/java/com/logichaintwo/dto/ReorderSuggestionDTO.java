@@ -0,0 +1,23 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderSuggestionDTO {
+    private Long productId;
+    private Long warehouseId;
+    private Double averageDailyDemand;
+    private Double demandDeviation;
+    private Integer availableQuantity;
+    private Integer reorderPoint;
+    private Integer suggestedQuantity;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,28 @@
+package com.logichaintwo.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+    @NotNull(message = "Inventory ID is required")
+    @Positive(message = "Inventory ID must be positive")
+    private Long inventoryId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+
+    private Long referenceId;
+
+    // Falls back to inventory.reservation.default-ttl-seconds
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+}
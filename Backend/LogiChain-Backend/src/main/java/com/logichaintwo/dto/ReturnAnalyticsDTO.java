@@ -0,0 +1,26 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnAnalyticsDTO {
+    private Integer windowDays;
+    private List<Integer> availableWindows;
+    // When the job last ran; null if it never has
+    private LocalDateTime generatedAt;
+    // Highest return rate first, among products with enough sales to be meaningful
+    private List<ReturnRateDTO> products;
+    private List<ReturnRateDTO> categories;
+    // Over the longest window, largest group first
+    private Integer reasonWindowDays;
+    private List<ReturnReasonClusterDTO> reasonClusters;
+}
@@ -0,0 +1,21 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnRateDTO {
+    private Long productId;
+    private String sku;
+    private String productName;
+    private String category;
+    private Long unitsSold;
+    private Long unitsReturned;
+    private Long returnCount;
+    private Double returnRate;
+}
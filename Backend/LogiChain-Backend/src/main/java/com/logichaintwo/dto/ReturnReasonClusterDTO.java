@@ -0,0 +1,19 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnReasonClusterDTO {
+    private String keyword;
+    private String label;
+    private String topTerms;
+    private String sampleReason;
+    private Long returnCount;
+    private Double share;
+}
@@ -0,0 +1,25 @@
+package com.logichaintwo.dto;
+
+import com.logichaintwo.enums.ReturnStatus;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnStatusRequest {
+    @NotNull(message = "Return status is required")
+    private ReturnStatus status;
+
+    // Where received goods are restocked; defaults to the warehouse the order shipped from
+    private Long warehouseId;
+
+    @Size(max = 500, message = "Note must be at most 500 characters")
+    private String note;
+}
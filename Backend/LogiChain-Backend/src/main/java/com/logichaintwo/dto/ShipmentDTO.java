@@ -30,9 +30,11 @@ public class ShipmentDTO {
     @Positive(message = "Order ID must be positive")
     private Long orderId;
     
-    @NotNull(message = "Carrier ID is required")
     @Positive(message = "Carrier ID must be positive")
     private Long carrierId;
+
+    @Positive(message = "Warehouse ID must be positive")
+    private Long warehouseId;
     
     @NotNull(message = "Shipment status is required")
     @Enumerated(EnumType.STRING)
@@ -43,6 +45,10 @@ public class ShipmentDTO {
     
     @Future(message = "Estimated delivery date must be in the future")
     private LocalDateTime estimatedDeliveryDate;
+
+    private LocalDateTime actualDeliveryDate;
+
+    private Long version;
     
     private OrderDTO order; 
     private CarrierDTO carrier;
@@ -0,0 +1,25 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.EventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentEventDTO {
+    private Long id;
+    private Long shipmentId;
+    private EventType eventType;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private String description;
+    private LocalDateTime eventTimestamp;
+}
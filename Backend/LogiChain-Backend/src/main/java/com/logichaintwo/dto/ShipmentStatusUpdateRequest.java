@@ -0,0 +1,32 @@
+package com.logichaintwo.dto;
+
+import com.logichaintwo.enums.ShipmentStatus;
+
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentStatusUpdateRequest {
+    @NotNull(message = "Shipment status is required")
+    @Enumerated(EnumType.STRING)
+    private ShipmentStatus status;
+
+    private String location;
+    private Double latitude;
+    private Double longitude;
+
+    @Size(max = 1000, message = "Description must be at most 1000 characters")
+    private String description;
+
+    // When set, the update only applies if the shipment is still at this version
+    private Long expectedVersion;
+}
@@ -0,0 +1,33 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourcingPlanDTO {
+    private boolean fullyAllocated;
+    private int shipmentCount;
+    private Double totalDistanceKm;
+    private List<WarehouseAllocation> allocations;
+
+    // Units per product that no warehouse could supply
+    private Map<Long, Integer> shortages;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WarehouseAllocation {
+        private Long warehouseId;
+        private Map<Long, Integer> quantities;
+        private Double distanceKm;
+    }
+}
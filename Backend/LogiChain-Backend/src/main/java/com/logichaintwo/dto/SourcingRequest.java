@@ -0,0 +1,41 @@
+package com.logichaintwo.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SourcingRequest {
+    @NotEmpty(message = "At least one order line is required")
+    @Valid
+    private List<Line> lines;
+
+    // Optional delivery point, used to prefer nearer warehouses between equally small splits
+    private Double destinationLatitude;
+    private Double destinationLongitude;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        @NotNull(message = "Product ID is required")
+        @Positive(message = "Product ID must be positive")
+        private Long productId;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+    }
+}
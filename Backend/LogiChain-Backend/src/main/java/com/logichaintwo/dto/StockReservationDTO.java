@@ -0,0 +1,26 @@
+package com.logichaintwo.dto;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDTO {
+    private Long id;
+    private Long inventoryId;
+    private Integer quantity;
+    private Long referenceId;
+    private Long createdBy;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private LocalDateTime closedAt;
+    private LocalDateTime createdAt;
+}
@@ -32,6 +32,11 @@ public class WarehouseDTO {
     @NotNull(message = "Capacity is required")
     @Min(value = 1, message = "Capacity must be at least 1")
     private Integer capacity;
+
+    private Double latitude;
+    private Double longitude;
+
+    private Double usedCapacity;
     
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.logichaintwo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseUtilizationDTO {
+    private Long warehouseId;
+    private String code;
+    private String name;
+    private Integer capacity;
+    private Double usedCapacity;
+    private Double availableCapacity;
+    private Double utilizationPercent;
+}
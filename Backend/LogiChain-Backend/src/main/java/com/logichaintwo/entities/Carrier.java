@@ -1,5 +1,6 @@
 package com.logichaintwo.entities;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,7 +12,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -37,6 +40,17 @@ public class Carrier {
     @Email(message = "Invalid email format")
     @Column(nullable = false)
     private String contactEmail;
+
+    // Maximum open (not yet delivered or failed) shipments; null means unlimited
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+
+    @DecimalMin(value = "0.00", message = "Base cost cannot be negative")
+    private BigDecimal baseCost;
+
+    @DecimalMin(value = "0.00", message = "Cost per kg cannot be negative")
+    private BigDecimal costPerKg;
+
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @OneToMany(mappedBy = "carrier", cascade = CascadeType.ALL, orphanRemoval = true)
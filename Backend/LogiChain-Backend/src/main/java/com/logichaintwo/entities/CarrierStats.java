@@ -0,0 +1,35 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(indexes = @Index(name = "idx_carrier_stats_on_time_rate", columnList = "onTimeRate"))
+@Data
+public class CarrierStats {
+    @Id
+    private Long carrierId;
+
+    @Column(nullable = false)
+    private Long deliveredCount = 0L;
+
+    @Column(nullable = false)
+    private Long lateCount = 0L;
+
+    @Column(nullable = false)
+    private Long failedCount = 0L;
+
+    @Column(nullable = false)
+    private Long totalTransitHours = 0L;
+
+    // Kept in step with the counters so the leaderboard is an index scan
+    private Double onTimeRate;
+
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,28 @@
+package com.logichaintwo.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"carrierId", "transitDays"}))
+@Data
+public class CarrierTransitBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long carrierId;
+
+    @Column(nullable = false)
+    private Integer transitDays;
+
+    @Column(nullable = false)
+    private Long shipmentCount = 0L;
+}
@@ -0,0 +1,22 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+// A ReferenceNumberGenerator node id held by one running replica until renewedAt goes stale
+@Entity
+@Data
+public class IdNodeLease {
+    @Id
+    private Long nodeId;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime renewedAt;
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,7 +21,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"productId", "warehouseId"}))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"productId", "warehouseId"}),
+       indexes = @Index(name = "idx_inventory_low_stock", columnList = "lowStock"))
 @Data
 public class Inventory {
 	@Id
@@ -44,6 +46,16 @@ public class Inventory {
     @Column(nullable = false)
     private Integer reservedQuantity = 0;
 
+    // Falls back to inventory.low-stock.default-reorder-point when not set
+    @Min(value = 0, message = "Reorder point cannot be negative")
+    private Integer reorderPoint;
+
+    // Maintained on every stock change: available stock is below the reorder point
+    @Column(nullable = false)
+    private Boolean lowStock = false;
+
+    private LocalDateTime lowStockAlertedAt;
+
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @ManyToOne
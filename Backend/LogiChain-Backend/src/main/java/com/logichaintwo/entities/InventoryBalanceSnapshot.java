@@ -0,0 +1,40 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Balance of one inventory record after applying every ledger entry up to lastTransactionId
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_balance_snapshot_position", columnList = "inventoryId, lastTransactionId"),
+        @Index(name = "idx_balance_snapshot_taken_at", columnList = "inventoryId, takenAt")
+})
+@Data
+public class InventoryBalanceSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @Column(nullable = false)
+    private Long lastTransactionId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer reservedQuantity;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+}
@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Immutable;
+
 import com.logichaintwo.enums.TransactionType;
 
+// Ledger entries are append-only; balances are derived by replaying them
 @Entity
+@Immutable
 @Data
 public class InventoryTransaction {
     @Id
@@ -13,14 +13,22 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Entity
+// The dispatcher's claim query, the inbox pages and the unread counts
+@Table(indexes = {
+        @Index(name = "idx_notification_dispatch", columnList = "status, channel, nextAttemptAt, id"),
+        @Index(name = "idx_notification_inbox", columnList = "userId, id"),
+        @Index(name = "idx_notification_unread", columnList = "userId, readAt, id")
+})
 @Data
 public class Notification {
 	@Id
@@ -36,7 +44,7 @@ public class Notification {
 
     @NotNull(message = "Notification type is required")
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 30)
+    @Column(nullable = false, length = 30, columnDefinition = "varchar(30)")
     private NotificationType notificationType;
 
     @NotNull(message = "Channel is required")
@@ -51,12 +59,29 @@ public class Notification {
 
     @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 20)
+    @Column(nullable = false, length = 20, columnDefinition = "varchar(20)")
     private NotificationStatus status;
 
     private LocalDateTime sentAt;
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Null while unread
+    private LocalDateTime readAt;
+
+    // Delivery bookkeeping, owned by NotificationDispatcher
+    @Column(columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer attempts = 0;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
     @ManyToOne
     @JoinColumn(name = "userId", insertable = false, updatable = false)
     private User user;
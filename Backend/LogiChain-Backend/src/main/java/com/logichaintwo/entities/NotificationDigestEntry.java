@@ -0,0 +1,52 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.enums.NotificationType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// A notification held back by NotificationDigester; the row only exists until its digest is written
+@Entity
+@Table(indexes = @Index(name = "idx_digest_entry_node", columnList = "nodeId, id"))
+@Data
+public class NotificationDigestEntry {
+    // Assigned by ReferenceNumberGenerator so a whole batch can be inserted in one round trip
+    @Id
+    private Long id;
+
+    /*
+     * Node id of the replica buffering the entry in memory. Another replica takes the entry
+     * over by rewriting this once the node's lease goes stale or the entry outlives its window,
+     * and a flush only writes entries still carrying the node id they were buffered under.
+     */
+    @Column(nullable = false)
+    private Long nodeId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    private Long orderId;
+    private Long shipmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, columnDefinition = "varchar(30)")
+    private NotificationType notificationType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationChannel channel;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    private LocalDateTime createdAt;
+}
@@ -17,7 +17,7 @@ public class NotificationTemplate {
     private String templateName;
     
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 30)
+    @Column(nullable = false, length = 30, columnDefinition = "varchar(30)")
     private NotificationType notificationType;
     
     private String subject;
@@ -26,4 +26,12 @@ public class NotificationTemplate {
     private String bodyTemplate;
     
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Compared by NotificationTemplateEngine to spot edits made by other replicas
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
@@ -16,6 +16,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -27,14 +28,16 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Entity
-@Table(name = "orders")
+// Covers the customer history query: id follows orderDate so its (orderDate, id) keyset is read in index order
+@Table(name = "orders", indexes = @Index(name = "idx_orders_customer_date_id",
+        columnList = "customerId, orderDate, id, orderStatus, totalAmount, orderNumber"))
 @Data
 public class Order {
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NotBlank(message = "Order number is required")
+    // Assigned by ReferenceNumberGenerator on create; never taken from the request
     @Column(unique = true, nullable = false)
     private String orderNumber;
 
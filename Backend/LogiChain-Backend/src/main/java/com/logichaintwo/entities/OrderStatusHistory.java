@@ -0,0 +1,47 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Append-only: one row per status change of an order
+@Entity
+@Table(indexes = @Index(name = "idx_order_status_history_order", columnList = "orderId, id"))
+@org.hibernate.annotations.Immutable
+@Data
+public class OrderStatusHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    // Null for the entry written when the order is created
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus toStatus;
+
+    private Long changedBy;
+
+    @Column(length = 500)
+    private String note;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt = LocalDateTime.now();
+}
@@ -12,9 +12,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -22,6 +24,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Entity
+@Table(indexes = @Index(name = "idx_product_category_id", columnList = "category, id"))
 @Data
 public class Product {
 	@Id
@@ -57,6 +60,10 @@ public class Product {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // Content hash of the image whose thumbnails are ready; set by the image pipeline
+    @Column(length = 64)
+    private String imageHash;
+
     @Column(name = "createdBy")
     private Long createdBy;
 
@@ -0,0 +1,45 @@
+package com.logichaintwo.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// One version of a product's price; versions of a product never overlap
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_product_price_product_from", columnList = "productId, effectiveFrom"),
+        @Index(name = "idx_product_price_pending", columnList = "applied, effectiveFrom")
+})
+@Data
+public class ProductPrice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private LocalDateTime effectiveFrom;
+
+    // Exclusive; null while no later version exists
+    private LocalDateTime effectiveTo;
+
+    // Set once Product.price has been switched to this version
+    @Column(nullable = false)
+    private boolean applied;
+
+    private Long createdBy;
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,39 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"productId", "warehouseId"}),
+       indexes = @Index(name = "idx_reorder_suggestion_warehouse", columnList = "warehouseId"))
+@Data
+public class ReorderSuggestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long warehouseId;
+
+    // Exponentially smoothed units per day and the smoothed absolute forecast error
+    private Double averageDailyDemand;
+    private Double demandDeviation;
+
+    private Integer availableQuantity;
+    private Integer reorderPoint;
+    private Integer suggestedQuantity;
+
+    private LocalDateTime generatedAt;
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PreUpdate;
@@ -23,7 +24,8 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 @Entity
-@Table(name = "returns")
+// Serves the refund queue: received returns in id order
+@Table(name = "returns", indexes = @Index(name = "idx_returns_status", columnList = "returnStatus, id"))
 @Data
 public class Return {
 	@Id
@@ -34,11 +36,11 @@ public class Return {
     @Column(nullable = false)
     private Long orderId;
 
-    @NotBlank(message = "Return number is required")
+    // Assigned by ReferenceNumberGenerator on create; never taken from the request
     @Column(unique = true, nullable = false)
     private String returnNumber;
 
-    @NotNull(message = "Return status is required")
+    // Starts at REQUESTED; later moves go through the returns workflow
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private ReturnStatus returnStatus;
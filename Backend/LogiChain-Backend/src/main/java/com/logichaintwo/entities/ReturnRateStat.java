@@ -0,0 +1,42 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Written by the return analytics job; the whole table is replaced on every run
+@Entity
+@Table(indexes = @Index(name = "idx_return_rate_scope_window", columnList = "scope, windowDays, returnRate"))
+@Data
+public class ReturnRateStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // PRODUCT or CATEGORY
+    @Column(nullable = false, length = 20)
+    private String scope;
+
+    private Long productId;
+    private String sku;
+    private String productName;
+    private String category;
+
+    @Column(nullable = false)
+    private Integer windowDays;
+
+    private Long unitsSold;
+    private Long unitsReturned;
+    private Long returnCount;
+    // Units returned per unit sold in the window; null when nothing sold
+    private Double returnRate;
+
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,34 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+// Written by the return analytics job; the whole table is replaced on every run
+@Entity
+@Data
+public class ReturnReasonCluster {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The token every reason in the cluster shares, or "other"
+    @Column(nullable = false, length = 100)
+    private String keyword;
+
+    private String label;
+    private String topTerms;
+
+    @Column(length = 500)
+    private String sampleReason;
+
+    private Long returnCount;
+    private Double share;
+    private Integer windowDays;
+    private LocalDateTime generatedAt;
+}
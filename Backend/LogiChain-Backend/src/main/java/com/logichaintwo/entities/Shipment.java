@@ -14,22 +14,26 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 @Entity
+@Table(indexes = @Index(name = "idx_shipment_warehouse_status", columnList = "warehouseId, shipmentStatus"))
 @Data
 public class Shipment {
 	 @Id
 	    @GeneratedValue(strategy = GenerationType.IDENTITY)
 	    private Long id;
 
-	    @NotBlank(message = "Tracking number is required")
+	    // Assigned by ReferenceNumberGenerator on create; never taken from the request
 	    @Column(unique = true, nullable = false)
 	    private String trackingNumber;
 
@@ -37,10 +41,11 @@ public class Shipment {
 	    @Column(unique = true, nullable = false)
 	    private Long orderId;
 
-	    @NotNull(message = "Carrier ID is required")
-	    @Column(nullable = false)
+	    // Left empty when the shipment is created for batch dispatch to pick a carrier
 	    private Long carrierId;
 
+	    private Long warehouseId;
+
 	    @NotNull(message = "Shipment status is required")
 	    @Enumerated(EnumType.STRING)
 	    @Column(nullable = false, length = 30)
@@ -51,6 +56,10 @@ public class Shipment {
 	    private LocalDateTime actualDeliveryDate;
 	    private LocalDateTime createdAt = LocalDateTime.now();
 
+	    @Version
+	    @Column(nullable = false)
+	    private Long version = 0L;
+
 	    @OneToOne
 	    @JoinColumn(name = "orderId", insertable = false, updatable = false)
 	    private Order order;
@@ -61,4 +70,9 @@ public class Shipment {
 	    
 	    @OneToMany(mappedBy = "shipment", cascade = CascadeType.ALL, orphanRemoval = true)
 	    private List<Notification> notifications = new ArrayList<>();
+
+	    // Read-only view of the timeline; events are written through ShipmentEventRepository
+	    @OneToMany(mappedBy = "shipment")
+	    @OrderBy("eventTimestamp ASC, id ASC")
+	    private List<ShipmentEvent> events = new ArrayList<>();
 }
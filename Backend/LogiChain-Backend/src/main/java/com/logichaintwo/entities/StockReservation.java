@@ -0,0 +1,50 @@
+package com.logichaintwo.entities;
+
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.ReservationStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_reservation_status_id", columnList = "status, id"),
+        @Index(name = "idx_reservation_inventory", columnList = "inventoryId")
+})
+@Data
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long inventoryId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Order or cart the hold belongs to
+    private Long referenceId;
+
+    // User who placed the hold; customers may only release or extend their own
+    private Long createdBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime closedAt;
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -43,6 +43,13 @@ public class Warehouse {
     @Column(nullable = false)
     private Integer capacity;
 
+    private Double latitude;
+    private Double longitude;
+
+    // Sum of quantity x product weight over this warehouse's inventory, maintained on every stock change
+    @Column(nullable = false)
+    private Double usedCapacity = 0.0;
+
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @OneToMany(mappedBy = "warehouse", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -2,6 +2,7 @@ package com.logichaintwo.enums;
 
 public enum NotificationStatus {
     PENDING,
+    SENDING,
     SENT,
     FAILED
 }
@@ -10,8 +10,10 @@ public enum NotificationType {
     ORDER_CANCELLED,
     RETURN_REQUESTED,
     RETURN_APPROVED,
+    RETURN_RECEIVED,
     RETURN_REJECTED,
     REFUND_PROCESSED,
     PAYMENT_RECEIVED,
-    PAYMENT_FAILED
+    PAYMENT_FAILED,
+    LOW_STOCK
 }
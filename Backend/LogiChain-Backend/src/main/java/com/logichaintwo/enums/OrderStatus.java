@@ -1,10 +1,35 @@
 package com.logichaintwo.enums;
 
-public enum OrderStatus {
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+public enum OrderStatus implements TransitionalStatus<OrderStatus> {
     PENDING,
     CONFIRMED,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        ALLOWED_TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        ALLOWED_TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, CANCELLED));
+        ALLOWED_TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+        ALLOWED_TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+        ALLOWED_TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        ALLOWED_TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    @Override
+    public boolean canTransitionTo(OrderStatus next) {
+        return ALLOWED_TRANSITIONS.get(this).contains(next);
+    }
+
+    public boolean isTerminal() {
+        return ALLOWED_TRANSITIONS.get(this).isEmpty();
+    }
 }
@@ -0,0 +1,8 @@
+package com.logichaintwo.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -1,9 +1,33 @@
 package com.logichaintwo.enums;
 
-public enum ReturnStatus {
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+public enum ReturnStatus implements TransitionalStatus<ReturnStatus> {
     REQUESTED,
     APPROVED,
     REJECTED,
     RECEIVED,
-    REFUNDED
+    REFUNDED;
+
+    private static final Map<ReturnStatus, Set<ReturnStatus>> ALLOWED_TRANSITIONS = new EnumMap<>(ReturnStatus.class);
+
+    static {
+        ALLOWED_TRANSITIONS.put(REQUESTED, EnumSet.of(APPROVED, REJECTED));
+        ALLOWED_TRANSITIONS.put(APPROVED, EnumSet.of(RECEIVED, REJECTED));
+        ALLOWED_TRANSITIONS.put(RECEIVED, EnumSet.of(REFUNDED));
+        ALLOWED_TRANSITIONS.put(REJECTED, EnumSet.noneOf(ReturnStatus.class));
+        ALLOWED_TRANSITIONS.put(REFUNDED, EnumSet.noneOf(ReturnStatus.class));
+    }
+
+    @Override
+    public boolean canTransitionTo(ReturnStatus next) {
+        return ALLOWED_TRANSITIONS.get(this).contains(next);
+    }
+
+    public boolean isTerminal() {
+        return ALLOWED_TRANSITIONS.get(this).isEmpty();
+    }
 }
@@ -1,9 +1,32 @@
 package com.logichaintwo.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum ShipmentStatus {
     CREATED,
     IN_TRANSIT,
     OUT_FOR_DELIVERY,
     DELIVERED,
-    FAILED
+    FAILED;
+
+    private static final Map<ShipmentStatus, Set<ShipmentStatus>> ALLOWED_TRANSITIONS = new EnumMap<>(ShipmentStatus.class);
+
+    static {
+        ALLOWED_TRANSITIONS.put(CREATED, EnumSet.of(IN_TRANSIT, FAILED));
+        ALLOWED_TRANSITIONS.put(IN_TRANSIT, EnumSet.of(OUT_FOR_DELIVERY, DELIVERED, FAILED));
+        ALLOWED_TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(IN_TRANSIT, DELIVERED, FAILED));
+        ALLOWED_TRANSITIONS.put(DELIVERED, EnumSet.noneOf(ShipmentStatus.class));
+        ALLOWED_TRANSITIONS.put(FAILED, EnumSet.of(IN_TRANSIT));
+    }
+
+    public boolean canTransitionTo(ShipmentStatus next) {
+        return ALLOWED_TRANSITIONS.get(this).contains(next);
+    }
+
+    public boolean isTerminal() {
+        return ALLOWED_TRANSITIONS.get(this).isEmpty();
+    }
 }
@@ -0,0 +1,6 @@
+package com.logichaintwo.enums;
+
+// A status with a transition table, so bulk workflows can share one planning step
+public interface TransitionalStatus<S> {
+    boolean canTransitionTo(S next);
+}
@@ -0,0 +1,5 @@
+package com.logichaintwo.event;
+
+// Published by InventoryServiceImpl.delete; listeners drop the row once the delete commits
+public record InventoryDeletedEvent(Long inventoryId) {
+}
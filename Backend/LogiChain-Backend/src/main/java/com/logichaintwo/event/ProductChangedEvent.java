@@ -0,0 +1,27 @@
+package com.logichaintwo.event;
+
+import java.util.Objects;
+
+import com.logichaintwo.entities.Product;
+
+// Published by ProductServiceImpl; in-memory catalog views apply it once the transaction commits
+public record ProductChangedEvent(Long productId, String sku, String name, String description, String category,
+                                  String imageUrl, boolean imageChanged, boolean deleted) {
+
+    // A new product, or one whose image was just replaced
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getSku(), product.getName(),
+                product.getDescription(), product.getCategory(), product.getImageUrl(), true, false);
+    }
+
+    public static ProductChangedEvent saved(Product product, String previousImageUrl) {
+        return new ProductChangedEvent(product.getId(), product.getSku(), product.getName(),
+                product.getDescription(), product.getCategory(), product.getImageUrl(),
+                !Objects.equals(previousImageUrl, product.getImageUrl()), false);
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getSku(), product.getName(),
+                product.getDescription(), product.getCategory(), product.getImageUrl(), true, true);
+    }
+}
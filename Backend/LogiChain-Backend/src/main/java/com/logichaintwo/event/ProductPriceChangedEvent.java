@@ -0,0 +1,8 @@
+package com.logichaintwo.event;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Prices now in force, keyed by product id; the in-memory price map takes them once the transaction commits
+public record ProductPriceChangedEvent(Map<Long, BigDecimal> prices) {
+}
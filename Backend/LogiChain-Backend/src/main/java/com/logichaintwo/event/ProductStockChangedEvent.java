@@ -0,0 +1,7 @@
+package com.logichaintwo.event;
+
+import java.util.Set;
+
+// Published by InventoryAvailabilityIndex after it applies ledger movements for these products
+public record ProductStockChangedEvent(Set<Long> productIds) {
+}
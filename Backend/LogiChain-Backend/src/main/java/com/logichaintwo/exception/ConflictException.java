@@ -0,0 +1,8 @@
+package com.logichaintwo.exception;
+
+@SuppressWarnings("serial")
+public class ConflictException extends RuntimeException {
+	public ConflictException(String message) {
+		super(message);
+	}
+}
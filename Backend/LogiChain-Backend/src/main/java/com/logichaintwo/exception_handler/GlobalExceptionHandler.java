@@ -7,6 +7,7 @@ import org.apache.coyote.BadRequestException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.logichaintwo.dto.ApiResponse;
 import com.logichaintwo.exception.ApiException;
 import com.logichaintwo.exception.AuthenticationFailedException;
+import com.logichaintwo.exception.ConflictException;
 import com.logichaintwo.exception.InvalidInputException;
 import com.logichaintwo.exception.ResourceNotFoundException;
 
@@ -46,6 +48,23 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(e.getMessage()));
     }
     
+    // Concurrent modification (409)
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse> handleConflict(ConflictException e) {
+        log.error("Conflict: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse> handleOptimisticLock(ObjectOptimisticLockingFailureException e) {
+        log.error("Optimistic lock failure: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("The record was modified by someone else, please reload and retry"));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
         String message = "Database error: A shipment with this tracking number or order ID already exists.";
@@ -0,0 +1,36 @@
+package com.logichaintwo.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.CarrierStats;
+
+public interface CarrierStatsRepository extends JpaRepository<CarrierStats, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO carrier_stats "
+            + "(carrier_id, delivered_count, late_count, failed_count, total_transit_hours, on_time_rate, updated_at) "
+            + "VALUES (:carrierId, :delivered, :late, :failed, :transitHours, "
+            + "CASE WHEN :delivered > 0 THEN (:delivered - :late) / :delivered END, NOW()) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "delivered_count = delivered_count + VALUES(delivered_count), "
+            + "late_count = late_count + VALUES(late_count), "
+            + "failed_count = failed_count + VALUES(failed_count), "
+            + "total_transit_hours = total_transit_hours + VALUES(total_transit_hours), "
+            + "on_time_rate = CASE WHEN delivered_count > 0 THEN (delivered_count - late_count) / delivered_count END, "
+            + "updated_at = NOW()", nativeQuery = true)
+    int increment(@Param("carrierId") Long carrierId,
+                  @Param("delivered") long delivered,
+                  @Param("late") long late,
+                  @Param("failed") long failed,
+                  @Param("transitHours") long transitHours);
+
+    @Query("SELECT s FROM CarrierStats s WHERE s.onTimeRate IS NOT NULL AND s.deliveredCount >= :minDelivered "
+            + "ORDER BY s.onTimeRate DESC, s.deliveredCount DESC")
+    List<CarrierStats> findLeaderboard(@Param("minDelivered") long minDelivered, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.logichaintwo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.CarrierTransitBucket;
+
+public interface CarrierTransitBucketRepository extends JpaRepository<CarrierTransitBucket, Long> {
+    List<CarrierTransitBucket> findByCarrierIdOrderByTransitDaysAsc(Long carrierId);
+
+    @Modifying
+    @Query(value = "INSERT INTO carrier_transit_bucket (carrier_id, transit_days, shipment_count) "
+            + "VALUES (:carrierId, :transitDays, 1) "
+            + "ON DUPLICATE KEY UPDATE shipment_count = shipment_count + 1", nativeQuery = true)
+    int increment(@Param("carrierId") Long carrierId, @Param("transitDays") int transitDays);
+}
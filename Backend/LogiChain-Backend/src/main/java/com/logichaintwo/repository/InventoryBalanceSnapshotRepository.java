@@ -0,0 +1,54 @@
+package com.logichaintwo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.InventoryBalanceSnapshot;
+
+public interface InventoryBalanceSnapshotRepository extends JpaRepository<InventoryBalanceSnapshot, Long> {
+    Optional<InventoryBalanceSnapshot> findFirstByInventoryIdAndLastTransactionIdLessThanEqualOrderByLastTransactionIdDesc(
+            Long inventoryId, Long transactionId);
+
+    Optional<InventoryBalanceSnapshot> findFirstByInventoryIdAndTakenAtLessThanEqualOrderByLastTransactionIdDesc(
+            Long inventoryId, LocalDateTime at);
+
+    @Modifying
+    void deleteByInventoryId(Long inventoryId);
+
+    // Rolls every record with new ledger entries forward from its latest snapshot, in one statement
+    @Modifying
+    @Query(value = "INSERT INTO inventory_balance_snapshot "
+            + "(inventory_id, last_transaction_id, quantity, reserved_quantity, taken_at) "
+            + "SELECT t.inventory_id, MAX(t.id), "
+            + "COALESCE(MAX(s.quantity), 0) + SUM(CASE t.transaction_type "
+            + "WHEN 'STOCK_IN' THEN t.quantity_changed WHEN 'STOCK_OUT' THEN -t.quantity_changed ELSE 0 END), "
+            + "COALESCE(MAX(s.reserved_quantity), 0) + SUM(CASE t.transaction_type "
+            + "WHEN 'RESERVED' THEN t.quantity_changed WHEN 'RELEASED' THEN -t.quantity_changed ELSE 0 END), "
+            + "MAX(t.timestamp) "
+            + "FROM inventory_transaction t "
+            + "LEFT JOIN (SELECT s1.inventory_id, s1.last_transaction_id, s1.quantity, s1.reserved_quantity "
+            + "  FROM inventory_balance_snapshot s1 "
+            + "  JOIN (SELECT inventory_id, MAX(last_transaction_id) AS last_id FROM inventory_balance_snapshot "
+            + "        GROUP BY inventory_id) latest "
+            + "  ON latest.inventory_id = s1.inventory_id AND latest.last_id = s1.last_transaction_id) s "
+            + "ON s.inventory_id = t.inventory_id "
+            + "WHERE t.id > COALESCE(s.last_transaction_id, 0) AND t.id <= :upToId AND t.quantity_changed IS NOT NULL "
+            + "GROUP BY t.inventory_id", nativeQuery = true)
+    int rollForward(@Param("upToId") long upToId);
+
+    // Anchors records without any snapshot at their current balance, covering rows that predate the ledger
+    @Modifying
+    @Query(value = "INSERT INTO inventory_balance_snapshot "
+            + "(inventory_id, last_transaction_id, quantity, reserved_quantity, taken_at) "
+            + "SELECT i.id, (SELECT COALESCE(MAX(t.id), 0) FROM inventory_transaction t WHERE t.inventory_id = i.id), "
+            + "i.quantity, COALESCE(i.reserved_quantity, 0), NOW() "
+            + "FROM inventory i "
+            + "WHERE NOT EXISTS (SELECT 1 FROM inventory_balance_snapshot s WHERE s.inventory_id = i.id)",
+            nativeQuery = true)
+    int anchorUnsnapshotted();
+}
@@ -1,15 +1,70 @@
 package com.logichaintwo.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.repository.projection.InventoryLevelView;
+import com.logichaintwo.repository.projection.ProductStockView;
+
+import jakarta.persistence.LockModeType;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     List<Inventory> findByProductId(Long productId);
     List<Inventory> findByWarehouseId(Long warehouseId);
     Optional<Inventory> findByProductIdAndWarehouseId(Long productId, Long warehouseId);
+    List<Inventory> findByProductIdInAndWarehouseIdIn(Collection<Long> productIds, Collection<Long> warehouseIds);
     List<Inventory> findByQuantityLessThan(Integer quantity);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.id = :id")
+    Optional<Inventory> findByIdForUpdate(@Param("id") Long id);
+
+    // Locked in id order so restocks sharing locations queue behind one another instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productId IN :productIds AND i.warehouseId IN :warehouseIds ORDER BY i.id")
+    List<Inventory> findByProductIdInAndWarehouseIdInForUpdate(@Param("productIds") Collection<Long> productIds,
+                                                               @Param("warehouseIds") Collection<Long> warehouseIds);
+
+    @Query("SELECT i.id AS id, i.productId AS productId, i.warehouseId AS warehouseId, "
+            + "i.quantity AS quantity, i.reservedQuantity AS reservedQuantity FROM Inventory i")
+    List<InventoryLevelView> findAllLevels();
+
+    List<Inventory> findByLowStockTrue();
+
+    @Query("SELECT i.productId AS productId, SUM(i.quantity) AS totalStock, SUM(i.reservedQuantity) AS reservedStock "
+            + "FROM Inventory i WHERE i.productId IN :productIds GROUP BY i.productId")
+    List<ProductStockView> sumStockByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT i.productId FROM Inventory i GROUP BY i.productId HAVING SUM(i.quantity - i.reservedQuantity) > 0")
+    List<Long> findInStockProductIds();
+
+    @Modifying
+    @Query("UPDATE Inventory i SET i.lowStock = CASE "
+            + "WHEN i.quantity - i.reservedQuantity < COALESCE(i.reorderPoint, :defaultReorderPoint) THEN true "
+            + "ELSE false END")
+    int recalculateLowStock(@Param("defaultReorderPoint") int defaultReorderPoint);
+
+    // Guarded increments so concurrent holds can never push reserved stock past what is on hand
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity + :quantity "
+            + "WHERE i.id = :id AND i.quantity - i.reservedQuantity >= :quantity")
+    int reserveIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = CASE WHEN i.reservedQuantity > :quantity "
+            + "THEN i.reservedQuantity - :quantity ELSE 0 END WHERE i.id = :id")
+    int releaseReserved(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Inventory i SET i.reservedQuantity = i.reservedQuantity - :quantity, "
+            + "i.quantity = i.quantity - :quantity WHERE i.id = :id AND i.reservedQuantity >= :quantity")
+    int consumeReserved(@Param("id") Long id, @Param("quantity") int quantity);
+}
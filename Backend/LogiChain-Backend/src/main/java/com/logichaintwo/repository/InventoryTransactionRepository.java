@@ -1,9 +1,55 @@
 package com.logichaintwo.repository;
 
 import com.logichaintwo.entities.InventoryTransaction;
+import com.logichaintwo.repository.projection.InventoryMovementView;
+import com.logichaintwo.repository.projection.LedgerTotalView;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface InventoryTransactionRepository extends JpaRepository<InventoryTransaction, Long> {
     List<InventoryTransaction> findByInventoryId(Long inventoryId);
-}
\ No newline at end of file
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM InventoryTransaction t")
+    long findMaxId();
+
+    // Newest entry written before the cutoff; walks the primary key backwards rather than scanning by timestamp
+    @Query(value = "SELECT id FROM inventory_transaction WHERE timestamp < :before ORDER BY id DESC LIMIT 1",
+            nativeQuery = true)
+    Optional<Long> findLastIdBefore(@Param("before") LocalDateTime before);
+
+    @Query("SELECT t.id AS id, t.inventoryId AS inventoryId, i.productId AS productId, i.warehouseId AS warehouseId, "
+            + "t.transactionType AS transactionType, t.quantityChanged AS quantityChanged "
+            + "FROM InventoryTransaction t JOIN t.inventory i WHERE t.id > :afterId ORDER BY t.id")
+    List<InventoryMovementView> findMovementsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.inventoryId AS inventoryId, i.productId AS productId, i.warehouseId AS warehouseId, "
+            + "t.transactionType AS transactionType, t.quantityChanged AS quantityChanged "
+            + "FROM InventoryTransaction t JOIN t.inventory i WHERE t.id IN :ids ORDER BY t.id")
+    List<InventoryMovementView> findMovementsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM InventoryTransaction t WHERE t.id > :afterId AND t.id <= :upToId")
+    List<Long> findIdsBetween(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    List<InventoryTransaction> findByInventoryIdAndIdGreaterThanOrderByIdAsc(Long inventoryId, Long afterId,
+                                                                            Pageable pageable);
+
+    @Query("SELECT t.transactionType AS transactionType, SUM(t.quantityChanged) AS quantity, COUNT(t) AS entries "
+            + "FROM InventoryTransaction t WHERE t.inventoryId = :inventoryId "
+            + "AND t.id > :afterId AND t.id <= :upToId GROUP BY t.transactionType")
+    List<LedgerTotalView> sumBetween(@Param("inventoryId") Long inventoryId, @Param("afterId") long afterId,
+                                     @Param("upToId") long upToId);
+
+    @Query("SELECT t.transactionType AS transactionType, SUM(t.quantityChanged) AS quantity, COUNT(t) AS entries "
+            + "FROM InventoryTransaction t WHERE t.inventoryId = :inventoryId "
+            + "AND t.id > :afterId AND t.timestamp <= :until GROUP BY t.transactionType")
+    List<LedgerTotalView> sumAfterUntil(@Param("inventoryId") Long inventoryId, @Param("afterId") long afterId,
+                                        @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,24 @@
+package com.logichaintwo.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.NotificationDigestEntry;
+
+import jakarta.persistence.LockModeType;
+
+public interface NotificationDigestEntryRepository extends JpaRepository<NotificationDigestEntry, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM NotificationDigestEntry e WHERE e.id IN :ids ORDER BY e.id")
+    List<NotificationDigestEntry> findByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE NotificationDigestEntry e SET e.nodeId = :nodeId WHERE e.id IN :ids")
+    int reassign(@Param("ids") Collection<Long> ids, @Param("nodeId") Long nodeId);
+}
@@ -1,9 +1,88 @@
 package com.logichaintwo.repository;
 
 import com.logichaintwo.entities.Notification;
+import com.logichaintwo.repository.projection.UnreadCountView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Inbox pages, newest first; pass the last id seen as beforeId to continue
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+
+    List<Notification> findByUserIdAndReadAtIsNullAndIdLessThanOrderByIdDesc(Long userId, Long beforeId,
+                                                                            Pageable pageable);
+
+    long countByUserIdAndReadAtIsNull(Long userId);
+
+    @Query("SELECT n.userId AS userId, COUNT(n) AS unread FROM Notification n "
+            + "WHERE n.userId IN :userIds AND n.readAt IS NULL GROUP BY n.userId")
+    List<UnreadCountView> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Only the user's own unread rows change, so the count doubles as the unread counter's delta
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.readAt = :at WHERE n.userId = :userId AND n.id IN :ids AND n.readAt IS NULL")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.readAt = :at WHERE n.userId = :userId AND n.readAt IS NULL")
+    int markAllRead(@Param("userId") Long userId, @Param("at") LocalDateTime at);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.user LEFT JOIN FETCH n.shipment "
+            + "WHERE n.orderId = :orderId ORDER BY n.id")
+    List<Notification> findWithUserByOrderId(@Param("orderId") Long orderId);
+
+    // Rows another replica has locked are skipped, so concurrent dispatchers claim disjoint batches
+    @Query(value = "SELECT id FROM notification WHERE status = 'PENDING' AND channel = :channel "
+            + "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) ORDER BY id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("channel") String channel, @Param("now") LocalDateTime now,
+                          @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.status = com.logichaintwo.enums.NotificationStatus.SENDING, "
+            + "n.claimedBy = :claimedBy, n.claimedAt = :at, n.attempts = n.attempts + 1 WHERE n.id IN :ids")
+    int markClaimed(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                    @Param("at") LocalDateTime at);
+
+    @Query("SELECT n FROM Notification n JOIN FETCH n.user WHERE n.id IN :ids ORDER BY n.id")
+    List<Notification> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // The outcome updates only apply while the claim is still ours; an expired lease may have moved the row on
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.logichaintwo.enums.NotificationStatus.SENT, n.sentAt = :at, "
+            + "n.claimedBy = NULL, n.claimedAt = NULL, n.lastError = NULL "
+            + "WHERE n.id = :id AND n.status = com.logichaintwo.enums.NotificationStatus.SENDING "
+            + "AND n.claimedBy = :claimedBy")
+    int markSent(@Param("id") Long id, @Param("claimedBy") String claimedBy, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.logichaintwo.enums.NotificationStatus.PENDING, "
+            + "n.nextAttemptAt = :nextAttemptAt, n.lastError = :error, n.claimedBy = NULL, n.claimedAt = NULL "
+            + "WHERE n.id = :id AND n.status = com.logichaintwo.enums.NotificationStatus.SENDING "
+            + "AND n.claimedBy = :claimedBy")
+    int reschedule(@Param("id") Long id, @Param("claimedBy") String claimedBy,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.logichaintwo.enums.NotificationStatus.FAILED, "
+            + "n.lastError = :error, n.claimedBy = NULL, n.claimedAt = NULL "
+            + "WHERE n.id = :id AND n.status = com.logichaintwo.enums.NotificationStatus.SENDING "
+            + "AND n.claimedBy = :claimedBy")
+    int markFailed(@Param("id") Long id, @Param("claimedBy") String claimedBy, @Param("error") String error);
+
+    // Claims left behind by a replica that died mid-send go back to the queue
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = com.logichaintwo.enums.NotificationStatus.PENDING, "
+            + "n.claimedBy = NULL, n.claimedAt = NULL "
+            + "WHERE n.status = com.logichaintwo.enums.NotificationStatus.SENDING AND n.claimedAt < :before")
+    int releaseExpiredClaims(@Param("before") LocalDateTime before);
+}
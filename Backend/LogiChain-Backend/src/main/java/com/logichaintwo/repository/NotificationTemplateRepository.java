@@ -1,7 +1,17 @@
 package com.logichaintwo.repository;
 
 import com.logichaintwo.entities.NotificationTemplate;
+import com.logichaintwo.repository.projection.TemplateVersionView;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, Long> {
-}
\ No newline at end of file
+    Optional<NotificationTemplate> findByTemplateName(String templateName);
+
+    @Query("SELECT t.templateName AS templateName, t.updatedAt AS updatedAt FROM NotificationTemplate t")
+    List<TemplateVersionView> findAllVersions();
+}
@@ -1,9 +1,22 @@
 package com.logichaintwo.repository;
 
 import com.logichaintwo.entities.OrderItem;
+import com.logichaintwo.repository.projection.OrderWeightView;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    @Query("SELECT oi FROM OrderItem oi LEFT JOIN FETCH oi.product WHERE oi.orderId = :orderId ORDER BY oi.id")
+    List<OrderItem> findWithProductByOrderId(@Param("orderId") Long orderId);
+
+    @Query("SELECT oi.orderId AS orderId, SUM(oi.quantity * p.weight) AS weight "
+            + "FROM OrderItem oi JOIN oi.product p WHERE oi.orderId IN :orderIds GROUP BY oi.orderId")
+    List<OrderWeightView> sumWeightByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
\ No newline at end of file
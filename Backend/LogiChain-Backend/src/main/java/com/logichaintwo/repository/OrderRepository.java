@@ -1,13 +1,22 @@
 package com.logichaintwo.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.logichaintwo.entities.Order;
+import com.logichaintwo.enums.OrderStatus;
+import com.logichaintwo.enums.PaymentStatus;
+import com.logichaintwo.repository.projection.OrderHistoryView;
+import com.logichaintwo.repository.projection.OrderStatusView;
+import com.logichaintwo.repository.projection.OrderSummaryView;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByCustomerId(Long customerId);
@@ -16,4 +25,51 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer WHERE o.id = :id")
     Optional<Order> findByIdWithCustomer(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // Order, customer, shipment, carrier and the shipment timeline in one statement
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.customer LEFT JOIN FETCH o.shipment s "
+            + "LEFT JOIN FETCH s.carrier LEFT JOIN FETCH s.events WHERE o.id = :id")
+    Optional<Order> findDetailsById(@Param("id") Long id);
+
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.orderDate AS orderDate, "
+            + "o.orderStatus AS orderStatus, o.totalAmount AS totalAmount FROM Order o "
+            + "WHERE o.customerId = :customerId ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderHistoryView> findHistoryByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    // The page after (beforeDate, beforeId), walking idx_orders_customer_date_id backwards
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.orderDate AS orderDate, "
+            + "o.orderStatus AS orderStatus, o.totalAmount AS totalAmount FROM Order o "
+            + "WHERE o.customerId = :customerId AND (o.orderDate < :beforeDate "
+            + "OR (o.orderDate = :beforeDate AND o.id < :beforeId)) ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderHistoryView> findHistoryByCustomerIdBefore(@Param("customerId") Long customerId,
+                                                         @Param("beforeDate") LocalDateTime beforeDate,
+                                                         @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT o.id AS orderId, COUNT(oi.id) AS itemCount, COALESCE(SUM(oi.quantity), 0) AS unitCount, "
+            + "s.shipmentStatus AS shipmentStatus FROM Order o "
+            + "LEFT JOIN OrderItem oi ON oi.orderId = o.id LEFT JOIN Shipment s ON s.orderId = o.id "
+            + "WHERE o.id IN :ids GROUP BY o.id, s.shipmentStatus")
+    List<OrderSummaryView> summarize(@Param("ids") Collection<Long> ids);
+
+    // Locks the orders behind the given returns, so receipts for one order are checked one at a time
+    @Query(value = "SELECT o.id FROM orders o JOIN returns r ON r.order_id = o.id WHERE r.id IN (:returnIds) "
+            + "ORDER BY o.id FOR UPDATE OF o", nativeQuery = true)
+    List<Long> lockByReturnIds(@Param("returnIds") Collection<Long> returnIds);
+
+    // Locks the rows so the guarded updates that follow see exactly these statuses
+    @Query(value = "SELECT id AS id, order_status AS orderStatus FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<OrderStatusView> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = :next WHERE o.id IN :ids AND o.orderStatus = :expected")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expected") OrderStatus expected,
+                         @Param("next") OrderStatus next);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentStatus = :status "
+            + "WHERE o.id IN (SELECT r.orderId FROM Return r WHERE r.id IN :returnIds)")
+    int updatePaymentStatusByReturnIds(@Param("returnIds") Collection<Long> returnIds,
+                                       @Param("status") PaymentStatus status);
+}
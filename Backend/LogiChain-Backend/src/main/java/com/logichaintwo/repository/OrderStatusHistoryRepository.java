@@ -0,0 +1,28 @@
+package com.logichaintwo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.OrderStatusHistory;
+
+public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistory, Long> {
+    List<OrderStatusHistory> findByOrderIdOrderByIdAsc(Long orderId);
+
+    // One history row per order in a bulk transition, written in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO order_status_history (order_id, from_status, to_status, changed_by, note, changed_at) "
+            + "SELECT o.id, :fromStatus, :toStatus, :changedBy, :note, :at FROM orders o WHERE o.id IN (:orderIds)",
+            nativeQuery = true)
+    int appendAll(@Param("orderIds") Collection<Long> orderIds,
+                  @Param("fromStatus") String fromStatus,
+                  @Param("toStatus") String toStatus,
+                  @Param("changedBy") Long changedBy,
+                  @Param("note") String note,
+                  @Param("at") LocalDateTime at);
+}
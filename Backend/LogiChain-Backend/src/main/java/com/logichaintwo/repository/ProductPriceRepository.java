@@ -0,0 +1,67 @@
+package com.logichaintwo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.ProductPrice;
+import com.logichaintwo.repository.projection.PriceBoundaryView;
+
+import jakarta.persistence.LockModeType;
+
+public interface ProductPriceRepository extends JpaRepository<ProductPrice, Long> {
+    List<ProductPrice> findByProductIdOrderByEffectiveFromDesc(Long productId);
+
+    Optional<ProductPrice> findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDesc(
+            Long productId, LocalDateTime at);
+
+    Optional<ProductPrice> findFirstByProductIdAndEffectiveFromLessThanOrderByEffectiveFromDesc(
+            Long productId, LocalDateTime at);
+
+    Optional<ProductPrice> findFirstByProductIdAndEffectiveFromGreaterThanOrderByEffectiveFromAsc(
+            Long productId, LocalDateTime at);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pp FROM ProductPrice pp WHERE pp.applied = false AND pp.effectiveFrom <= :now "
+            + "ORDER BY pp.effectiveFrom, pp.id")
+    List<ProductPrice> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT MIN(pp.effectiveFrom) FROM ProductPrice pp WHERE pp.applied = false")
+    LocalDateTime findNextPendingFrom();
+
+    // Start of the earliest version after the given time, per product
+    @Query("SELECT pp.productId AS productId, MIN(pp.effectiveFrom) AS effectiveFrom FROM ProductPrice pp "
+            + "WHERE pp.productId IN :productIds AND pp.effectiveFrom > :at GROUP BY pp.productId")
+    List<PriceBoundaryView> findNextStarts(@Param("productIds") Collection<Long> productIds,
+                                           @Param("at") LocalDateTime at);
+
+    // Ends whichever version covers the given time
+    @Modifying
+    @Query("UPDATE ProductPrice pp SET pp.effectiveTo = :at WHERE pp.productId IN :productIds "
+            + "AND pp.effectiveFrom <= :at AND (pp.effectiveTo IS NULL OR pp.effectiveTo > :at)")
+    int closeCurrent(@Param("productIds") Collection<Long> productIds, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE ProductPrice pp SET pp.applied = true WHERE pp.id IN :ids")
+    int markApplied(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ProductPrice pp WHERE pp.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+
+    // Gives products that predate price history an open version at their current price
+    @Modifying
+    @Query(value = "INSERT INTO product_price (product_id, price, effective_from, effective_to, applied, created_by, "
+            + "created_at) "
+            + "SELECT p.id, p.price, COALESCE(p.created_at, NOW()), NULL, TRUE, p.created_by, NOW() FROM product p "
+            + "WHERE NOT EXISTS (SELECT 1 FROM product_price pp WHERE pp.product_id = p.id)", nativeQuery = true)
+    int anchorUnversioned();
+}
@@ -1,13 +1,58 @@
 package com.logichaintwo.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.logichaintwo.entities.Product;
+import com.logichaintwo.repository.projection.CurrentPriceView;
+import com.logichaintwo.repository.projection.ProductTextView;
+
+import jakarta.persistence.LockModeType;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     boolean existsBySku(String sku);
     List<Product> findByCreatedBy(Long userId);
     boolean existsByCreatedBy(Long userId); 
-}
\ No newline at end of file
+
+    // Categories are stored normalised (CategoryFacetIndex.toStored), so both pages walk the (category, id) index
+    @Query("SELECT p FROM Product p WHERE p.category = :category AND p.id > :afterId ORDER BY p.id")
+    List<Product> findCategoryPage(@Param("category") String category, @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.category IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<Product> findUncategorizedPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Only while the product still points at the image the hash was computed from
+    @Modifying
+    @Query("UPDATE Product p SET p.imageHash = :imageHash WHERE p.id = :id "
+            + "AND (p.imageUrl = :imageUrl OR (p.imageUrl IS NULL AND :imageUrl IS NULL))")
+    int updateImageHash(@Param("id") Long id, @Param("imageHash") String imageHash,
+                        @Param("imageUrl") String imageUrl);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.price = :price, p.updatedAt = :at WHERE p.id = :id")
+    int updatePrice(@Param("id") Long id, @Param("price") BigDecimal price, @Param("at") LocalDateTime at);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p.id AS productId, p.price AS price FROM Product p")
+    List<CurrentPriceView> findAllPrices();
+
+    @Query("SELECT p.weight FROM Product p WHERE p.id = :id")
+    Double findWeightById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.sku AS sku, p.name AS name, p.description AS description, "
+            + "p.category AS category FROM Product p")
+    List<ProductTextView> findAllText();
+}
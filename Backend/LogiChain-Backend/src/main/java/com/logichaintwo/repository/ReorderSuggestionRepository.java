@@ -0,0 +1,14 @@
+package com.logichaintwo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.logichaintwo.entities.ReorderSuggestion;
+
+public interface ReorderSuggestionRepository extends JpaRepository<ReorderSuggestion, Long> {
+    List<ReorderSuggestion> findByWarehouseIdOrderBySuggestedQuantityDesc(Long warehouseId);
+    List<ReorderSuggestion> findAllByOrderBySuggestedQuantityDesc();
+    List<ReorderSuggestion> findBySuggestedQuantityGreaterThanOrderBySuggestedQuantityDesc(Integer quantity);
+    List<ReorderSuggestion> findByWarehouseIdAndSuggestedQuantityGreaterThanOrderBySuggestedQuantityDesc(Long warehouseId, Integer quantity);
+}
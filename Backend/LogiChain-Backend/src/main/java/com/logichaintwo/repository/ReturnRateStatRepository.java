@@ -0,0 +1,14 @@
+package com.logichaintwo.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.logichaintwo.entities.ReturnRateStat;
+
+public interface ReturnRateStatRepository extends JpaRepository<ReturnRateStat, Long> {
+    List<ReturnRateStat> findByScopeAndWindowDaysAndUnitsSoldGreaterThanEqualOrderByReturnRateDesc(
+            String scope, Integer windowDays, Long minUnitsSold, Pageable pageable);
+    List<ReturnRateStat> findByScopeAndWindowDaysOrderByReturnRateDesc(String scope, Integer windowDays);
+}
@@ -0,0 +1,11 @@
+package com.logichaintwo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.logichaintwo.entities.ReturnReasonCluster;
+
+public interface ReturnReasonClusterRepository extends JpaRepository<ReturnReasonCluster, Long> {
+    List<ReturnReasonCluster> findAllByOrderByReturnCountDesc();
+}
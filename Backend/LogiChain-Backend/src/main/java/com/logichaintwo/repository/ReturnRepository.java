@@ -1,9 +1,59 @@
 package com.logichaintwo.repository;
 
-import com.logichaintwo.entities.Return;
-import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.Return;
+import com.logichaintwo.enums.ReturnStatus;
+import com.logichaintwo.repository.projection.RestockLineView;
+import com.logichaintwo.repository.projection.ReturnRecipientView;
+import com.logichaintwo.repository.projection.ReturnSiblingView;
+import com.logichaintwo.repository.projection.ReturnStatusView;
+
 public interface ReturnRepository extends JpaRepository<Return, Long> {
     List<Return> findByOrderId(Long orderId);
-}
\ No newline at end of file
+    List<Return> findByOrderIdOrderByIdAsc(Long orderId);
+
+    List<Return> findByReturnStatusAndIdGreaterThanOrderByIdAsc(ReturnStatus returnStatus, Long afterId,
+                                                               Pageable pageable);
+
+    // Locks the rows so the guarded updates that follow see exactly these statuses
+    @Query(value = "SELECT id AS id, return_status AS returnStatus FROM returns WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<ReturnStatusView> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Return r SET r.returnStatus = :next, r.processedBy = :processedBy, r.processedAt = :at, "
+            + "r.processingNotes = COALESCE(:note, r.processingNotes), r.updatedAt = :at "
+            + "WHERE r.id IN :ids AND r.returnStatus = :expected")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expected") ReturnStatus expected,
+                         @Param("next") ReturnStatus next,
+                         @Param("processedBy") Long processedBy,
+                         @Param("note") String note,
+                         @Param("at") LocalDateTime at);
+
+    // Units to put back per return and product, with the warehouse the order shipped from
+    @Query("SELECT r.id AS returnId, oi.productId AS productId, s.warehouseId AS warehouseId, "
+            + "SUM(oi.quantity) AS quantity FROM Return r JOIN OrderItem oi ON oi.orderId = r.orderId "
+            + "LEFT JOIN Shipment s ON s.orderId = r.orderId WHERE r.id IN :ids "
+            + "GROUP BY r.id, oi.productId, s.warehouseId")
+    List<RestockLineView> findRestockLines(@Param("ids") Collection<Long> ids);
+
+    // Every return on the same orders as the given ones, read current rather than from the snapshot
+    @Query(value = "SELECT r.id AS id, r.order_id AS orderId, r.return_status AS returnStatus FROM returns r "
+            + "WHERE r.order_id IN (SELECT x.order_id FROM returns x WHERE x.id IN (:ids)) ORDER BY r.id FOR SHARE",
+            nativeQuery = true)
+    List<ReturnSiblingView> findSiblingsForShare(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id AS returnId, o.customerId AS customerId, o.id AS orderId, r.returnNumber AS returnNumber "
+            + "FROM Return r JOIN Order o ON o.id = r.orderId WHERE r.id IN :ids ORDER BY r.id")
+    List<ReturnRecipientView> findRecipients(@Param("ids") Collection<Long> ids);
+}
@@ -6,4 +6,5 @@ import java.util.List;
 
 public interface ShipmentEventRepository extends JpaRepository<ShipmentEvent, Long> {
     List<ShipmentEvent> findByShipmentId(Long shipmentId);
-}
\ No newline at end of file
+    List<ShipmentEvent> findByShipmentIdOrderByEventTimestampAsc(Long shipmentId);
+}
@@ -1,13 +1,58 @@
 package com.logichaintwo.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.enums.ShipmentStatus;
+import com.logichaintwo.repository.projection.CarrierLoadView;
+import com.logichaintwo.repository.projection.ShipmentDispatchView;
 
 public interface ShipmentRepository extends JpaRepository<Shipment, Long> {
     Shipment findByOrderId(Long orderId);
     boolean existsByOrderId(Long orderId);
     Optional<Shipment> findByTrackingNumber(String trackingNumber);
-}
\ No newline at end of file
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.shipmentStatus = :next, "
+            + "s.currentLocation = COALESCE(:location, s.currentLocation), "
+            + "s.actualDeliveryDate = COALESCE(:deliveredAt, s.actualDeliveryDate), "
+            + "s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.version = :version AND s.shipmentStatus = :expected")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("version") Long version,
+                            @Param("expected") ShipmentStatus expected,
+                            @Param("next") ShipmentStatus next,
+                            @Param("location") String location,
+                            @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @Query("SELECT s.id AS id, s.orderId AS orderId, s.carrierId AS carrierId FROM Shipment s "
+            + "WHERE s.warehouseId = :warehouseId AND s.shipmentStatus = :status "
+            + "AND (:includeAssigned = true OR s.carrierId IS NULL)")
+    List<ShipmentDispatchView> findDispatchCandidates(@Param("warehouseId") Long warehouseId,
+                                                      @Param("status") ShipmentStatus status,
+                                                      @Param("includeAssigned") boolean includeAssigned);
+
+    @Query("SELECT s.carrierId AS carrierId, COUNT(s) AS openShipments FROM Shipment s "
+            + "WHERE s.carrierId IS NOT NULL AND s.shipmentStatus IN :statuses GROUP BY s.carrierId")
+    List<CarrierLoadView> countOpenShipmentsByCarrier(@Param("statuses") Collection<ShipmentStatus> statuses);
+
+    // Only rows still on the carrier the wave planned from (0 for none) move, so a manual assignment wins
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shipment s SET s.carrierId = :carrierId, s.version = s.version + 1 "
+            + "WHERE s.id IN :ids AND s.shipmentStatus = :status AND COALESCE(s.carrierId, 0) = :expectedCarrierId")
+    int assignCarrier(@Param("carrierId") Long carrierId,
+                      @Param("ids") Collection<Long> ids,
+                      @Param("status") ShipmentStatus status,
+                      @Param("expectedCarrierId") Long expectedCarrierId);
+
+    @Query("SELECT s.id FROM Shipment s WHERE s.id IN :ids AND s.carrierId = :carrierId")
+    List<Long> findIdsAssignedTo(@Param("carrierId") Long carrierId, @Param("ids") Collection<Long> ids);
+}
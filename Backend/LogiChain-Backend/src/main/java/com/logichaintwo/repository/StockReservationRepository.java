@@ -0,0 +1,35 @@
+package com.logichaintwo.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.logichaintwo.entities.StockReservation;
+import com.logichaintwo.enums.ReservationStatus;
+import com.logichaintwo.repository.projection.ReservationDeadlineView;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+    List<StockReservation> findByInventoryIdAndStatus(Long inventoryId, ReservationStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.id IN :ids AND r.status = :status ORDER BY r.id")
+    List<StockReservation> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+                                                       @Param("status") ReservationStatus status);
+
+    @Query("SELECT r.id AS id, r.expiresAt AS expiresAt FROM StockReservation r "
+            + "WHERE r.status = :status AND r.id > :afterId ORDER BY r.id")
+    List<ReservationDeadlineView> findDeadlinesAfter(@Param("status") ReservationStatus status,
+                                                     @Param("afterId") long afterId, Pageable pageable);
+}
@@ -1,5 +1,6 @@
 package com.logichaintwo.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.logichaintwo.entities.User;
+import com.logichaintwo.enums.Role;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
@@ -15,4 +17,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     @Query("SELECT COUNT(o) > 0 FROM Order o WHERE o.customer.id = :userId")
     boolean hasOrders(@Param("userId") Long userId);
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") Role role);
 }
\ No newline at end of file
@@ -1,7 +1,64 @@
 package com.logichaintwo.repository;
 
 import com.logichaintwo.entities.Warehouse;
+import com.logichaintwo.repository.projection.WarehouseHoldingView;
+
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
-}
\ No newline at end of file
+
+    // Only applies when the warehouse stays within capacity; returns 0 otherwise
+    @Modifying
+    @Query("UPDATE Warehouse w SET w.usedCapacity = w.usedCapacity + :delta "
+            + "WHERE w.id = :id AND w.usedCapacity + :delta <= w.capacity")
+    int addUsedCapacityWithinLimit(@Param("id") Long id, @Param("delta") double delta);
+
+    @Modifying
+    @Query("UPDATE Warehouse w SET w.usedCapacity = CASE WHEN w.usedCapacity + :delta < 0 THEN 0 "
+            + "ELSE w.usedCapacity + :delta END WHERE w.id = :id")
+    int addUsedCapacity(@Param("id") Long id, @Param("delta") double delta);
+
+    @Modifying
+    @Query(value = "UPDATE warehouse w JOIN inventory i ON i.warehouse_id = w.id "
+            + "SET w.used_capacity = GREATEST(0, w.used_capacity + i.quantity * :weightDelta) "
+            + "WHERE i.product_id = :productId", nativeQuery = true)
+    int applyProductWeightChange(@Param("productId") Long productId, @Param("weightDelta") double weightDelta);
+
+    // Heavier products: only warehouses that stay within capacity change; compare with countHolding
+    @Modifying
+    @Query(value = "UPDATE warehouse w JOIN inventory i ON i.warehouse_id = w.id "
+            + "SET w.used_capacity = w.used_capacity + i.quantity * :weightDelta "
+            + "WHERE i.product_id = :productId AND i.quantity > 0 "
+            + "AND w.used_capacity + i.quantity * :weightDelta <= w.capacity", nativeQuery = true)
+    int applyProductWeightIncreaseWithinLimit(@Param("productId") Long productId,
+                                              @Param("weightDelta") double weightDelta);
+
+    @Query(value = "SELECT COUNT(*) FROM inventory i WHERE i.product_id = :productId AND i.quantity > 0",
+            nativeQuery = true)
+    long countHolding(@Param("productId") Long productId);
+
+    @Query(value = "SELECT w.code FROM warehouse w JOIN inventory i ON i.warehouse_id = w.id "
+            + "WHERE i.product_id = :productId AND i.quantity > 0 "
+            + "AND w.used_capacity + i.quantity * :weightDelta > w.capacity ORDER BY w.code", nativeQuery = true)
+    List<String> findCodesOverflowingOnWeightChange(@Param("productId") Long productId,
+                                                    @Param("weightDelta") double weightDelta);
+
+    // Every warehouse holding the products, locked so the capacity read stays true until commit
+    @Query(value = "SELECT i.product_id AS productId, w.id AS warehouseId, w.code AS code, i.quantity AS quantity, "
+            + "w.used_capacity AS usedCapacity, w.capacity AS capacity FROM inventory i "
+            + "JOIN warehouse w ON w.id = i.warehouse_id WHERE i.product_id IN (:productIds) AND i.quantity > 0 "
+            + "ORDER BY w.id FOR UPDATE OF w", nativeQuery = true)
+    List<WarehouseHoldingView> lockHoldings(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying
+    @Query(value = "UPDATE warehouse w SET w.used_capacity = COALESCE((SELECT SUM(i.quantity * p.weight) "
+            + "FROM inventory i JOIN product p ON p.id = i.product_id WHERE i.warehouse_id = w.id), 0)",
+            nativeQuery = true)
+    int recalculateUsedCapacity();
+}
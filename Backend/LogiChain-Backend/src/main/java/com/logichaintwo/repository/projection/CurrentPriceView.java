@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface CurrentPriceView {
+    Long getProductId();
+    BigDecimal getPrice();
+}
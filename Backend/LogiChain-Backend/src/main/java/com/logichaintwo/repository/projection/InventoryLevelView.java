@@ -0,0 +1,9 @@
+package com.logichaintwo.repository.projection;
+
+public interface InventoryLevelView {
+    Long getId();
+    Long getProductId();
+    Long getWarehouseId();
+    Integer getQuantity();
+    Integer getReservedQuantity();
+}
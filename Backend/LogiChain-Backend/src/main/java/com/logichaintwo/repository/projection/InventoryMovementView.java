@@ -0,0 +1,12 @@
+package com.logichaintwo.repository.projection;
+
+import com.logichaintwo.enums.TransactionType;
+
+public interface InventoryMovementView {
+    Long getId();
+    Long getInventoryId();
+    Long getProductId();
+    Long getWarehouseId();
+    TransactionType getTransactionType();
+    Integer getQuantityChanged();
+}
@@ -0,0 +1,9 @@
+package com.logichaintwo.repository.projection;
+
+import com.logichaintwo.enums.TransactionType;
+
+public interface LedgerTotalView {
+    TransactionType getTransactionType();
+    Long getQuantity();
+    Long getEntries();
+}
@@ -0,0 +1,14 @@
+package com.logichaintwo.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.logichaintwo.enums.OrderStatus;
+
+public interface OrderHistoryView {
+    Long getId();
+    String getOrderNumber();
+    LocalDateTime getOrderDate();
+    OrderStatus getOrderStatus();
+    BigDecimal getTotalAmount();
+}
@@ -0,0 +1,6 @@
+package com.logichaintwo.repository.projection;
+
+public interface OrderStatusView {
+    Long getId();
+    String getOrderStatus();
+}
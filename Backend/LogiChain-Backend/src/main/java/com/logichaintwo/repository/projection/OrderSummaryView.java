@@ -0,0 +1,10 @@
+package com.logichaintwo.repository.projection;
+
+import com.logichaintwo.enums.ShipmentStatus;
+
+public interface OrderSummaryView {
+    Long getOrderId();
+    Long getItemCount();
+    Long getUnitCount();
+    ShipmentStatus getShipmentStatus();
+}
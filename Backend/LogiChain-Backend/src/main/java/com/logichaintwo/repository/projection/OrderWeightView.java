@@ -0,0 +1,6 @@
+package com.logichaintwo.repository.projection;
+
+public interface OrderWeightView {
+    Long getOrderId();
+    Double getWeight();
+}
@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface PriceBoundaryView {
+    Long getProductId();
+    LocalDateTime getEffectiveFrom();
+}
@@ -0,0 +1,7 @@
+package com.logichaintwo.repository.projection;
+
+public interface ProductStockView {
+    Long getProductId();
+    Long getTotalStock();
+    Long getReservedStock();
+}
@@ -0,0 +1,9 @@
+package com.logichaintwo.repository.projection;
+
+public interface ProductTextView {
+    Long getId();
+    String getSku();
+    String getName();
+    String getDescription();
+    String getCategory();
+}
@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ReservationDeadlineView {
+    Long getId();
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+public interface RestockLineView {
+    Long getReturnId();
+    Long getProductId();
+    Long getWarehouseId();
+    Long getQuantity();
+}
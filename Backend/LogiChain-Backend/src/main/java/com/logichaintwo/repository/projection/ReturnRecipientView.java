@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+public interface ReturnRecipientView {
+    Long getReturnId();
+    Long getCustomerId();
+    Long getOrderId();
+    String getReturnNumber();
+}
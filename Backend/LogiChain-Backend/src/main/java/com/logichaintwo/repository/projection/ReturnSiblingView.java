@@ -0,0 +1,7 @@
+package com.logichaintwo.repository.projection;
+
+public interface ReturnSiblingView {
+    Long getId();
+    Long getOrderId();
+    String getReturnStatus();
+}
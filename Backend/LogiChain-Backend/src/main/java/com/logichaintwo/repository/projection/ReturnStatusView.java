@@ -0,0 +1,6 @@
+package com.logichaintwo.repository.projection;
+
+public interface ReturnStatusView {
+    Long getId();
+    String getReturnStatus();
+}
@@ -0,0 +1,7 @@
+package com.logichaintwo.repository.projection;
+
+public interface ShipmentDispatchView {
+    Long getId();
+    Long getOrderId();
+    Long getCarrierId();
+}
@@ -0,0 +1,8 @@
+package com.logichaintwo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface TemplateVersionView {
+    String getTemplateName();
+    LocalDateTime getUpdatedAt();
+}
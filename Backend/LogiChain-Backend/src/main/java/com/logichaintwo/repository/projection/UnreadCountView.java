@@ -0,0 +1,6 @@
+package com.logichaintwo.repository.projection;
+
+public interface UnreadCountView {
+    Long getUserId();
+    Long getUnread();
+}
@@ -0,0 +1,10 @@
+package com.logichaintwo.repository.projection;
+
+public interface WarehouseHoldingView {
+    Long getProductId();
+    Long getWarehouseId();
+    String getCode();
+    Integer getQuantity();
+    Double getUsedCapacity();
+    Integer getCapacity();
+}
@@ -38,7 +38,8 @@ public class SecurityConfig {
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth.requestMatchers("/auth/**").permitAll()
 						.requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-						.requestMatchers(HttpMethod.GET, "/products/**").permitAll().requestMatchers(HttpMethod.OPTIONS)
+						.requestMatchers(HttpMethod.GET, "/products/**").permitAll()
+						.requestMatchers(HttpMethod.GET, "/media/**").permitAll().requestMatchers(HttpMethod.OPTIONS)
 						.permitAll().requestMatchers("/admin/**").hasRole("ADMIN").requestMatchers("/warehouse/**")
 						.hasAnyRole("ADMIN", "WAREHOUSE_MANAGER").requestMatchers("/support/**")
 						.hasAnyRole("ADMIN", "CUSTOMER_SUPPORT").anyRequest().authenticated())
@@ -0,0 +1,142 @@
+package com.logichaintwo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.logichaintwo.dto.CategoryFacetDTO;
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.event.ProductStockChangedEvent;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.projection.ProductTextView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-category product and in-stock counts, adjusted by one on each product or stock
+ * change instead of being recounted. A product is in stock when its available units
+ * summed over all warehouses are positive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CategoryFacetIndex {
+    public static final String UNCATEGORIZED = "Uncategorized";
+
+    private final ProductRepository productRepo;
+    private final InventoryRepository inventoryRepo;
+    private final InventoryAvailabilityIndex availabilityIndex;
+
+    // All guarded by this
+    private final Map<Long, String> categoryByProduct = new HashMap<>();
+    private final Set<Long> inStock = new HashSet<>();
+    private final Map<String, long[]> counts = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductTextView> products = productRepo.findAllText();
+        Set<Long> stocked = new HashSet<>(inventoryRepo.findInStockProductIds());
+        synchronized (this) {
+            categoryByProduct.clear();
+            inStock.clear();
+            counts.clear();
+            for (ProductTextView product : products) {
+                add(product.getId(), normalize(product.getCategory()), stocked.contains(product.getId()));
+            }
+        }
+        log.info("Category facets built: {} categories over {} products", counts.size(), products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Long productId = event.productId();
+        boolean stocked = inStock.contains(productId);
+        remove(productId);
+        if (!event.deleted()) {
+            add(productId, normalize(event.category()), stocked);
+        }
+    }
+
+    @EventListener
+    public synchronized void onStockChanged(ProductStockChangedEvent event) {
+        for (Long productId : event.productIds()) {
+            String category = categoryByProduct.get(productId);
+            if (category == null) {
+                continue;
+            }
+            boolean stocked = availabilityIndex.availableTotal(productId) > 0;
+            if (stocked == inStock.contains(productId)) {
+                continue;
+            }
+            if (stocked) {
+                inStock.add(productId);
+            } else {
+                inStock.remove(productId);
+            }
+            counts.get(category)[1] += stocked ? 1 : -1;
+        }
+    }
+
+    public synchronized List<CategoryFacetDTO> getFacets() {
+        List<CategoryFacetDTO> facets = new ArrayList<>(counts.size());
+        counts.forEach((category, count) -> facets.add(CategoryFacetDTO.builder()
+                .category(category)
+                .productCount(count[0])
+                .inStockCount(count[1])
+                .build()));
+        facets.sort(Comparator.comparingLong(CategoryFacetDTO::getProductCount).reversed()
+                .thenComparing(CategoryFacetDTO::getCategory));
+        return facets;
+    }
+
+    private void add(Long productId, String category, boolean stocked) {
+        categoryByProduct.put(productId, category);
+        long[] count = counts.computeIfAbsent(category, k -> new long[2]);
+        count[0]++;
+        if (stocked) {
+            inStock.add(productId);
+            count[1]++;
+        }
+    }
+
+    private void remove(Long productId) {
+        String category = categoryByProduct.remove(productId);
+        if (category == null) {
+            return;
+        }
+        long[] count = counts.get(category);
+        count[0]--;
+        if (inStock.remove(productId)) {
+            count[1]--;
+        }
+        if (count[0] == 0) {
+            counts.remove(category);
+        }
+    }
+
+    /*
+     * The form categories are stored in: trimmed, with blank and "Uncategorized" stored as NULL,
+     * so browsing a category is a plain lookup on the (category, id) index.
+     */
+    public static String toStored(String category) {
+        if (category == null || category.isBlank() || UNCATEGORIZED.equalsIgnoreCase(category.trim())) {
+            return null;
+        }
+        return category.trim();
+    }
+
+    private static String normalize(String category) {
+        return category != null && !category.isBlank() ? category.trim() : UNCATEGORIZED;
+    }
+}
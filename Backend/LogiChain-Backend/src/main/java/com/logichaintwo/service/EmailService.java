@@ -1,8 +1,11 @@
 package com.logichaintwo.service;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.logichaintwo.service.NotificationTemplateEngine.CompiledTemplate;
 import com.resend.Resend;
 import com.resend.core.exception.ResendException;
 import com.resend.services.emails.model.CreateEmailOptions;
@@ -36,8 +39,29 @@ public class EmailService {
         }
     }
 
+    public void sendNotificationEmail(String toEmail, String subject, String htmlContent) throws ResendException {
+        Resend resend = new Resend(resendApiKey);
+
+        CreateEmailOptions params = CreateEmailOptions.builder()
+            .from(fromEmail)
+            .to(toEmail)
+            .subject(subject)
+            .html(htmlContent)
+            .build();
+
+        CreateEmailResponse response = resend.emails().send(params);
+
+        if (response == null) {
+            throw new ResendException("Failed to send email");
+        }
+    }
+
     private String buildEmailTemplate(String otp) {
-        return String.format("""
+        return OTP_TEMPLATE.render(Map.of("otp", otp));
+    }
+
+    // Parsed once; rendering copies the literal parts around the code instead of re-parsing a format string
+    private static final CompiledTemplate OTP_TEMPLATE = CompiledTemplate.compile("""
             <!DOCTYPE html>
             <html>
             <head>
@@ -71,12 +95,11 @@ public class EmailService {
                     <h2>Password Reset Request</h2>
                     <p>Hello,</p>
                     <p>You requested to reset your password. Use the OTP below:</p>
-                    <div class="otp-code">%s</div>
+                    <div class="otp-code">{{otp}}</div>
                     <p><strong>This OTP will expire in 5 minutes.</strong></p>
                     <p>If you didn't request this, please ignore this email.</p>
                 </div>
             </body>
             </html>
-            """, otp);
-    }
+            """);
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.logichaintwo.service;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of long ids. Each slot covers one tick and keeps its entries in
+ * parallel primitive arrays tagged with the absolute tick they are due on, so an entry
+ * several laps ahead simply stays put until the cursor reaches its tick. Scheduling is
+ * O(1) and advancing touches only the slots the cursor passes.
+ */
+public final class HashedTimingWheel {
+    private final long tickMillis;
+    private final long originMillis;
+    private final int mask;
+    private final Slot[] slots;
+
+    // Next tick to expire; guarded by this
+    private long cursor;
+    private int size;
+
+    public HashedTimingWheel(long tickMillis, int slotCount, long originMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive");
+        }
+        int capacity = Integer.highestOneBit(slotCount - 1 > 0 ? slotCount - 1 : 1) << 1;
+        this.tickMillis = tickMillis;
+        this.originMillis = originMillis;
+        this.mask = capacity - 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    // Deadlines already in the past land on the next tick to expire
+    public synchronized void schedule(long id, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis - originMillis + tickMillis - 1, tickMillis), cursor);
+        slots[(int) (tick & mask)].add(id, tick);
+        size++;
+    }
+
+    // Removes and returns every id due at or before nowMillis
+    public synchronized long[] advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        if (target < cursor) {
+            return new long[0];
+        }
+        Slot expired = new Slot();
+        // After a full lap every slot has been visited, however long the wheel was idle
+        long last = Math.min(target, cursor + slots.length - 1);
+        for (long tick = cursor; tick <= last; tick++) {
+            slots[(int) (tick & mask)].drainDue(target, expired);
+        }
+        cursor = target + 1;
+        size -= expired.size;
+        return Arrays.copyOf(expired.ids, expired.size);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static final class Slot {
+        private long[] ids = new long[4];
+        private long[] ticks = new long[4];
+        private int size;
+
+        private void add(long id, long tick) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                ticks = Arrays.copyOf(ticks, size * 2);
+            }
+            ids[size] = id;
+            ticks[size] = tick;
+            size++;
+        }
+
+        // Compacts the slot in place, moving due entries into the sink
+        private void drainDue(long target, Slot sink) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ticks[i] <= target) {
+                    sink.add(ids[i], ticks[i]);
+                } else {
+                    ids[kept] = ids[i];
+                    ticks[kept] = ticks[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            // Give memory back after a burst of short-lived holds
+            if (ids.length > 64 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(4, ids.length / 2));
+                ticks = Arrays.copyOf(ticks, Math.max(4, ticks.length / 2));
+            }
+        }
+    }
+}
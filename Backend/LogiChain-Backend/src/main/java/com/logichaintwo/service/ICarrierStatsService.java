@@ -0,0 +1,13 @@
+package com.logichaintwo.service;
+
+import java.util.List;
+
+import com.logichaintwo.dto.CarrierStatsDTO;
+import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.enums.ShipmentStatus;
+
+public interface ICarrierStatsService {
+    void recordTransition(Shipment shipment, ShipmentStatus from, ShipmentStatus to);
+    CarrierStatsDTO getStats(Long carrierId);
+    List<CarrierStatsDTO> getLeaderboard(int limit, long minDelivered);
+}
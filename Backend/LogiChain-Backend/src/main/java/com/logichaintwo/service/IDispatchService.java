@@ -0,0 +1,7 @@
+package com.logichaintwo.service;
+
+import com.logichaintwo.dto.DispatchResultDTO;
+
+public interface IDispatchService {
+    DispatchResultDTO dispatch(Long warehouseId, boolean includeAssigned);
+}
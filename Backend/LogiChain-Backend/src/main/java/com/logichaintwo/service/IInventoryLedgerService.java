@@ -0,0 +1,20 @@
+package com.logichaintwo.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.logichaintwo.dto.InventoryBalanceDTO;
+import com.logichaintwo.dto.InventoryLedgerPageDTO;
+import com.logichaintwo.entities.InventoryTransaction;
+import com.logichaintwo.enums.TransactionType;
+
+public interface IInventoryLedgerService {
+    void record(Long inventoryId, TransactionType type, int quantity, Long referenceId);
+    void recordAll(List<InventoryTransaction> entries);
+    void recordChange(Long inventoryId, int quantityDelta, int reservedDelta, Long referenceId);
+    InventoryLedgerPageDTO getHistory(Long inventoryId, Long afterId, int size);
+    InventoryBalanceDTO getBalanceAt(Long inventoryId, LocalDateTime at);
+    InventoryBalanceDTO getBalanceAt(Long productId, Long warehouseId, LocalDateTime at);
+    int takeSnapshots();
+    void forget(Long inventoryId);
+}
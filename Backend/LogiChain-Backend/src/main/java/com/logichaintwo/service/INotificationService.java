@@ -1,13 +1,19 @@
 package com.logichaintwo.service;
 
 import com.logichaintwo.dto.NotificationDTO;
+import com.logichaintwo.dto.NotificationInboxPageDTO;
 import com.logichaintwo.entities.Notification;
+import java.util.Collection;
 import java.util.List;
 
 public interface INotificationService {
     List<NotificationDTO> getAll();
     NotificationDTO getById(Long id);
     List<NotificationDTO> getByUserId(Long userId);
+    NotificationInboxPageDTO getInbox(Long userId, Long beforeId, int size, boolean unreadOnly);
+    long getUnreadCount(Long userId);
+    int markRead(Long userId, Collection<Long> notificationIds);
+    int markAllRead(Long userId);
     NotificationDTO save(Notification notification);
     void delete(Long id);
-}
\ No newline at end of file
+}
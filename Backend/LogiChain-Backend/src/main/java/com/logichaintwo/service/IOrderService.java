@@ -1,14 +1,25 @@
 package com.logichaintwo.service;
 
+import com.logichaintwo.dto.BulkOrderStatusRequest;
+import com.logichaintwo.dto.BulkOrderStatusResultDTO;
 import com.logichaintwo.dto.OrderDTO;
+import com.logichaintwo.dto.OrderDetailsDTO;
+import com.logichaintwo.dto.OrderHistoryPageDTO;
+import com.logichaintwo.dto.OrderStatusHistoryDTO;
 import com.logichaintwo.entities.Order;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface IOrderService {
     List<OrderDTO> getAll();
     OrderDTO getById(Long id);
+    OrderDetailsDTO getDetails(Long id);
     List<OrderDTO> getByCustomerId(Long customerId);
+    OrderHistoryPageDTO getHistory(Long customerId, LocalDateTime beforeDate, Long beforeId, int size,
+                                   boolean includeSummary);
     OrderDTO save(Order order);
     void delete(Long id);
-    OrderDTO updateStatus(Long id, String status);
-}
\ No newline at end of file
+    OrderDTO updateStatus(Long id, String status, Long changedBy);
+    BulkOrderStatusResultDTO updateStatuses(BulkOrderStatusRequest request, Long changedBy);
+    List<OrderStatusHistoryDTO> getStatusHistory(Long id);
+}
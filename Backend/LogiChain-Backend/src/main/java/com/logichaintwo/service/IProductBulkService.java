@@ -0,0 +1,9 @@
+package com.logichaintwo.service;
+
+import java.io.InputStream;
+
+import com.logichaintwo.dto.BulkUpsertResultDTO;
+
+public interface IProductBulkService {
+    BulkUpsertResultDTO upsert(InputStream body, String contentType, Long userId);
+}
@@ -0,0 +1,10 @@
+package com.logichaintwo.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.logichaintwo.dto.ProductDTO;
+
+public interface IProductImageService {
+    void validateImageUrl(String imageUrl);
+    ProductDTO upload(Long productId, MultipartFile file);
+}
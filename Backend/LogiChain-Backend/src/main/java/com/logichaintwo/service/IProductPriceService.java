@@ -0,0 +1,22 @@
+package com.logichaintwo.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.logichaintwo.dto.PriceChangeRequest;
+import com.logichaintwo.dto.ProductPriceDTO;
+
+public interface IProductPriceService {
+    BigDecimal currentPrice(Long productId);
+    Map<Long, BigDecimal> currentPrices(Collection<Long> productIds);
+    ProductPriceDTO getPriceAt(Long productId, LocalDateTime at);
+    List<ProductPriceDTO> getHistory(Long productId);
+    ProductPriceDTO schedule(Long productId, PriceChangeRequest request, Long userId);
+    void cancel(Long productId, Long priceId);
+    void recordCurrent(Map<Long, BigDecimal> prices, Long userId);
+    void forget(Long productId);
+    int activateDue();
+}
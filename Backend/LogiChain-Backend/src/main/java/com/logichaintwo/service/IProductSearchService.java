@@ -0,0 +1,15 @@
+package com.logichaintwo.service;
+
+import java.util.List;
+
+import com.logichaintwo.dto.AutocompleteSuggestionDTO;
+import com.logichaintwo.dto.CategoryFacetDTO;
+import com.logichaintwo.dto.ProductPageDTO;
+import com.logichaintwo.dto.ProductSearchResultDTO;
+
+public interface IProductSearchService {
+    ProductSearchResultDTO search(String query, String category, boolean fuzzy, int page, int size);
+    List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit);
+    List<CategoryFacetDTO> getCategories();
+    ProductPageDTO browseCategory(String category, Long afterId, int size);
+}
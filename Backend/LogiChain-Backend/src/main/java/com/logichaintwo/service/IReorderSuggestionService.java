@@ -0,0 +1,10 @@
+package com.logichaintwo.service;
+
+import java.util.List;
+
+import com.logichaintwo.dto.ReorderSuggestionDTO;
+
+public interface IReorderSuggestionService {
+    List<ReorderSuggestionDTO> getSuggestions(Long warehouseId, boolean actionableOnly);
+    String runForecast();
+}
@@ -0,0 +1,8 @@
+package com.logichaintwo.service;
+
+import com.logichaintwo.dto.ReturnAnalyticsDTO;
+
+public interface IReturnAnalyticsService {
+    ReturnAnalyticsDTO getAnalytics(Integer windowDays, int limit);
+    String runAnalytics();
+}
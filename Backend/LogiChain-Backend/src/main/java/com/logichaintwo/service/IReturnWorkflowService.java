@@ -0,0 +1,15 @@
+package com.logichaintwo.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.logichaintwo.dto.BulkReturnStatusResultDTO;
+import com.logichaintwo.dto.ReturnDTO;
+import com.logichaintwo.enums.ReturnStatus;
+
+public interface IReturnWorkflowService {
+    ReturnDTO updateStatus(Long id, ReturnStatus status, Long warehouseId, String note, Long processedBy);
+    BulkReturnStatusResultDTO updateStatuses(Collection<Long> ids, ReturnStatus status, Long warehouseId, String note,
+                                             Long processedBy);
+    List<ReturnDTO> getRefundQueue(Long afterId, int size);
+}
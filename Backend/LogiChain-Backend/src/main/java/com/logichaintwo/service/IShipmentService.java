@@ -1,6 +1,8 @@
 package com.logichaintwo.service;
 
 import com.logichaintwo.dto.ShipmentDTO;
+import com.logichaintwo.dto.ShipmentEventDTO;
+import com.logichaintwo.dto.ShipmentStatusUpdateRequest;
 import com.logichaintwo.entities.Shipment;
 import java.util.List;
 
@@ -8,6 +10,9 @@ public interface IShipmentService {
     List<ShipmentDTO> getAll();
     ShipmentDTO getById(Long id);
     ShipmentDTO save(Shipment shipment);
+    ShipmentDTO update(Long id, Shipment shipment);
+    ShipmentDTO updateStatus(Long id, ShipmentStatusUpdateRequest request);
+    List<ShipmentEventDTO> getEvents(Long id);
     void delete(Long id);
     ShipmentDTO findByTrackingNumber(String trackingNumber);
-}
\ No newline at end of file
+}
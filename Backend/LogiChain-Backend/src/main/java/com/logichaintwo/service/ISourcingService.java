@@ -0,0 +1,9 @@
+package com.logichaintwo.service;
+
+import com.logichaintwo.dto.SourcingPlanDTO;
+import com.logichaintwo.dto.SourcingRequest;
+
+public interface ISourcingService {
+    SourcingPlanDTO plan(SourcingRequest request);
+    SourcingPlanDTO planForOrder(Long orderId, Double destinationLatitude, Double destinationLongitude);
+}
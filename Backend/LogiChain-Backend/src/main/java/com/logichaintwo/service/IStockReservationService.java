@@ -0,0 +1,17 @@
+package com.logichaintwo.service;
+
+import java.util.List;
+
+import com.logichaintwo.dto.ReservationRequest;
+import com.logichaintwo.dto.StockReservationDTO;
+
+public interface IStockReservationService {
+    StockReservationDTO reserve(ReservationRequest request, Long userId);
+    // ownerId restricts the call to that user's holds; null for staff acting on any hold
+    StockReservationDTO release(Long id, Long ownerId);
+    StockReservationDTO confirm(Long id);
+    StockReservationDTO extend(Long id, long ttlSeconds, Long ownerId);
+    StockReservationDTO getById(Long id, Long ownerId);
+    List<StockReservationDTO> getActiveByInventory(Long inventoryId);
+    int expireDue();
+}
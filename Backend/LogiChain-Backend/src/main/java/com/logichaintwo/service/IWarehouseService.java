@@ -1,12 +1,20 @@
 package com.logichaintwo.service;
 
 import com.logichaintwo.dto.WarehouseDTO;
+import com.logichaintwo.dto.WarehouseUtilizationDTO;
 import com.logichaintwo.entities.Warehouse;
 import java.util.List;
+import java.util.Map;
 
 public interface IWarehouseService {
     List<WarehouseDTO> getAll();
     WarehouseDTO getById(Long id);
     WarehouseDTO save(Warehouse warehouse);
     void delete(Long id);
-}
\ No newline at end of file
+    WarehouseUtilizationDTO getUtilization(Long id);
+    List<WarehouseUtilizationDTO> getUtilization(List<Long> ids);
+    void applyStockChange(Long warehouseId, Long productId, int quantityDelta);
+    void applyProductWeightChange(Long productId, double weightDelta);
+    Map<Long, String> applyProductWeightChanges(Map<Long, Double> weightDeltas);
+    int recalculateUtilization();
+}
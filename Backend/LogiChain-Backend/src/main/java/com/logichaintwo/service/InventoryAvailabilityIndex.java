@@ -0,0 +1,325 @@
+package com.logichaintwo.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.logichaintwo.enums.TransactionType;
+import com.logichaintwo.event.InventoryDeletedEvent;
+import com.logichaintwo.event.ProductStockChangedEvent;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.InventoryTransactionRepository;
+import com.logichaintwo.repository.projection.InventoryLevelView;
+import com.logichaintwo.repository.projection.InventoryMovementView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory product x warehouse matrix of available stock (quantity - reserved).
+ * Loaded from the inventory table on startup, then kept current by tailing new
+ * InventoryTransaction rows, with a periodic full rebuild to repair any drift.
+ *
+ * Ledger ids are allocated at insert but become visible at commit, so the tail can see id
+ * n + 1 before n. Ids skipped over are remembered as gaps and looked up again on every
+ * refresh until they appear or gap-timeout-ms passes (a rollback leaves a gap for good).
+ */
+@Slf4j
+@Service
+public class InventoryAvailabilityIndex {
+    private static final int TAIL_BATCH_SIZE = 5000;
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final InventoryRepository inventoryRepo;
+    private final InventoryTransactionRepository transactionRepo;
+    private final TransactionTemplate readOnlyTx;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMonitor = new Object();
+
+    // All guarded by lock
+    private Map<Long, Integer> productIndex = new HashMap<>();
+    private Map<Long, Integer> warehouseIndex = new HashMap<>();
+    private Map<Long, Long> cellByInventoryId = new HashMap<>();
+    private long[] warehouseIds = new long[0];
+    private int[][] available = new int[0][];
+
+    private volatile long lastTransactionId;
+    private volatile boolean ready;
+
+    // Ledger id -> when it was first found missing; guarded by refreshMonitor
+    private Map<Long, Long> gaps = new HashMap<>();
+
+    @Value("${inventory.index.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    public InventoryAvailabilityIndex(InventoryRepository inventoryRepo,
+                                      InventoryTransactionRepository transactionRepo,
+                                      TransactionTemplate transactionTemplate,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.inventoryRepo = inventoryRepo;
+        this.transactionRepo = transactionRepo;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTx = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public record Snapshot(long[] warehouseIds, int[][] available) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${inventory.index.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${inventory.index.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Set<Long> indexedProducts;
+        synchronized (refreshMonitor) {
+            // Levels and the high-water mark come from the same read snapshot
+            readOnlyTx.executeWithoutResult(status -> {
+                long maxId = transactionRepo.findMaxId();
+                List<InventoryLevelView> levels = inventoryRepo.findAllLevels();
+                // Recent ids this snapshot cannot see may still commit; their stock is not in levels either
+                Map<Long, Long> missing = new HashMap<>();
+                long scanFrom = Math.max(0, maxId - MAX_TRACKED_GAPS);
+                Set<Long> visible = new HashSet<>(transactionRepo.findIdsBetween(scanFrom, maxId));
+                long now = System.currentTimeMillis();
+                for (long id = scanFrom + 1; id <= maxId; id++) {
+                    if (!visible.contains(id)) {
+                        missing.put(id, now);
+                    }
+                }
+
+                Map<Long, Integer> products = new HashMap<>();
+                Map<Long, Integer> warehouses = new HashMap<>();
+                for (InventoryLevelView level : levels) {
+                    products.putIfAbsent(level.getProductId(), products.size());
+                    warehouses.putIfAbsent(level.getWarehouseId(), warehouses.size());
+                }
+                long[] ids = new long[warehouses.size()];
+                warehouses.forEach((id, index) -> ids[index] = id);
+
+                int[][] matrix = new int[products.size()][warehouses.size()];
+                Map<Long, Long> cells = new HashMap<>();
+                for (InventoryLevelView level : levels) {
+                    int p = products.get(level.getProductId());
+                    int w = warehouses.get(level.getWarehouseId());
+                    int reserved = level.getReservedQuantity() != null ? level.getReservedQuantity() : 0;
+                    matrix[p][w] = level.getQuantity() - reserved;
+                    cells.put(level.getId(), pack(p, w));
+                }
+
+                lock.writeLock().lock();
+                try {
+                    productIndex = products;
+                    warehouseIndex = warehouses;
+                    cellByInventoryId = cells;
+                    warehouseIds = ids;
+                    available = matrix;
+                    lastTransactionId = maxId;
+                    gaps = missing;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Inventory availability index rebuilt: {} products x {} warehouses, ledger position {}",
+                        products.size(), warehouses.size(), maxId);
+            });
+            ready = true;
+            lock.readLock().lock();
+            try {
+                indexedProducts = new HashSet<>(productIndex.keySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        // A full rebuild may have corrected drift anywhere
+        eventPublisher.publishEvent(new ProductStockChangedEvent(indexedProducts));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.index.refresh-interval-ms:1000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        Set<Long> changed = new HashSet<>();
+        synchronized (refreshMonitor) {
+            long now = System.currentTimeMillis();
+            if (!gaps.isEmpty()) {
+                List<InventoryMovementView> late = transactionRepo.findMovementsByIds(gaps.keySet());
+                if (!late.isEmpty()) {
+                    lock.writeLock().lock();
+                    try {
+                        for (InventoryMovementView movement : late) {
+                            apply(movement);
+                            changed.add(movement.getProductId());
+                            gaps.remove(movement.getId());
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+                gaps.values().removeIf(missedAt -> missedAt < now - gapTimeoutMs);
+            }
+            List<InventoryMovementView> batch;
+            do {
+                batch = transactionRepo.findMovementsAfter(lastTransactionId, PageRequest.of(0, TAIL_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lock.writeLock().lock();
+                try {
+                    long expected = lastTransactionId + 1;
+                    for (InventoryMovementView movement : batch) {
+                        recordGaps(expected, movement.getId(), now);
+                        expected = movement.getId() + 1;
+                        apply(movement);
+                        changed.add(movement.getProductId());
+                    }
+                    lastTransactionId = batch.get(batch.size() - 1).getId();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } while (batch.size() == TAIL_BATCH_SIZE);
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new ProductStockChangedEvent(changed));
+        }
+    }
+
+    // Ids in [from, to) were passed over by the tail; ranges beyond the cap are left to the next rebuild
+    private void recordGaps(long from, long to, long now) {
+        if (to - from > MAX_TRACKED_GAPS - gaps.size()) {
+            log.warn("Ledger ids {} to {} not visible yet and too many to track; the next rebuild will cover them",
+                    from, to - 1);
+            return;
+        }
+        for (long id = from; id < to; id++) {
+            gaps.put(id, now);
+        }
+    }
+
+    // Copies the rows for the requested products; rows of unknown products are all zero
+    public Snapshot snapshot(long[] productIds) {
+        lock.readLock().lock();
+        try {
+            int[][] rows = new int[productIds.length][];
+            for (int i = 0; i < productIds.length; i++) {
+                Integer p = productIndex.get(productIds[i]);
+                rows[i] = p != null ? Arrays.copyOf(available[p], warehouseIds.length) : new int[warehouseIds.length];
+            }
+            return new Snapshot(warehouseIds.clone(), rows);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Available units of a product summed over every warehouse
+    public int availableTotal(long productId) {
+        lock.readLock().lock();
+        try {
+            Integer p = productIndex.get(productId);
+            if (p == null) {
+                return 0;
+            }
+            int total = 0;
+            for (int units : available[p]) {
+                total += units;
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // After commit only: a rolled-back delete must leave the cell as it was
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryDeleted(InventoryDeletedEvent event) {
+        forgetInventory(event.inventoryId());
+    }
+
+    private void forgetInventory(Long inventoryId) {
+        lock.writeLock().lock();
+        try {
+            Long cell = cellByInventoryId.remove(inventoryId);
+            if (cell != null) {
+                available[row(cell)][column(cell)] = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static int availableDelta(TransactionType type, int quantity) {
+        return switch (type) {
+            case STOCK_IN, RELEASED -> quantity;
+            case STOCK_OUT, RESERVED -> -quantity;
+        };
+    }
+
+    private void apply(InventoryMovementView movement) {
+        if (movement.getQuantityChanged() == null) {
+            return;
+        }
+        Long cell = cellByInventoryId.get(movement.getInventoryId());
+        if (cell == null) {
+            cell = pack(rowFor(movement.getProductId()), columnFor(movement.getWarehouseId()));
+            cellByInventoryId.put(movement.getInventoryId(), cell);
+        }
+        available[row(cell)][column(cell)] += availableDelta(movement.getTransactionType(), movement.getQuantityChanged());
+    }
+
+    private int rowFor(Long productId) {
+        Integer p = productIndex.get(productId);
+        if (p != null) {
+            return p;
+        }
+        p = productIndex.size();
+        productIndex.put(productId, p);
+        available = Arrays.copyOf(available, p + 1);
+        available[p] = new int[warehouseIds.length];
+        return p;
+    }
+
+    private int columnFor(Long warehouseId) {
+        Integer w = warehouseIndex.get(warehouseId);
+        if (w != null) {
+            return w;
+        }
+        w = warehouseIndex.size();
+        warehouseIndex.put(warehouseId, w);
+        warehouseIds = Arrays.copyOf(warehouseIds, w + 1);
+        warehouseIds[w] = warehouseId;
+        for (int p = 0; p < available.length; p++) {
+            available[p] = Arrays.copyOf(available[p], w + 1);
+        }
+        return w;
+    }
+
+    private static long pack(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int row(long cell) {
+        return (int) (cell >>> 32);
+    }
+
+    private static int column(long cell) {
+        return (int) cell;
+    }
+}
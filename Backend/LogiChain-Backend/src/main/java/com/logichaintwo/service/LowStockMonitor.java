@@ -0,0 +1,102 @@
+package com.logichaintwo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.entities.Warehouse;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.enums.NotificationType;
+import com.logichaintwo.enums.Role;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.UserRepository;
+import com.logichaintwo.repository.WarehouseRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LowStockMonitor {
+    private final InventoryRepository inventoryRepo;
+    private final ProductRepository productRepo;
+    private final WarehouseRepository warehouseRepo;
+    private final UserRepository userRepo;
+    private final NotificationDigester digester;
+
+    @Value("${inventory.low-stock.default-reorder-point:10}")
+    private int defaultReorderPoint;
+
+    @Value("${inventory.low-stock.alert-debounce-minutes:60}")
+    private long alertDebounceMinutes;
+
+    public int reorderPointOf(Inventory inventory) {
+        return inventory.getReorderPoint() != null ? inventory.getReorderPoint() : defaultReorderPoint;
+    }
+
+    // Call with the managed row after its quantities change, inside the same transaction
+    public void evaluate(Inventory inventory) {
+        int reserved = inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0;
+        int available = inventory.getQuantity() - reserved;
+        int reorderPoint = reorderPointOf(inventory);
+        boolean low = available < reorderPoint;
+        boolean wasLow = Boolean.TRUE.equals(inventory.getLowStock());
+        inventory.setLowStock(low);
+
+        // Alert only on the way down, and at most once per debounce window so flapping stock stays quiet
+        if (!low || wasLow) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastAlert = inventory.getLowStockAlertedAt();
+        if (lastAlert != null && lastAlert.isAfter(now.minusMinutes(alertDebounceMinutes))) {
+            return;
+        }
+        inventory.setLowStockAlertedAt(now);
+        notifyLowStock(inventory, available, reorderPoint);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recalculateOnStartup() {
+        int updated = inventoryRepo.recalculateLowStock(defaultReorderPoint);
+        log.info("Recalculated low-stock flags for {} inventory records", updated);
+    }
+
+    private void notifyLowStock(Inventory inventory, int available, int reorderPoint) {
+        Product product = productRepo.findById(inventory.getProductId()).orElse(null);
+        Warehouse warehouse = warehouseRepo.findById(inventory.getWarehouseId()).orElse(null);
+
+        List<Long> recipients = new ArrayList<>();
+        if (product != null && product.getCreatedBy() != null) {
+            recipients.add(product.getCreatedBy());
+        } else {
+            recipients.addAll(userRepo.findIdsByRole(Role.ADMIN));
+        }
+
+        String message = "Low stock: " + (product != null ? product.getSku() : "product " + inventory.getProductId())
+                + " in warehouse " + (warehouse != null ? warehouse.getCode() : inventory.getWarehouseId())
+                + " has " + available + " available (reorder point " + reorderPoint + ")";
+        List<Notification> notifications = new ArrayList<>();
+        for (Long userId : recipients) {
+            Notification notification = new Notification();
+            notification.setUserId(userId);
+            notification.setNotificationType(NotificationType.LOW_STOCK);
+            notification.setChannel(NotificationChannel.PUSH);
+            notification.setMessage(message);
+            notifications.add(notification);
+        }
+        digester.submit(notifications);
+    }
+}
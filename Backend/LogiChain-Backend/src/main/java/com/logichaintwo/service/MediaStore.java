@@ -0,0 +1,108 @@
+package com.logichaintwo.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Content-addressed file store under media.storage-dir. Files are named by the SHA-256
+ * of the original image, so identical uploads share storage and every URL is immutable.
+ */
+@Component
+public class MediaStore {
+    public static final String ORIGINALS_PATH = "/media/originals/";
+    public static final String THUMBNAILS_PATH = "/media/thumbnails/";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final List<Integer> thumbnailWidths;
+
+    public MediaStore(@Value("${media.storage-dir:./media}") String storageDir,
+                      @Value("${media.thumbnail-widths:160,480}") Integer[] thumbnailWidths) {
+        this.root = Path.of(storageDir).toAbsolutePath().normalize();
+        this.thumbnailWidths = Arrays.stream(thumbnailWidths).sorted().toList();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(root.resolve("originals"));
+        Files.createDirectories(root.resolve("thumbnails"));
+    }
+
+    public List<Integer> thumbnailWidths() {
+        return thumbnailWidths;
+    }
+
+    public static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    public Path original(String hash) {
+        return root.resolve("originals").resolve(hash);
+    }
+
+    public Path thumbnail(String hash, int width) {
+        return root.resolve("thumbnails").resolve(hash).resolve(width + ".jpg");
+    }
+
+    public boolean hasThumbnails(String hash) {
+        return thumbnailWidths.stream().allMatch(width -> Files.exists(thumbnail(hash, width)));
+    }
+
+    // Stores the bytes under their hash unless already present; returns the hash
+    public String putOriginal(byte[] content) {
+        String hash = sha256(content);
+        Path target = original(hash);
+        if (!Files.exists(target)) {
+            write(target, content);
+        }
+        return hash;
+    }
+
+    // Written to a temp file and moved into place so readers never see a partial file
+    public void write(Path target, byte[] content) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".tmp-", null);
+            Files.write(temp, content);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String originalUrl(String hash) {
+        return ORIGINALS_PATH + hash;
+    }
+
+    public static String thumbnailUrl(String hash, int width) {
+        return THUMBNAILS_PATH + hash + "/" + width + ".jpg";
+    }
+}
@@ -0,0 +1,350 @@
+package com.logichaintwo.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.entities.NotificationDigestEntry;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.enums.NotificationStatus;
+import com.logichaintwo.enums.NotificationType;
+import com.logichaintwo.repository.NotificationDigestEntryRepository;
+import com.logichaintwo.repository.NotificationRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces notifications per user, type and channel. The first notification for a key goes
+ * straight to the dispatch queue and opens a window; anything arriving for that key while the
+ * window is open is buffered in memory and written as one digest when the window closes or
+ * the buffer fills, after which a new window opens. Quiet users therefore see no delay, while
+ * a busy account gets at most one message per type per window.
+ *
+ * Buffered entries are journaled in one JDBC batch inside the caller's transaction, so a crash
+ * loses nothing, and a clean shutdown flushes every buffer. Journal rows carry the node id of
+ * the replica buffering them. On startup a replica takes every row left under the node id it
+ * leased, since nothing of its own is buffered yet. A crashed replica's id may go to another
+ * replica or to none, so any replica also claims rows whose node's lease has gone stale or
+ * which have outlived their window by orphan-after-ms. A flush locks its journal rows, writes
+ * digests only for those still under the node id they were buffered with, and deletes them in
+ * the same transaction, so a row claimed away mid-window is sent once, by its new owner.
+ */
+@Slf4j
+@Service
+public class NotificationDigester {
+    private static final int MESSAGE_LENGTH = 1000;
+    private static final String JOURNAL_SQL = "INSERT INTO notification_digest_entry "
+            + "(id, node_id, user_id, order_id, shipment_id, notification_type, channel, message, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int CLAIM_BATCH = 500;
+    // All rows under the first node id and orphans under any other; FOR UPDATE OF e leaves id_node_lease alone
+    private static final String ORPHANS_SQL = "SELECT e.id FROM notification_digest_entry e WHERE e.id > ? "
+            + "AND (e.node_id = ? OR (e.node_id <> ? AND (e.created_at < ? OR EXISTS (SELECT 1 FROM id_node_lease l "
+            + "WHERE l.node_id = e.node_id AND l.renewed_at < TIMESTAMPADD(SECOND, ?, NOW()))))) "
+            + "ORDER BY e.id LIMIT ? FOR UPDATE OF e SKIP LOCKED";
+
+    private final NotificationRepository notificationRepo;
+    private final NotificationDigestEntryRepository entryRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final ReferenceNumberGenerator ids;
+    private final UnreadNotificationCounter unreadCounter;
+    private final Map<Key, Buffer> buffers = new ConcurrentHashMap<>();
+
+    @Value("${notifications.digest.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${notifications.digest.max-size:50}")
+    private int maxSize;
+
+    @Value("${notifications.digest.orphan-after-ms:300000}")
+    private long orphanAfterMs;
+
+    @Value("${ids.node-lease-seconds:60}")
+    private long leaseSeconds;
+
+    public NotificationDigester(NotificationRepository notificationRepo, NotificationDigestEntryRepository entryRepo,
+                                JdbcTemplate jdbcTemplate, TransactionTemplate txTemplate,
+                                ReferenceNumberGenerator ids, UnreadNotificationCounter unreadCounter) {
+        this.notificationRepo = notificationRepo;
+        this.entryRepo = entryRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = txTemplate;
+        this.ids = ids;
+        this.unreadCounter = unreadCounter;
+    }
+
+    private record Key(Long userId, NotificationType type, NotificationChannel channel) {
+        static Key of(NotificationDigestEntry entry) {
+            return new Key(entry.getUserId(), entry.getNotificationType(), entry.getChannel());
+        }
+    }
+
+    // Only touched inside buffers.compute for its key
+    private static final class Buffer {
+        final List<NotificationDigestEntry> entries = new ArrayList<>();
+        long windowEndsAt;
+
+        Buffer(long windowEndsAt) {
+            this.windowEndsAt = windowEndsAt;
+        }
+    }
+
+    /*
+     * Call inside the transaction that causes the notifications. Those that pass straight
+     * through are saved as PENDING; the rest are journaled now and buffered once the
+     * transaction commits, so a rollback leaves nothing behind.
+     */
+    public void submit(List<Notification> notifications) {
+        long now = System.currentTimeMillis();
+        List<Notification> immediate = new ArrayList<>();
+        List<NotificationDigestEntry> held = new ArrayList<>();
+        for (Notification notification : notifications) {
+            Key key = new Key(notification.getUserId(), notification.getNotificationType(), notification.getChannel());
+            boolean[] opened = {false};
+            buffers.compute(key, (k, buffer) -> {
+                if (buffer == null || (buffer.entries.isEmpty() && buffer.windowEndsAt <= now)) {
+                    opened[0] = true;
+                    return new Buffer(now + windowMs);
+                }
+                return buffer;
+            });
+            if (opened[0]) {
+                notification.setStatus(NotificationStatus.PENDING);
+                immediate.add(notification);
+            } else {
+                held.add(toEntry(notification));
+            }
+        }
+        if (!immediate.isEmpty()) {
+            notificationRepo.saveAll(immediate);
+            unreadCounter.created(immediate);
+        }
+        if (held.isEmpty()) {
+            return;
+        }
+        journal(held);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer(held, now + windowMs);
+                }
+            });
+        } else {
+            buffer(held, now + windowMs);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.digest.tick-ms:1000}")
+    public void flushDue() {
+        flush(false);
+    }
+
+    // Sends whatever is held back rather than leaving it for the next replica to claim
+    @PreDestroy
+    void flushAll() {
+        flush(true);
+    }
+
+    private void flush(boolean all) {
+        long now = System.currentTimeMillis();
+        List<List<NotificationDigestEntry>> due = new ArrayList<>();
+        for (Key key : buffers.keySet()) {
+            buffers.computeIfPresent(key, (k, buffer) -> {
+                if (buffer.entries.isEmpty()) {
+                    // A window with nothing held back simply expires
+                    return buffer.windowEndsAt <= now ? null : buffer;
+                }
+                if (all || buffer.windowEndsAt <= now || buffer.entries.size() >= maxSize) {
+                    due.add(new ArrayList<>(buffer.entries));
+                    buffer.entries.clear();
+                    buffer.windowEndsAt = now + windowMs;
+                }
+                return buffer;
+            });
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Long> held = due.stream().flatMap(List::stream).map(NotificationDigestEntry::getId).toList();
+        List<Notification> digests = new ArrayList<>(due.size());
+        List<Long> flushed = new ArrayList<>();
+        try {
+            txTemplate.executeWithoutResult(status -> {
+                // Rows another replica claimed since they were buffered are now its to send
+                Map<Long, Long> owners = new HashMap<>();
+                entryRepo.findByIdInForUpdate(held).forEach(row -> owners.put(row.getId(), row.getNodeId()));
+                for (List<NotificationDigestEntry> group : due) {
+                    List<NotificationDigestEntry> owned = group.stream()
+                            .filter(entry -> entry.getNodeId().equals(owners.get(entry.getId())))
+                            .toList();
+                    if (!owned.isEmpty()) {
+                        digests.add(digestOf(owned));
+                        owned.forEach(entry -> flushed.add(entry.getId()));
+                    }
+                }
+                notificationRepo.saveAll(digests);
+                entryRepo.deleteAllByIdInBatch(flushed);
+                unreadCounter.created(digests);
+            });
+            log.debug("Flushed {} buffered notifications into {} digests", flushed.size(), digests.size());
+            if (flushed.size() < held.size()) {
+                log.info("Dropped {} buffered notifications taken over by another replica", held.size() - flushed.size());
+            }
+        } catch (RuntimeException e) {
+            // Still journaled; put them back and try again on the next tick
+            log.error("Could not flush notification digests: {}", e.getMessage());
+            due.forEach(group -> buffer(group, now));
+        }
+    }
+
+    /*
+     * Runs before the application can submit anything, so every row under this replica's node id
+     * was left by the previous process to hold it, usually this same replica before a restart.
+     */
+    @PostConstruct
+    void recover() {
+        claimOrphans(ids.nodeId());
+    }
+
+    @Scheduled(initialDelayString = "${notifications.digest.recover-ms:30000}",
+               fixedDelayString = "${notifications.digest.recover-ms:30000}")
+    public void recoverOrphans() {
+        claimOrphans(-1);
+    }
+
+    /*
+     * Claims journal rows nobody is buffering: those whose node's lease has gone stale, and
+     * those past their window by orphanAfterMs, which covers node ids configured without a
+     * lease and a dead replica's id since leased by a new one. Claimed rows are moved to this
+     * node id and flushed on the next tick. Rows under ownNodeId are taken whatever their age;
+     * pass -1 when this replica may already be buffering them.
+     */
+    private void claimOrphans(long ownNodeId) {
+        long nodeId = ids.nodeId();
+        Timestamp orphanedBefore = new Timestamp(System.currentTimeMillis() - windowMs - orphanAfterMs);
+        int claimed = 0;
+        long[] afterId = {-1};
+        List<NotificationDigestEntry> batch;
+        do {
+            batch = txTemplate.execute(status -> {
+                List<Long> orphans = jdbcTemplate.queryForList(ORPHANS_SQL, Long.class, afterId[0],
+                        ownNodeId, nodeId, orphanedBefore, -leaseSeconds, CLAIM_BATCH);
+                if (orphans.isEmpty()) {
+                    return List.<NotificationDigestEntry>of();
+                }
+                entryRepo.reassign(orphans, nodeId);
+                return entryRepo.findByIdInForUpdate(orphans);
+            });
+            buffer(batch, System.currentTimeMillis());
+            claimed += batch.size();
+            if (!batch.isEmpty()) {
+                afterId[0] = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == CLAIM_BATCH);
+        if (claimed > 0) {
+            log.info("Recovered {} buffered notifications from the digest journal", claimed);
+        }
+    }
+
+    // Adds to the key's buffer, bringing its flush forward to windowEndsAt if that is sooner
+    private void buffer(List<NotificationDigestEntry> entries, long windowEndsAt) {
+        for (NotificationDigestEntry entry : entries) {
+            buffers.compute(Key.of(entry), (k, buffer) -> {
+                Buffer target = buffer != null ? buffer : new Buffer(windowEndsAt);
+                target.entries.add(entry);
+                target.windowEndsAt = Math.min(target.windowEndsAt, windowEndsAt);
+                return target;
+            });
+        }
+    }
+
+    private void journal(List<NotificationDigestEntry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        entries.forEach(entry -> entry.setCreatedAt(now));
+        jdbcTemplate.batchUpdate(JOURNAL_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getId());
+            ps.setLong(2, entry.getNodeId());
+            ps.setLong(3, entry.getUserId());
+            ps.setObject(4, entry.getOrderId(), Types.BIGINT);
+            ps.setObject(5, entry.getShipmentId(), Types.BIGINT);
+            ps.setString(6, entry.getNotificationType().name());
+            ps.setString(7, entry.getChannel().name());
+            ps.setString(8, entry.getMessage());
+            ps.setTimestamp(9, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+
+    private NotificationDigestEntry toEntry(Notification notification) {
+        NotificationDigestEntry entry = new NotificationDigestEntry();
+        entry.setId(ids.nextId());
+        entry.setNodeId(ids.nodeId());
+        entry.setUserId(notification.getUserId());
+        entry.setOrderId(notification.getOrderId());
+        entry.setShipmentId(notification.getShipmentId());
+        entry.setNotificationType(notification.getNotificationType());
+        entry.setChannel(notification.getChannel());
+        entry.setMessage(notification.getMessage());
+        return entry;
+    }
+
+    // One entry passes through unchanged; several become a list that fits the message column
+    static Notification digestOf(List<NotificationDigestEntry> entries) {
+        NotificationDigestEntry first = entries.get(0);
+        Notification digest = new Notification();
+        digest.setUserId(first.getUserId());
+        digest.setNotificationType(first.getNotificationType());
+        digest.setChannel(first.getChannel());
+        digest.setStatus(NotificationStatus.PENDING);
+        if (entries.size() == 1) {
+            digest.setOrderId(first.getOrderId());
+            digest.setShipmentId(first.getShipmentId());
+            digest.setMessage(first.getMessage());
+            return digest;
+        }
+        // Links survive only when every entry shares them
+        if (entries.stream().allMatch(e -> Objects.equals(e.getOrderId(), first.getOrderId()))) {
+            digest.setOrderId(first.getOrderId());
+        }
+        if (entries.stream().allMatch(e -> Objects.equals(e.getShipmentId(), first.getShipmentId()))) {
+            digest.setShipmentId(first.getShipmentId());
+        }
+
+        StringBuilder message = new StringBuilder(MESSAGE_LENGTH);
+        message.append(entries.size()).append(' ')
+                .append(first.getNotificationType().name().replace('_', ' ').toLowerCase()).append(" updates:");
+        int listed = 0;
+        for (NotificationDigestEntry entry : entries) {
+            // Keep room for the "... and N more" trailer
+            if (message.length() + entry.getMessage().length() + 3 > MESSAGE_LENGTH - 20) {
+                break;
+            }
+            message.append("\n- ").append(entry.getMessage());
+            listed++;
+        }
+        if (listed < entries.size()) {
+            message.append("\n... and ").append(entries.size() - listed).append(" more");
+        }
+        digest.setMessage(message.toString());
+        return digest;
+    }
+}
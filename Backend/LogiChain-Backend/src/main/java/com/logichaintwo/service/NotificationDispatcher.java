@@ -0,0 +1,187 @@
+package com.logichaintwo.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.repository.NotificationRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends PENDING notifications off the request path. Every channel has its own pool of
+ * virtual threads capped by a semaphore, so a slow email provider cannot starve SMS or push.
+ * Each poll claims only as many due rows per channel as there are free workers, using
+ * SKIP LOCKED so several replicas share the queue without sending anything twice. Failures
+ * are retried with exponential backoff and jitter until max-attempts, and claims held past
+ * the lease (a replica died mid-send) return to the queue.
+ */
+@Slf4j
+@Service
+public class NotificationDispatcher {
+    private static final int ERROR_LENGTH = 500;
+
+    private final NotificationRepository repo;
+    private final TransactionTemplate txTemplate;
+    private final Environment environment;
+    private final Map<NotificationChannel, NotificationSender> senders = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Worker> workers = new EnumMap<>(NotificationChannel.class);
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${notifications.dispatch.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notifications.dispatch.backoff-base-ms:2000}")
+    private long backoffBaseMs;
+
+    @Value("${notifications.dispatch.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${notifications.dispatch.lease-ms:300000}")
+    private long leaseMs;
+
+    public NotificationDispatcher(NotificationRepository repo, TransactionTemplate txTemplate,
+                                  Environment environment, List<NotificationSender> senders) {
+        this.repo = repo;
+        this.txTemplate = txTemplate;
+        this.environment = environment;
+        for (NotificationSender sender : senders) {
+            this.senders.put(sender.channel(), sender);
+        }
+    }
+
+    private record Worker(ExecutorService executor, Semaphore permits) {
+    }
+
+    @PostConstruct
+    void init() {
+        for (NotificationChannel channel : senders.keySet()) {
+            String name = channel.name().toLowerCase();
+            int concurrency = environment.getProperty("notifications.dispatch." + name + ".concurrency",
+                    Integer.class, 8);
+            workers.put(channel, new Worker(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notify-" + name + "-", 0).factory()),
+                    new Semaphore(Math.max(1, concurrency))));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (Worker worker : workers.values()) {
+            worker.executor().shutdown();
+        }
+        for (Worker worker : workers.values()) {
+            // Anything still in flight keeps its claim and is picked up again once the lease expires
+            worker.executor().awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch.poll-ms:500}")
+    public void dispatch() {
+        for (Map.Entry<NotificationChannel, Worker> entry : workers.entrySet()) {
+            Worker worker = entry.getValue();
+            int free = Math.min(worker.permits().availablePermits(), batchSize);
+            if (free == 0 || !worker.permits().tryAcquire(free)) {
+                continue;
+            }
+            List<Notification> claimed;
+            try {
+                claimed = claim(entry.getKey(), free);
+            } catch (RuntimeException e) {
+                worker.permits().release(free);
+                log.error("Could not claim {} notifications: {}", entry.getKey(), e.getMessage());
+                continue;
+            }
+            worker.permits().release(free - claimed.size());
+            NotificationSender sender = senders.get(entry.getKey());
+            for (Notification notification : claimed) {
+                worker.executor().execute(() -> {
+                    try {
+                        deliver(sender, notification);
+                    } finally {
+                        worker.permits().release();
+                    }
+                });
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch.lease-ms:300000}")
+    public void releaseExpiredClaims() {
+        int released = txTemplate.execute(status ->
+                repo.releaseExpiredClaims(LocalDateTime.now().minusNanos(leaseMs * 1_000_000)));
+        if (released > 0) {
+            log.warn("Returned {} notifications with expired claims to the queue", released);
+        }
+    }
+
+    private List<Notification> claim(NotificationChannel channel, int limit) {
+        return txTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = repo.lockDueIds(channel.name(), now, limit);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            repo.markClaimed(ids, instanceId, now);
+            return repo.findWithUserByIdIn(ids);
+        });
+    }
+
+    private void deliver(NotificationSender sender, Notification notification) {
+        try {
+            sender.send(notification);
+            txTemplate.executeWithoutResult(status ->
+                    repo.markSent(notification.getId(), instanceId, LocalDateTime.now()));
+        } catch (NotificationSender.UndeliverableException e) {
+            fail(notification, e);
+        } catch (Exception e) {
+            if (notification.getAttempts() >= maxAttempts) {
+                fail(notification, e);
+                return;
+            }
+            LocalDateTime retryAt = LocalDateTime.now().plusNanos(backoffMillis(notification.getAttempts()) * 1_000_000);
+            txTemplate.executeWithoutResult(status ->
+                    repo.reschedule(notification.getId(), instanceId, retryAt, truncate(e)));
+            log.warn("Notification {} attempt {} failed, retrying at {}: {}", notification.getId(),
+                    notification.getAttempts(), retryAt, e.getMessage());
+        }
+    }
+
+    private void fail(Notification notification, Exception e) {
+        txTemplate.executeWithoutResult(status -> repo.markFailed(notification.getId(), instanceId, truncate(e)));
+        log.error("Notification {} failed after {} attempts: {}", notification.getId(), notification.getAttempts(),
+                e.getMessage());
+    }
+
+    // A random delay between base and base * 2^(attempt - 1), capped at backoff-max-ms
+    private long backoffMillis(int attempt) {
+        long ceiling = backoffBaseMs << Math.min(attempt - 1, 20);
+        ceiling = Math.min(ceiling, backoffMaxMs);
+        return backoffBaseMs + ThreadLocalRandom.current().nextLong(Math.max(1, ceiling - backoffBaseMs + 1));
+    }
+
+    private static String truncate(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > ERROR_LENGTH ? message.substring(0, ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,22 @@
+package com.logichaintwo.service;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationChannel;
+
+/**
+ * Delivers notifications over one channel. NotificationDispatcher picks the sender by
+ * channel() and calls send() from that channel's worker pool; any exception is retried
+ * with backoff except UndeliverableException, which fails the notification at once.
+ */
+public interface NotificationSender {
+    NotificationChannel channel();
+
+    // The recipient user is loaded on the notification
+    void send(Notification notification) throws Exception;
+
+    class UndeliverableException extends RuntimeException {
+        public UndeliverableException(String message) {
+            super(message);
+        }
+    }
+}
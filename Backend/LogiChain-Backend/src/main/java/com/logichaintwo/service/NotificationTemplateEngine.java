@@ -0,0 +1,139 @@
+package com.logichaintwo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.logichaintwo.entities.NotificationTemplate;
+import com.logichaintwo.repository.NotificationTemplateRepository;
+import com.logichaintwo.repository.projection.TemplateVersionView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders NotificationTemplate subjects and bodies with {{name}} placeholders. Each template
+ * is parsed once into alternating literal and placeholder segments and cached by templateName,
+ * so a render is a map lookup per placeholder and a single exactly-sized StringBuilder.
+ * Templates that do not exist are cached too, so callers falling back to a default do not
+ * query for them on every notification. Cache entries carry the row's updatedAt, and the
+ * periodic refresh drops any whose row has changed, been deleted or been created since.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationTemplateEngine {
+    private static final Entry MISSING = new Entry(null, null, null);
+
+    private final NotificationTemplateRepository repo;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public record Rendered(String subject, String body) {
+    }
+
+    private record Entry(CompiledTemplate subject, CompiledTemplate body, LocalDateTime version) {
+    }
+
+    public Optional<Rendered> render(String templateName, Map<String, ?> values) {
+        Entry entry = cache.computeIfAbsent(templateName, this::load);
+        if (entry == MISSING) {
+            return Optional.empty();
+        }
+        return Optional.of(new Rendered(entry.subject().render(values), entry.body().render(values)));
+    }
+
+    @Scheduled(initialDelayString = "${notifications.templates.refresh-ms:60000}",
+               fixedDelayString = "${notifications.templates.refresh-ms:60000}")
+    public void refresh() {
+        Map<String, LocalDateTime> versions = new HashMap<>();
+        for (TemplateVersionView view : repo.findAllVersions()) {
+            versions.put(view.getTemplateName(), view.getUpdatedAt());
+        }
+        int before = cache.size();
+        cache.entrySet().removeIf(e -> e.getValue() == MISSING
+                ? versions.containsKey(e.getKey())
+                : !versions.containsKey(e.getKey()) || !Objects.equals(versions.get(e.getKey()), e.getValue().version()));
+        if (cache.size() != before) {
+            log.info("Dropped {} stale notification templates from the cache", before - cache.size());
+        }
+    }
+
+    private Entry load(String templateName) {
+        return repo.findByTemplateName(templateName)
+                .map(NotificationTemplateEngine::compile)
+                .orElse(MISSING);
+    }
+
+    private static Entry compile(NotificationTemplate template) {
+        return new Entry(CompiledTemplate.compile(template.getSubject()),
+                CompiledTemplate.compile(template.getBodyTemplate()), template.getUpdatedAt());
+    }
+
+    /**
+     * A parsed template: literals[i] is followed by the value of names[i], and the last
+     * literal closes the text. Unknown or null values render as empty strings, and an
+     * unterminated "{{" is kept as literal text.
+     */
+    public static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] names;
+        private final int literalLength;
+
+        private CompiledTemplate(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        public static CompiledTemplate compile(String source) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            String text = source != null ? source : "";
+            int from = 0;
+            int cursor = 0;
+            while (true) {
+                int open = text.indexOf("{{", cursor);
+                int close = open < 0 ? -1 : text.indexOf("}}", open + 2);
+                if (close < 0) {
+                    break;
+                }
+                literals.add(text.substring(from, open));
+                names.add(text.substring(open + 2, close).trim());
+                from = close + 2;
+                cursor = from;
+            }
+            literals.add(text.substring(from));
+            return new CompiledTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+        }
+
+        public String render(Map<String, ?> values) {
+            if (names.length == 0) {
+                return literals[0];
+            }
+            String[] resolved = new String[names.length];
+            int length = literalLength;
+            for (int i = 0; i < names.length; i++) {
+                Object value = values.get(names[i]);
+                resolved[i] = value != null ? value.toString() : "";
+                length += resolved[i].length();
+            }
+            StringBuilder out = new StringBuilder(length);
+            for (int i = 0; i < names.length; i++) {
+                out.append(literals[i]).append(resolved[i]);
+            }
+            return out.append(literals[names.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.logichaintwo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.logichaintwo.dto.AutocompleteSuggestionDTO;
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.projection.ProductTextView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prefix lookups over SKUs and product name tokens. Product changes update a sorted
+ * key set; a background task compiles it into an immutable array-backed trie and swaps
+ * the reference, so readers never lock and never see a half-built snapshot.
+ */
+@Slf4j
+@Service
+public class ProductAutocompleteIndex {
+    // Upper bound on matching keys ranked per lookup, so one-letter prefixes stay cheap
+    private static final int MAX_SCAN = 512;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::text).thenComparingLong(Key::productId);
+
+    private final ProductRepository productRepo;
+
+    // Mutable source of truth, guarded by this
+    private final NavigableSet<Key> keys = new TreeSet<>(KEY_ORDER);
+    private final Map<Long, Label> labels = new HashMap<>();
+    private final Map<Long, List<Key>> keysByProduct = new HashMap<>();
+    private boolean dirty;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ProductAutocompleteIndex(ProductRepository productRepo) {
+        this.productRepo = productRepo;
+    }
+
+    private record Key(String text, long productId, boolean sku) {
+    }
+
+    private record Label(String sku, String name) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductTextView> products = productRepo.findAllText();
+        synchronized (this) {
+            keys.clear();
+            labels.clear();
+            keysByProduct.clear();
+            for (ProductTextView p : products) {
+                put(p.getId(), p.getSku(), p.getName());
+            }
+            dirty = true;
+        }
+        publish();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        remove(event.productId());
+        if (!event.deleted()) {
+            put(event.productId(), event.sku(), event.name());
+        }
+        dirty = true;
+    }
+
+    // Coalesces bursts of product writes into one compile
+    @Scheduled(fixedDelayString = "${products.autocomplete.refresh-ms:250}")
+    public void publish() {
+        Key[] sorted;
+        Map<Long, Label> labelCopy;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            sorted = keys.toArray(new Key[0]);
+            labelCopy = Map.copyOf(labels);
+            dirty = false;
+        }
+        snapshot = Snapshot.compile(sorted, labelCopy);
+        log.debug("Autocomplete trie published: {} keys, {} nodes", sorted.length, snapshot.nodeCount());
+    }
+
+    // SKU hits rank first (exact before prefix), then shorter keys; one suggestion per product
+    public List<AutocompleteSuggestionDTO> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        int[] range = current.range(normalized);
+        if (range == null) {
+            return List.of();
+        }
+        int end = Math.min(range[1], range[0] + MAX_SCAN);
+        Integer[] order = new Integer[end - range[0]];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = range[0] + i;
+        }
+        Arrays.sort(order, Comparator
+                .comparingInt((Integer e) -> current.sku[e] ? (current.keys[e].length() == normalized.length() ? 0 : 1) : 2)
+                .thenComparingInt(e -> current.keys[e].length())
+                .thenComparingLong(e -> current.productIds[e]));
+
+        List<AutocompleteSuggestionDTO> suggestions = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        for (int e : order) {
+            long productId = current.productIds[e];
+            if (!seen.add(productId)) {
+                continue;
+            }
+            Label label = current.labels.get(productId);
+            suggestions.add(AutocompleteSuggestionDTO.builder()
+                    .productId(productId)
+                    .sku(label != null ? label.sku() : null)
+                    .name(label != null ? label.name() : null)
+                    .matchedOn(current.sku[e] ? "SKU" : "NAME")
+                    .build());
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    private void put(Long productId, String sku, String name) {
+        List<Key> added = new ArrayList<>();
+        if (sku != null && !sku.isBlank()) {
+            String lower = sku.trim().toLowerCase(Locale.ROOT);
+            added.add(new Key(lower, productId, true));
+            // "AB-1234" also completes from "ab12"
+            String compact = String.join("", ProductSearchIndex.tokenize(sku));
+            if (!compact.isEmpty() && !compact.equals(lower)) {
+                added.add(new Key(compact, productId, true));
+            }
+        }
+        for (String token : new TreeSet<>(ProductSearchIndex.tokenize(name))) {
+            added.add(new Key(token, productId, false));
+        }
+        keys.addAll(added);
+        keysByProduct.put(productId, added);
+        labels.put(productId, new Label(sku, name));
+    }
+
+    private void remove(Long productId) {
+        List<Key> previous = keysByProduct.remove(productId);
+        if (previous != null) {
+            previous.forEach(keys::remove);
+        }
+        labels.remove(productId);
+    }
+
+    /**
+     * Trie laid out breadth-first in parallel arrays. Children of a node are contiguous and
+     * sorted by label, and because keys are sorted, every node's subtree is the contiguous
+     * key range [lo, hi).
+     */
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = compile(new Key[0], Map.of());
+
+        private final String[] keys;
+        private final long[] productIds;
+        private final boolean[] sku;
+        private final Map<Long, Label> labels;
+
+        private final char[] label;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] lo;
+        private final int[] hi;
+
+        private Snapshot(String[] keys, long[] productIds, boolean[] sku, Map<Long, Label> labels,
+                         char[] label, int[] firstChild, int[] childCount, int[] lo, int[] hi) {
+            this.keys = keys;
+            this.productIds = productIds;
+            this.sku = sku;
+            this.labels = labels;
+            this.label = label;
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        private int nodeCount() {
+            return label.length;
+        }
+
+        private static Snapshot compile(Key[] sorted, Map<Long, Label> labels) {
+            int n = sorted.length;
+            String[] keys = new String[n];
+            long[] productIds = new long[n];
+            boolean[] sku = new boolean[n];
+            int chars = 1;
+            for (int i = 0; i < n; i++) {
+                keys[i] = sorted[i].text();
+                productIds[i] = sorted[i].productId();
+                sku[i] = sorted[i].sku();
+                chars += keys[i].length();
+            }
+
+            // Node count never exceeds total characters plus the root
+            char[] label = new char[chars];
+            int[] firstChild = new int[chars];
+            int[] childCount = new int[chars];
+            int[] lo = new int[chars];
+            int[] hi = new int[chars];
+            int[] depth = new int[chars];
+            hi[0] = n;
+            int nodes = 1;
+
+            for (int node = 0; node < nodes; node++) {
+                int d = depth[node];
+                int i = lo[node];
+                // Keys ending exactly at this node sort first and have no child
+                while (i < hi[node] && keys[i].length() == d) {
+                    i++;
+                }
+                firstChild[node] = nodes;
+                while (i < hi[node]) {
+                    char c = keys[i].charAt(d);
+                    int start = i;
+                    while (i < hi[node] && keys[i].charAt(d) == c) {
+                        i++;
+                    }
+                    label[nodes] = c;
+                    lo[nodes] = start;
+                    hi[nodes] = i;
+                    depth[nodes] = d + 1;
+                    nodes++;
+                }
+                childCount[node] = nodes - firstChild[node];
+            }
+
+            return new Snapshot(keys, productIds, sku, labels,
+                    Arrays.copyOf(label, nodes), Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                    Arrays.copyOf(lo, nodes), Arrays.copyOf(hi, nodes));
+        }
+
+        private int[] range(String prefix) {
+            int node = 0;
+            for (int p = 0; p < prefix.length(); p++) {
+                node = child(node, prefix.charAt(p));
+                if (node < 0) {
+                    return null;
+                }
+            }
+            return lo[node] < hi[node] ? new int[] {lo[node], hi[node]} : null;
+        }
+
+        private int child(int node, char c) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (label[mid] < c) {
+                    low = mid + 1;
+                } else if (label[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+}
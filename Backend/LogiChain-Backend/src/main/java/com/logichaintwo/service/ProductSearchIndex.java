@@ -0,0 +1,313 @@
+package com.logichaintwo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.projection.ProductTextView;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over product sku, name, category and description.
+ * Terms live in a sorted dictionary for prefix expansion, and a single-deletion
+ * neighbourhood of every term answers one-edit typos without scanning the dictionary.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+    private static final float SKU_WEIGHT = 4f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float EXACT_FACTOR = 1f;
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+
+    // Shorter terms get too many one-edit neighbours to be useful
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final ProductRepository productRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final Map<Long, Map<String, Float>> termsByProduct = new HashMap<>();
+    private final Map<Long, String> categoryByProduct = new HashMap<>();
+
+    public record Hit(long productId, float score) {
+    }
+
+    public record Result(List<Hit> hits, Map<String, Long> categoryFacets) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProductTextView> products = productRepo.findAllText();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            deletions.clear();
+            termsByProduct.clear();
+            categoryByProduct.clear();
+            for (ProductTextView p : products) {
+                add(p.getId(), p.getSku(), p.getName(), p.getDescription(), p.getCategory());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built: {} products, {} terms", products.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.productId());
+            if (!event.deleted()) {
+                add(event.productId(), event.sku(), event.name(), event.description(), event.category());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Every query token must match, exactly, as a prefix or (when fuzzy) within one edit.
+     * Facets count the categories of all matches before the category filter is applied.
+     */
+    public Result search(String query, String category, boolean fuzzy) {
+        List<String> tokens = tokenize(query);
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            if (tokens.isEmpty()) {
+                scores = new HashMap<>();
+                for (Long productId : termsByProduct.keySet()) {
+                    scores.put(productId, 0f);
+                }
+            }
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token, fuzzy);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Float> both = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float score = tokenScores.get(entry.getKey());
+                        if (score != null) {
+                            both.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            Map<String, Long> facets = new TreeMap<>();
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                String productCategory = categoryByProduct.get(entry.getKey());
+                if (productCategory != null) {
+                    facets.merge(productCategory, 1L, Long::sum);
+                }
+                if (category == null || category.equalsIgnoreCase(productCategory)) {
+                    hits.add(new Hit(entry.getKey(), entry.getValue()));
+                }
+            }
+            hits.sort(Comparator.comparingDouble((Hit hit) -> -hit.score()).thenComparingLong(Hit::productId));
+            return new Result(hits, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased alphanumeric runs
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Map<Long, Float> scoreToken(String token, boolean fuzzy) {
+        Map<Long, Float> scores = new HashMap<>();
+        collect(token, EXACT_FACTOR, scores);
+
+        NavigableMap<String, Map<Long, Float>> prefixed = postings.subMap(token, false, token + Character.MAX_VALUE, false);
+        int expansions = 0;
+        for (String term : prefixed.keySet()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            collect(term, PREFIX_FACTOR, scores);
+        }
+
+        if (fuzzy && token.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyCandidates(token)) {
+                collect(term, FUZZY_FACTOR, scores);
+            }
+        }
+        return scores;
+    }
+
+    private void collect(String term, float factor, Map<Long, Float> scores) {
+        Map<Long, Float> docs = postings.get(term);
+        if (docs == null) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) termsByProduct.size() / docs.size());
+        for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+            scores.merge(doc.getKey(), doc.getValue() * factor * idf, Math::max);
+        }
+    }
+
+    // Terms one insertion, deletion, substitution or adjacent swap away from the token
+    private Set<String> fuzzyCandidates(String token) {
+        Set<String> candidates = new HashSet<>();
+        for (String deleted : deletionsOf(token)) {
+            if (postings.containsKey(deleted)) {
+                candidates.add(deleted);
+            }
+            Set<String> terms = deletions.get(deleted);
+            if (terms != null) {
+                candidates.addAll(terms);
+            }
+        }
+        Set<String> terms = deletions.get(token);
+        if (terms != null) {
+            candidates.addAll(terms);
+        }
+        candidates.removeIf(term -> term.equals(token) || !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private void add(Long productId, String sku, String name, String description, String category) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        addField(terms, description, DESCRIPTION_WEIGHT);
+        addField(terms, category, CATEGORY_WEIGHT);
+        addField(terms, name, NAME_WEIGHT);
+        addField(terms, sku, SKU_WEIGHT);
+        if (sku != null) {
+            // "AB-1234" is also findable as "ab1234"
+            String compact = String.join("", tokenize(sku));
+            if (!compact.isEmpty()) {
+                terms.merge(compact, SKU_WEIGHT, Math::max);
+            }
+        }
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            Map<Long, Float> docs = postings.get(term.getKey());
+            if (docs == null) {
+                docs = new HashMap<>();
+                postings.put(term.getKey(), docs);
+                if (term.getKey().length() >= MIN_FUZZY_LENGTH) {
+                    for (String deleted : deletionsOf(term.getKey())) {
+                        deletions.computeIfAbsent(deleted, k -> new HashSet<>()).add(term.getKey());
+                    }
+                }
+            }
+            docs.put(productId, term.getValue());
+        }
+        termsByProduct.put(productId, terms);
+        if (category != null && !category.isBlank()) {
+            categoryByProduct.put(productId, category.trim());
+        }
+    }
+
+    private void remove(Long productId) {
+        Map<String, Float> terms = termsByProduct.remove(productId);
+        categoryByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs == null) {
+                continue;
+            }
+            docs.remove(productId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String deleted : deletionsOf(term)) {
+                    Set<String> owners = deletions.get(deleted);
+                    if (owners != null && owners.remove(term) && owners.isEmpty()) {
+                        deletions.remove(deleted);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    // Optimal string alignment distance <= 1
+    private static boolean withinOneEdit(String a, String b) {
+        int la = a.length();
+        int lb = b.length();
+        if (Math.abs(la - lb) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < la && i < lb && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (la == lb) {
+            if (a.regionMatches(i + 1, b, i + 1, la - i - 1)) {
+                return true;
+            }
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, la - i - 2);
+        }
+        return la > lb
+                ? a.regionMatches(i + 1, b, i, lb - i)
+                : b.regionMatches(i + 1, a, i, la - i);
+    }
+}
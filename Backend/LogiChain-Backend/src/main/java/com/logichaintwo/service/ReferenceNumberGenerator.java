@@ -0,0 +1,215 @@
+package com.logichaintwo.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Snowflake-style generator for order, return and tracking numbers. Each id packs
+ * 41 bits of milliseconds since EPOCH, a 10-bit node id and a 12-bit sequence, so
+ * replicas with distinct node ids never collide and no database round trip is needed.
+ * Ids are rendered as 13 Crockford base32 characters behind a type prefix; the width is
+ * fixed, so numbers sort in the order they were issued.
+ *
+ * Without an explicit ids.node-id, each replica leases one from the id_node_lease table
+ * and renews it on a thread of its own, so two running replicas can never share a node id.
+ * A lease that has not been renewed for node-lease-seconds (the replica died) is handed
+ * to the next replica that starts, and one released on a clean shutdown is reusable at once.
+ * Once this replica's own last renewal is that old, it stops issuing ids until it renews,
+ * since another replica may already hold the id.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ReferenceNumberGenerator {
+    public static final String ORDER_PREFIX = "ORD-";
+    public static final String RETURN_PREFIX = "RET-";
+    public static final String TRACKING_PREFIX = "TRK-";
+
+    static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LEASE_ATTEMPTS = 5;
+
+    private final long configuredNodeId;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final String owner = owner();
+
+    @Value("${ids.node-lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${ids.node-lease-renew-ms:20000}")
+    private long renewMs;
+
+    private volatile long nodeId = -1;
+    private volatile boolean leased;
+    // System.nanoTime() taken before the last lease or renewal that succeeded
+    private volatile long renewedAt;
+    private ScheduledExecutorService renewer;
+
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public ReferenceNumberGenerator(@Value("${ids.node-id:-1}") long configuredNodeId, JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate txTemplate) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("ids.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.configuredNodeId = configuredNodeId;
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = txTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        if (configuredNodeId >= 0) {
+            nodeId = configuredNodeId;
+            return;
+        }
+        long started = System.nanoTime();
+        nodeId = lease();
+        renewedAt = started;
+        leased = true;
+        log.info("Leased node id {} as {}", nodeId, owner);
+        // Not on the shared @Scheduled pool, where a long batch job would hold renewal back
+        renewer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("id-lease-renewer").daemon().factory());
+        renewer.scheduleWithFixedDelay(this::renewLease, renewMs, renewMs, TimeUnit.MILLISECONDS);
+    }
+
+    void renewLease() {
+        try {
+            long started = System.nanoTime();
+            int renewed = jdbcTemplate.update("UPDATE id_node_lease SET renewed_at = NOW() WHERE node_id = ? AND owner = ?",
+                    nodeId, owner);
+            if (renewed == 0) {
+                // Stalled past the lease and another replica took the id; carry on under a fresh one
+                long lost = nodeId;
+                nodeId = lease();
+                log.error("Lease on node id {} was lost, continuing as node id {}", lost, nodeId);
+            }
+            renewedAt = started;
+        } catch (RuntimeException e) {
+            // An exception would cancel the schedule; try again on the next run
+            log.error("Could not renew node id lease: {}", e.getMessage());
+        }
+    }
+
+    // Marked stale rather than deleted, so the id is reused before a new one is allocated
+    @PreDestroy
+    void releaseLease() {
+        if (leased) {
+            renewer.shutdownNow();
+            jdbcTemplate.update("UPDATE id_node_lease SET renewed_at = TIMESTAMP('2000-01-01') "
+                    + "WHERE node_id = ? AND owner = ?", nodeId, owner);
+        }
+    }
+
+    public String nextOrderNumber() {
+        return ORDER_PREFIX + encode(nextId());
+    }
+
+    public String nextReturnNumber() {
+        return RETURN_PREFIX + encode(nextId());
+    }
+
+    public String nextTrackingNumber() {
+        return TRACKING_PREFIX + encode(nextId());
+    }
+
+    /*
+     * Lock-free: the state only moves forward. When the sequence for a millisecond runs out,
+     * or the wall clock steps back, ids borrow from the following millisecond instead of
+     * blocking, and the clock catches up with them on its own.
+     */
+    public long nextId() {
+        if (leased && System.nanoTime() - renewedAt > TimeUnit.SECONDS.toNanos(leaseSeconds)) {
+            throw new IllegalStateException("Node id lease " + nodeId + " has not been renewed for "
+                    + leaseSeconds + "s; refusing to issue ids another replica may hold");
+        }
+        long tick = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long next = state.updateAndGet(last -> Math.max(last + 1, tick));
+        long millis = next >>> SEQUENCE_BITS;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /*
+     * Takes over the lowest stale lease, or failing that appends the next id. Two replicas
+     * appending at once collide on the primary key and the loser tries again.
+     */
+    private long lease() {
+        for (int attempt = 0; attempt < LEASE_ATTEMPTS; attempt++) {
+            try {
+                Long id = txTemplate.execute(status -> {
+                    List<Long> stale = jdbcTemplate.queryForList("SELECT node_id FROM id_node_lease "
+                            + "WHERE renewed_at < TIMESTAMPADD(SECOND, ?, NOW()) ORDER BY node_id LIMIT 1 "
+                            + "FOR UPDATE SKIP LOCKED", Long.class, -leaseSeconds);
+                    if (!stale.isEmpty()) {
+                        jdbcTemplate.update("UPDATE id_node_lease SET owner = ?, renewed_at = NOW() WHERE node_id = ?",
+                                owner, stale.get(0));
+                        return stale.get(0);
+                    }
+                    Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(node_id) + 1, 0) FROM id_node_lease",
+                            Long.class);
+                    if (next == null || next > MAX_NODE_ID) {
+                        throw new IllegalStateException("All " + (MAX_NODE_ID + 1)
+                                + " node ids are leased by running replicas");
+                    }
+                    jdbcTemplate.update("INSERT INTO id_node_lease (node_id, owner, renewed_at) VALUES (?, ?, NOW())",
+                            next, owner);
+                    return next;
+                });
+                return id;
+            } catch (DuplicateKeyException e) {
+                log.debug("Node id lease raced with another replica, retrying");
+            }
+        }
+        throw new IllegalStateException("Could not lease a node id after " + LEASE_ATTEMPTS + " attempts");
+    }
+
+    private static String owner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        String suffix = ":" + ProcessHandle.current().pid() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        return host.substring(0, Math.min(host.length(), 64 - suffix.length())) + suffix;
+    }
+}
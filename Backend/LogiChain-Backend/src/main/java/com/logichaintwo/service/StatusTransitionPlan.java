@@ -0,0 +1,99 @@
+package com.logichaintwo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.logichaintwo.enums.TransitionalStatus;
+import com.logichaintwo.exception.ConflictException;
+
+/**
+ * The bulk status change shared by orders and returns. Built from the locked current status of
+ * every requested row, it fails rows that are missing, not in the expected status or not allowed
+ * to move, counts rows already at the target as succeeded, and groups the rest by source status.
+ * apply() then moves each group with one UPDATE guarded by that status.
+ */
+public final class StatusTransitionPlan<S extends Enum<S> & TransitionalStatus<S>> {
+
+    @FunctionalInterface
+    public interface GuardedUpdate<S> {
+        // Moves ids still at expected to the target status; returns the rows updated
+        int apply(List<Long> ids, S expected);
+    }
+
+    private final String label;
+    private final Map<S, List<Long>> bySource = new LinkedHashMap<>();
+    private final List<Long> succeeded = new ArrayList<>();
+    private final Map<Long, String> failed = new LinkedHashMap<>();
+
+    private StatusTransitionPlan(String label) {
+        this.label = label;
+    }
+
+    public static <S extends Enum<S> & TransitionalStatus<S>> StatusTransitionPlan<S> plan(
+            String label, String notFound, Collection<Long> requested, Map<Long, S> current, S expected, S next) {
+        StatusTransitionPlan<S> plan = new StatusTransitionPlan<>(label);
+        String subject = Character.toUpperCase(label.charAt(0)) + label.substring(1);
+        for (Long id : new LinkedHashSet<>(requested)) {
+            S status = current.get(id);
+            if (status == null) {
+                plan.failed.put(id, notFound);
+            } else if (expected != null && status != expected) {
+                plan.failed.put(id, subject + " is " + status + ", expected " + expected);
+            } else if (status == next) {
+                plan.succeeded.add(id);
+            } else if (!status.canTransitionTo(next)) {
+                plan.failed.put(id, "Invalid " + label + " status transition: " + status + " -> " + next);
+            } else {
+                plan.bySource.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
+        }
+        return plan;
+    }
+
+    // Rows that will move, in request order within each source status
+    public List<Long> moving() {
+        return bySource.values().stream().flatMap(List::stream).toList();
+    }
+
+    // Holds a row back before apply(), e.g. when its side effects cannot be carried out
+    public void fail(Long id, String reason) {
+        bySource.values().forEach(group -> group.remove(id));
+        failed.put(id, reason);
+    }
+
+    /*
+     * Runs the guarded update per source group and hands each moved group to onMoved. The rows
+     * are locked, so a short count means something bypassed the lock; refuse rather than let
+     * the caller apply side effects to rows that did not move.
+     */
+    public List<Long> apply(GuardedUpdate<S> update, BiConsumer<S, List<Long>> onMoved) {
+        List<Long> moved = new ArrayList<>();
+        for (Map.Entry<S, List<Long>> group : bySource.entrySet()) {
+            if (group.getValue().isEmpty()) {
+                continue;
+            }
+            if (update.apply(group.getValue(), group.getKey()) != group.getValue().size()) {
+                throw new ConflictException(Character.toUpperCase(label.charAt(0)) + label.substring(1)
+                        + "s changed status concurrently, please retry");
+            }
+            onMoved.accept(group.getKey(), group.getValue());
+            moved.addAll(group.getValue());
+        }
+        succeeded.addAll(moved);
+        succeeded.sort(null);
+        return moved;
+    }
+
+    public List<Long> succeeded() {
+        return succeeded;
+    }
+
+    public Map<Long, String> failed() {
+        return failed;
+    }
+}
@@ -0,0 +1,125 @@
+package com.logichaintwo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.repository.NotificationRepository;
+import com.logichaintwo.repository.projection.UnreadCountView;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unread notification counts for the users who have asked recently, so the header badge is
+ * a map lookup. A user's count is loaded from the database on first read, then moved by the
+ * creations and reads committed on this replica. Changes made elsewhere (other replicas,
+ * direct SQL) are picked up by the periodic reconcile, which also forgets idle users.
+ */
+@Slf4j
+@Service
+public class UnreadNotificationCounter {
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository repo;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread.idle-ms:900000}")
+    private long idleMs;
+
+    public UnreadNotificationCounter(NotificationRepository repo) {
+        this.repo = repo;
+    }
+
+    private static final class Counter {
+        final AtomicLong unread;
+        volatile long lastReadAt = System.currentTimeMillis();
+
+        Counter(long unread) {
+            this.unread = new AtomicLong(unread);
+        }
+    }
+
+    public long get(Long userId) {
+        Counter counter = counters.computeIfAbsent(userId, id -> new Counter(repo.countByUserIdAndReadAtIsNull(id)));
+        counter.lastReadAt = System.currentTimeMillis();
+        return Math.max(0, counter.unread.get());
+    }
+
+    // The adjustments below apply once the surrounding transaction commits
+    public void created(Collection<Notification> notifications) {
+        Map<Long, Long> perUser = new HashMap<>();
+        for (Notification notification : notifications) {
+            perUser.merge(notification.getUserId(), 1L, Long::sum);
+        }
+        afterCommit(() -> perUser.forEach(this::adjust));
+    }
+
+    public void read(Long userId, int count) {
+        if (count > 0) {
+            afterCommit(() -> adjust(userId, -count));
+        }
+    }
+
+    public void invalidate(Long userId) {
+        afterCommit(() -> counters.remove(userId));
+    }
+
+    @Scheduled(initialDelayString = "${notifications.unread.reconcile-ms:60000}",
+               fixedDelayString = "${notifications.unread.reconcile-ms:60000}")
+    public void reconcile() {
+        long idleSince = System.currentTimeMillis() - idleMs;
+        counters.values().removeIf(counter -> counter.lastReadAt < idleSince);
+
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int drifted = 0;
+        for (int start = 0; start < userIds.size(); start += RECONCILE_BATCH_SIZE) {
+            List<Long> chunk = userIds.subList(start, Math.min(userIds.size(), start + RECONCILE_BATCH_SIZE));
+            Map<Long, Long> actual = new HashMap<>();
+            for (UnreadCountView view : repo.countUnreadByUserIds(chunk)) {
+                actual.put(view.getUserId(), view.getUnread());
+            }
+            for (Long userId : chunk) {
+                Counter counter = counters.get(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.unread.getAndSet(expected) != expected) {
+                    drifted++;
+                }
+            }
+        }
+        if (drifted > 0) {
+            log.debug("Reconciled unread counts for {} of {} users", drifted, userIds.size());
+        }
+    }
+
+    // Users without a counter are counted from the database when they next ask
+    private void adjust(Long userId, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.unread.addAndGet(delta);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
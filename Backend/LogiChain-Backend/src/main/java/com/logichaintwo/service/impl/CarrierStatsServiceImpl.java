@@ -0,0 +1,115 @@
+package com.logichaintwo.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.dto.CarrierStatsDTO;
+import com.logichaintwo.entities.CarrierStats;
+import com.logichaintwo.entities.CarrierTransitBucket;
+import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.enums.ShipmentStatus;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.CarrierRepository;
+import com.logichaintwo.repository.CarrierStatsRepository;
+import com.logichaintwo.repository.CarrierTransitBucketRepository;
+import com.logichaintwo.service.ICarrierStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class CarrierStatsServiceImpl implements ICarrierStatsService {
+    private static final int MAX_TRANSIT_DAYS_BUCKET = 14;
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
+    private final CarrierStatsRepository statsRepo;
+    private final CarrierTransitBucketRepository bucketRepo;
+    private final CarrierRepository carrierRepo;
+
+    // Runs inside the shipment transition's transaction so counters commit with the status change
+    @Override
+    @Transactional
+    public void recordTransition(Shipment shipment, ShipmentStatus from, ShipmentStatus to) {
+        Long carrierId = shipment.getCarrierId();
+        if (carrierId == null) {
+            return;
+        }
+        if (to == ShipmentStatus.FAILED) {
+            statsRepo.increment(carrierId, 0, 0, 1, 0);
+            return;
+        }
+        if (to != ShipmentStatus.DELIVERED) {
+            return;
+        }
+
+        LocalDateTime deliveredAt = shipment.getActualDeliveryDate() != null
+                ? shipment.getActualDeliveryDate()
+                : LocalDateTime.now();
+        LocalDateTime estimated = shipment.getEstimatedDeliveryDate();
+        long late = estimated != null && deliveredAt.isAfter(estimated) ? 1 : 0;
+
+        long transitHours = 0;
+        int transitDays = 0;
+        if (shipment.getCreatedAt() != null) {
+            Duration transit = Duration.between(shipment.getCreatedAt(), deliveredAt);
+            transitHours = Math.max(0, transit.toHours());
+            transitDays = (int) Math.min(MAX_TRANSIT_DAYS_BUCKET, Math.max(0, transit.toDays()));
+        }
+
+        statsRepo.increment(carrierId, 1, late, 0, transitHours);
+        bucketRepo.increment(carrierId, transitDays);
+    }
+
+    @Override
+    public CarrierStatsDTO getStats(Long carrierId) {
+        if (!carrierRepo.existsById(carrierId)) {
+            throw new ResourceNotFoundException("Carrier not found with id: " + carrierId);
+        }
+        CarrierStats stats = statsRepo.findById(carrierId).orElseGet(() -> {
+            CarrierStats empty = new CarrierStats();
+            empty.setCarrierId(carrierId);
+            empty.setUpdatedAt(null);
+            return empty;
+        });
+        CarrierStatsDTO dto = toDTO(stats);
+
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (CarrierTransitBucket bucket : bucketRepo.findByCarrierIdOrderByTransitDaysAsc(carrierId)) {
+            histogram.put(bucket.getTransitDays(), bucket.getShipmentCount());
+        }
+        dto.setTransitDaysHistogram(histogram);
+        return dto;
+    }
+
+    @Override
+    public List<CarrierStatsDTO> getLeaderboard(int limit, long minDelivered) {
+        int size = Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE));
+        return statsRepo.findLeaderboard(Math.max(0, minDelivered), PageRequest.of(0, size)).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private CarrierStatsDTO toDTO(CarrierStats stats) {
+        long delivered = stats.getDeliveredCount();
+        long failed = stats.getFailedCount();
+        long attempts = delivered + failed;
+        return CarrierStatsDTO.builder()
+                .carrierId(stats.getCarrierId())
+                .deliveredCount(delivered)
+                .lateCount(stats.getLateCount())
+                .failedCount(failed)
+                .onTimeRate(stats.getOnTimeRate())
+                .failureRate(attempts > 0 ? (double) failed / attempts : null)
+                .averageTransitHours(delivered > 0 ? (double) stats.getTotalTransitHours() / delivered : null)
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,268 @@
+package com.logichaintwo.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.dto.DispatchResultDTO;
+import com.logichaintwo.entities.Carrier;
+import com.logichaintwo.entities.CarrierStats;
+import com.logichaintwo.enums.ShipmentStatus;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.CarrierRepository;
+import com.logichaintwo.repository.CarrierStatsRepository;
+import com.logichaintwo.repository.OrderItemRepository;
+import com.logichaintwo.repository.ShipmentRepository;
+import com.logichaintwo.repository.WarehouseRepository;
+import com.logichaintwo.repository.projection.CarrierLoadView;
+import com.logichaintwo.repository.projection.OrderWeightView;
+import com.logichaintwo.repository.projection.ShipmentDispatchView;
+import com.logichaintwo.service.IDispatchService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class DispatchServiceImpl implements IDispatchService {
+    private static final int IN_CLAUSE_CHUNK = 1000;
+    private static final List<ShipmentStatus> OPEN_STATUSES =
+            List.of(ShipmentStatus.CREATED, ShipmentStatus.IN_TRANSIT, ShipmentStatus.OUT_FOR_DELIVERY);
+
+    // Carriers with little delivery history are pulled towards this on-time rate
+    private static final double PRIOR_ON_TIME_RATE = 0.9;
+    private static final double PRIOR_WEIGHT = 10.0;
+
+    private final ShipmentRepository shipmentRepo;
+    private final OrderItemRepository orderItemRepo;
+    private final CarrierRepository carrierRepo;
+    private final CarrierStatsRepository statsRepo;
+    private final WarehouseRepository warehouseRepo;
+
+    @Value("${dispatch.weight.cost:0.5}")
+    private double costWeight;
+
+    @Value("${dispatch.weight.on-time:0.4}")
+    private double onTimeWeight;
+
+    @Value("${dispatch.weight.load:0.1}")
+    private double loadWeight;
+
+    @Value("${dispatch.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    @Transactional
+    public DispatchResultDTO dispatch(Long warehouseId, boolean includeAssigned) {
+        long started = System.nanoTime();
+        if (!warehouseRepo.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse not found with id: " + warehouseId);
+        }
+        List<Carrier> carriers = carrierRepo.findAll();
+        if (carriers.isEmpty()) {
+            throw new InvalidInputException("No carriers are configured to dispatch to");
+        }
+
+        List<ShipmentDispatchView> candidates =
+                shipmentRepo.findDispatchCandidates(warehouseId, ShipmentStatus.CREATED, includeAssigned);
+        int n = candidates.size();
+        int m = carriers.size();
+        if (n == 0) {
+            return DispatchResultDTO.builder()
+                    .warehouseId(warehouseId)
+                    .unassignedShipmentIds(List.of())
+                    .skippedShipmentIds(List.of())
+                    .assignmentsByCarrier(Map.of())
+                    .elapsedMillis(elapsedMillis(started))
+                    .build();
+        }
+
+        Map<Long, Integer> carrierIndex = new HashMap<>();
+        double[] baseCost = new double[m];
+        double[] costPerKg = new double[m];
+        double[] onTimeRate = new double[m];
+        double[] loadRatio = new double[m];
+        int[] remaining = new int[m];
+        for (int c = 0; c < m; c++) {
+            Carrier carrier = carriers.get(c);
+            carrierIndex.put(carrier.getId(), c);
+            baseCost[c] = carrier.getBaseCost() != null ? carrier.getBaseCost().doubleValue() : 0.0;
+            costPerKg[c] = carrier.getCostPerKg() != null ? carrier.getCostPerKg().doubleValue() : 0.0;
+            onTimeRate[c] = PRIOR_ON_TIME_RATE;
+        }
+
+        int[] openLoad = new int[m];
+        for (CarrierLoadView load : shipmentRepo.countOpenShipmentsByCarrier(OPEN_STATUSES)) {
+            Integer c = carrierIndex.get(load.getCarrierId());
+            if (c != null) {
+                openLoad[c] = load.getOpenShipments().intValue();
+            }
+        }
+        // Shipments being re-planned no longer count against their current carrier
+        for (ShipmentDispatchView candidate : candidates) {
+            Integer c = candidate.getCarrierId() != null ? carrierIndex.get(candidate.getCarrierId()) : null;
+            if (c != null) {
+                openLoad[c]--;
+            }
+        }
+        for (int c = 0; c < m; c++) {
+            Integer capacity = carriers.get(c).getCapacity();
+            if (capacity == null) {
+                remaining[c] = Integer.MAX_VALUE;
+            } else {
+                remaining[c] = Math.max(0, capacity - openLoad[c]);
+                loadRatio[c] = Math.min(1.0, (double) openLoad[c] / capacity);
+            }
+        }
+
+        for (CarrierStats stats : statsRepo.findAllById(carrierIndex.keySet())) {
+            int c = carrierIndex.get(stats.getCarrierId());
+            double onTime = stats.getDeliveredCount() - stats.getLateCount();
+            onTimeRate[c] = (onTime + PRIOR_ON_TIME_RATE * PRIOR_WEIGHT) / (stats.getDeliveredCount() + PRIOR_WEIGHT);
+        }
+
+        double[] weight = loadWeights(candidates);
+
+        int[][] preferences = new int[n][];
+        double[] regret = new double[n];
+        try {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(i -> {
+                double[] score = new double[m];
+                double maxCost = 0.0;
+                for (int c = 0; c < m; c++) {
+                    score[c] = baseCost[c] + costPerKg[c] * weight[i];
+                    maxCost = Math.max(maxCost, score[c]);
+                }
+                for (int c = 0; c < m; c++) {
+                    double normalizedCost = maxCost > 0 ? score[c] / maxCost : 0.0;
+                    score[c] = costWeight * normalizedCost
+                            + onTimeWeight * (1.0 - onTimeRate[c])
+                            + loadWeight * loadRatio[c];
+                }
+                int[] ranked = IntStream.range(0, m).boxed()
+                        .sorted(Comparator.comparingDouble(c -> score[c]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                preferences[i] = ranked;
+                regret[i] = m > 1 ? score[ranked[1]] - score[ranked[0]] : 0.0;
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dispatch was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to score carriers for dispatch", e.getCause());
+        }
+
+        // Shipments that lose the most by missing their first choice pick first
+        Integer[] order = new Integer[n];
+        Arrays.setAll(order, i -> i);
+        Arrays.parallelSort(order, Comparator.comparingDouble((Integer i) -> regret[i]).reversed());
+
+        // Grouped by chosen carrier, then by the carrier each shipment had when it was read (0 for none)
+        Map<Integer, Map<Long, List<Long>>> idsByCarrier = new HashMap<>();
+        List<Long> unassigned = new ArrayList<>();
+        for (int i : order) {
+            int chosen = -1;
+            for (int c : preferences[i]) {
+                if (remaining[c] > 0) {
+                    chosen = c;
+                    break;
+                }
+            }
+            Long shipmentId = candidates.get(i).getId();
+            if (chosen < 0) {
+                unassigned.add(shipmentId);
+                continue;
+            }
+            if (remaining[chosen] != Integer.MAX_VALUE) {
+                remaining[chosen]--;
+            }
+            Long previous = candidates.get(i).getCarrierId() != null ? candidates.get(i).getCarrierId() : 0L;
+            idsByCarrier.computeIfAbsent(chosen, c -> new HashMap<>())
+                    .computeIfAbsent(previous, p -> new ArrayList<>()).add(shipmentId);
+        }
+
+        int assigned = 0;
+        List<Long> skipped = new ArrayList<>();
+        Map<Long, Integer> assignmentsByCarrier = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Map<Long, List<Long>>> entry : idsByCarrier.entrySet()) {
+            Long carrierId = carriers.get(entry.getKey()).getId();
+            int updated = 0;
+            for (Map.Entry<Long, List<Long>> group : entry.getValue().entrySet()) {
+                List<Long> ids = group.getValue();
+                for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                    List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK));
+                    int moved = shipmentRepo.assignCarrier(carrierId, chunk, ShipmentStatus.CREATED, group.getKey());
+                    if (moved != chunk.size()) {
+                        // Some changed status or carrier since they were read; name them instead of guessing
+                        Set<Long> landed = new HashSet<>(shipmentRepo.findIdsAssignedTo(carrierId, chunk));
+                        chunk.stream().filter(id -> !landed.contains(id)).forEach(skipped::add);
+                    }
+                    updated += moved;
+                }
+            }
+            assigned += updated;
+            assignmentsByCarrier.put(carrierId, updated);
+        }
+
+        return DispatchResultDTO.builder()
+                .warehouseId(warehouseId)
+                .candidateCount(n)
+                .assignedCount(assigned)
+                .unassignedShipmentIds(unassigned)
+                .skippedCount(skipped.size())
+                .skippedShipmentIds(skipped)
+                .assignmentsByCarrier(assignmentsByCarrier)
+                .elapsedMillis(elapsedMillis(started))
+                .build();
+    }
+
+    private double[] loadWeights(List<ShipmentDispatchView> candidates) {
+        Map<Long, Integer> positionByOrder = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            positionByOrder.put(candidates.get(i).getOrderId(), i);
+        }
+        List<Long> orderIds = new ArrayList<>(positionByOrder.keySet());
+        double[] weight = new double[candidates.size()];
+        for (int from = 0; from < orderIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + IN_CLAUSE_CHUNK));
+            for (OrderWeightView view : orderItemRepo.sumWeightByOrderIds(chunk)) {
+                if (view.getWeight() != null) {
+                    weight[positionByOrder.get(view.getOrderId())] = view.getWeight();
+                }
+            }
+        }
+        return weight;
+    }
+
+    private long elapsedMillis(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
@@ -0,0 +1,57 @@
+package com.logichaintwo.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.service.EmailService;
+import com.logichaintwo.service.NotificationSender;
+import com.logichaintwo.service.NotificationTemplateEngine;
+import com.logichaintwo.service.NotificationTemplateEngine.Rendered;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Emails use the NotificationTemplate named after the notification type when one exists,
+ * with {{message}}, {{username}}, {{orderId}} and {{notificationId}} available; values are
+ * HTML-escaped. Without a template the message is sent as a single paragraph.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailNotificationSender implements NotificationSender {
+    private final EmailService emailService;
+    private final NotificationTemplateEngine templateEngine;
+
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.EMAIL;
+    }
+
+    @Override
+    public void send(Notification notification) throws Exception {
+        String email = notification.getUser() != null ? notification.getUser().getEmail() : null;
+        if (email == null || email.isBlank()) {
+            throw new UndeliverableException("User " + notification.getUserId() + " has no email address");
+        }
+        String message = HtmlUtils.htmlEscape(notification.getMessage());
+        Map<String, Object> values = new HashMap<>(8);
+        values.put("message", message);
+        values.put("username", HtmlUtils.htmlEscape(notification.getUser().getUsername()));
+        values.put("orderId", notification.getOrderId());
+        values.put("notificationId", notification.getId());
+
+        Rendered rendered = templateEngine.render(notification.getNotificationType().name(), values)
+                .orElseGet(() -> new Rendered(subjectOf(notification), "<p>" + message + "</p>"));
+        emailService.sendNotificationEmail(email, rendered.subject(), rendered.body());
+    }
+
+    // ORDER_PLACED -> "LogiChain: Order placed"
+    static String subjectOf(Notification notification) {
+        String type = notification.getNotificationType().name().replace('_', ' ').toLowerCase();
+        return "LogiChain: " + Character.toUpperCase(type.charAt(0)) + type.substring(1);
+    }
+}
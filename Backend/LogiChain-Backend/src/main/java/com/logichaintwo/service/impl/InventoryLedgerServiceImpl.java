@@ -0,0 +1,253 @@
+package com.logichaintwo.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.dto.InventoryBalanceDTO;
+import com.logichaintwo.dto.InventoryLedgerEntryDTO;
+import com.logichaintwo.dto.InventoryLedgerPageDTO;
+import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.entities.InventoryBalanceSnapshot;
+import com.logichaintwo.entities.InventoryTransaction;
+import com.logichaintwo.enums.TransactionType;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.InventoryBalanceSnapshotRepository;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.InventoryTransactionRepository;
+import com.logichaintwo.repository.projection.LedgerTotalView;
+import com.logichaintwo.service.IInventoryLedgerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only stock ledger. Balances at a point in time are the latest snapshot at or
+ * before it plus a replay of the entries written since, so the replay never spans more
+ * than one snapshot interval.
+ *
+ * Ledger ids are allocated at insert but become visible at commit, so a snapshot taken up
+ * to the highest visible id could pass over a lower id that commits afterwards and never
+ * count it. Snapshots therefore only roll forward to the newest entry written at least
+ * snapshot-lag-ms ago, which must exceed the longest transaction that writes to the ledger.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryLedgerServiceImpl implements IInventoryLedgerService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String INSERT_SQL = "INSERT INTO inventory_transaction "
+            + "(inventory_id, transaction_type, quantity_changed, reference_id, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final InventoryTransactionRepository transactionRepo;
+    private final InventoryBalanceSnapshotRepository snapshotRepo;
+    private final InventoryRepository inventoryRepo;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.ledger.snapshot-lag-ms:300000}")
+    private long snapshotLagMs;
+
+    @Override
+    @Transactional
+    public void record(Long inventoryId, TransactionType type, int quantity, Long referenceId) {
+        if (quantity <= 0) {
+            throw new InvalidInputException("Ledger quantity must be positive");
+        }
+        InventoryTransaction transaction = new InventoryTransaction();
+        transaction.setInventoryId(inventoryId);
+        transaction.setTransactionType(type);
+        transaction.setQuantityChanged(quantity);
+        transaction.setReferenceId(referenceId);
+        transactionRepo.save(transaction);
+    }
+
+    // Many entries in one JDBC batch, for bulk movements that would otherwise insert row by row
+    @Override
+    @Transactional
+    public void recordAll(List<InventoryTransaction> entries) {
+        for (InventoryTransaction entry : entries) {
+            if (entry.getQuantityChanged() == null || entry.getQuantityChanged() <= 0) {
+                throw new InvalidInputException("Ledger quantity must be positive");
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getInventoryId());
+            ps.setString(2, entry.getTransactionType().name());
+            ps.setInt(3, entry.getQuantityChanged());
+            ps.setObject(4, entry.getReferenceId());
+            ps.setTimestamp(5, entry.getTimestamp() != null ? Timestamp.valueOf(entry.getTimestamp()) : now);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void recordChange(Long inventoryId, int quantityDelta, int reservedDelta, Long referenceId) {
+        if (quantityDelta != 0) {
+            record(inventoryId, quantityDelta > 0 ? TransactionType.STOCK_IN : TransactionType.STOCK_OUT,
+                    Math.abs(quantityDelta), referenceId);
+        }
+        if (reservedDelta != 0) {
+            record(inventoryId, reservedDelta > 0 ? TransactionType.RESERVED : TransactionType.RELEASED,
+                    Math.abs(reservedDelta), referenceId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryLedgerPageDTO getHistory(Long inventoryId, Long afterId, int size) {
+        if (!inventoryRepo.existsById(inventoryId)) {
+            throw new ResourceNotFoundException("Inventory not found with id: " + inventoryId);
+        }
+        long cursor = afterId != null ? Math.max(afterId, 0) : 0;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        int[] balance = balanceAfter(inventoryId, cursor);
+        List<InventoryTransaction> page = transactionRepo.findByInventoryIdAndIdGreaterThanOrderByIdAsc(
+                inventoryId, cursor, PageRequest.of(0, pageSize));
+        List<InventoryLedgerEntryDTO> entries = new ArrayList<>(page.size());
+        for (InventoryTransaction t : page) {
+            apply(balance, t.getTransactionType(), t.getQuantityChanged() != null ? t.getQuantityChanged() : 0);
+            entries.add(InventoryLedgerEntryDTO.builder()
+                    .id(t.getId())
+                    .transactionType(t.getTransactionType())
+                    .quantityChanged(t.getQuantityChanged())
+                    .referenceId(t.getReferenceId())
+                    .timestamp(t.getTimestamp())
+                    .quantityAfter(balance[0])
+                    .reservedQuantityAfter(balance[1])
+                    .build());
+        }
+        return InventoryLedgerPageDTO.builder()
+                .inventoryId(inventoryId)
+                .entries(entries)
+                .nextAfterId(page.size() == pageSize ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryBalanceDTO getBalanceAt(Long inventoryId, LocalDateTime at) {
+        Inventory inventory = inventoryRepo.findById(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + inventoryId));
+        return balanceAt(inventory, at);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InventoryBalanceDTO getBalanceAt(Long productId, Long warehouseId, LocalDateTime at) {
+        Inventory inventory = inventoryRepo.findByProductIdAndWarehouseId(productId, warehouseId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No inventory found for product id: " + productId + " in warehouse id: " + warehouseId));
+        return balanceAt(inventory, at);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${inventory.ledger.snapshot-interval-ms:900000}",
+               fixedDelayString = "${inventory.ledger.snapshot-interval-ms:900000}")
+    public int takeSnapshots() {
+        LocalDateTime watermark = LocalDateTime.now().minusNanos(snapshotLagMs * 1_000_000);
+        long upToId = transactionRepo.findLastIdBefore(watermark).orElse(0L);
+        if (upToId == 0) {
+            return 0;
+        }
+        int taken = snapshotRepo.rollForward(upToId);
+        if (taken > 0) {
+            log.info("Inventory ledger snapshots taken for {} records", taken);
+        }
+        return taken;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void anchorOnStartup() {
+        int anchored = snapshotRepo.anchorUnsnapshotted();
+        if (anchored > 0) {
+            log.info("Anchored {} inventory records at their current balance", anchored);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void forget(Long inventoryId) {
+        snapshotRepo.deleteByInventoryId(inventoryId);
+    }
+
+    private InventoryBalanceDTO balanceAt(Inventory inventory, LocalDateTime at) {
+        LocalDateTime pointInTime = at != null ? at : LocalDateTime.now();
+        InventoryBalanceSnapshot snapshot = snapshotRepo
+                .findFirstByInventoryIdAndTakenAtLessThanEqualOrderByLastTransactionIdDesc(inventory.getId(), pointInTime)
+                .orElse(null);
+        int[] balance = start(snapshot);
+        long afterId = snapshot != null ? snapshot.getLastTransactionId() : 0;
+        long replayed = replay(balance, transactionRepo.sumAfterUntil(inventory.getId(), afterId, pointInTime));
+
+        return InventoryBalanceDTO.builder()
+                .inventoryId(inventory.getId())
+                .productId(inventory.getProductId())
+                .warehouseId(inventory.getWarehouseId())
+                .at(pointInTime)
+                .quantity(balance[0])
+                .reservedQuantity(balance[1])
+                .availableQuantity(balance[0] - balance[1])
+                .snapshotTransactionId(snapshot != null ? snapshot.getLastTransactionId() : null)
+                .replayedEntries(replayed)
+                .build();
+    }
+
+    /*
+     * Balance after the given ledger entry: nearest snapshot at or before it, then the entries
+     * in between. A cursor of 0 still looks for a snapshot, since records that predate the
+     * ledger are anchored at last_transaction_id 0 with their opening balance.
+     */
+    private int[] balanceAfter(Long inventoryId, long transactionId) {
+        InventoryBalanceSnapshot snapshot = snapshotRepo
+                .findFirstByInventoryIdAndLastTransactionIdLessThanEqualOrderByLastTransactionIdDesc(inventoryId, transactionId)
+                .orElse(null);
+        int[] balance = start(snapshot);
+        long afterId = snapshot != null ? snapshot.getLastTransactionId() : 0;
+        if (afterId < transactionId) {
+            replay(balance, transactionRepo.sumBetween(inventoryId, afterId, transactionId));
+        }
+        return balance;
+    }
+
+    private static int[] start(InventoryBalanceSnapshot snapshot) {
+        return snapshot != null
+                ? new int[] {snapshot.getQuantity(), snapshot.getReservedQuantity()}
+                : new int[2];
+    }
+
+    private static long replay(int[] balance, List<LedgerTotalView> totals) {
+        long entries = 0;
+        for (LedgerTotalView total : totals) {
+            apply(balance, total.getTransactionType(), total.getQuantity() != null ? total.getQuantity().intValue() : 0);
+            entries += total.getEntries();
+        }
+        return entries;
+    }
+
+    private static void apply(int[] balance, TransactionType type, int quantity) {
+        switch (type) {
+            case STOCK_IN -> balance[0] += quantity;
+            case STOCK_OUT -> balance[0] -= quantity;
+            case RESERVED -> balance[1] += quantity;
+            case RELEASED -> balance[1] -= quantity;
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.logichaintwo.service.impl;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.logichaintwo.dto.InventoryDTO;
 import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.event.InventoryDeletedEvent;
+import com.logichaintwo.event.ProductStockChangedEvent;
+import com.logichaintwo.exception.InvalidInputException;
 import com.logichaintwo.exception.ResourceNotFoundException;
 import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.service.IInventoryLedgerService;
 import com.logichaintwo.service.IInventoryService;
+import com.logichaintwo.service.IWarehouseService;
+import com.logichaintwo.service.LowStockMonitor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,8 +27,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class InventoryServiceImpl implements IInventoryService {
     private final InventoryRepository repo;
+    private final IInventoryLedgerService ledgerService;
+    private final IWarehouseService warehouseService;
+    private final LowStockMonitor lowStockMonitor;
     private final ModelMapper mapper;
-    private static final int LOW_STOCK_THRESHOLD = 10;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<InventoryDTO> getAll() {
@@ -48,22 +60,62 @@ public class InventoryServiceImpl implements IInventoryService {
     
     @Override
     public List<InventoryDTO> getLowStock() {
-        List<Inventory> lowStockItems = repo.findByQuantityLessThan(LOW_STOCK_THRESHOLD);
+        List<Inventory> lowStockItems = repo.findByLowStockTrue();
         return lowStockItems.stream()
                 .map(e -> mapper.map(e, InventoryDTO.class))
                 .collect(Collectors.toList());
     }
 
+    /*
+     * Every change to on-hand stock is written to the transaction ledger. Reserved stock is
+     * owned by the reservation service, so any reservedQuantity in the request is ignored:
+     * new records start with nothing held and updates keep whatever is held now.
+     */
     @Override
+    @Transactional
     public InventoryDTO save(Inventory inventory) {
-        return mapper.map(repo.save(inventory), InventoryDTO.class);
+        if (inventory.getId() == null) {
+            inventory.setReservedQuantity(0);
+            inventory.setLowStock(false);
+            inventory.setLowStockAlertedAt(null);
+            Inventory saved = repo.save(inventory);
+            warehouseService.applyStockChange(saved.getWarehouseId(), saved.getProductId(), saved.getQuantity());
+            ledgerService.recordChange(saved.getId(), saved.getQuantity(), 0, null);
+            lowStockMonitor.evaluate(saved);
+            return mapper.map(saved, InventoryDTO.class);
+        }
+
+        // Copy onto the managed row: merging the request body would orphan-remove its transactions.
+        // Locked so a reservation cannot change reservedQuantity between this read and the write.
+        Inventory existing = repo.findByIdForUpdate(inventory.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + inventory.getId()));
+        if (!existing.getProductId().equals(inventory.getProductId())
+                || !existing.getWarehouseId().equals(inventory.getWarehouseId())) {
+            throw new InvalidInputException("Product and warehouse of an inventory record cannot be changed");
+        }
+        if (inventory.getQuantity() < existing.getReservedQuantity()) {
+            throw new InvalidInputException("Quantity cannot drop below the " + existing.getReservedQuantity()
+                    + " units currently reserved");
+        }
+        int quantityDelta = inventory.getQuantity() - existing.getQuantity();
+        existing.setQuantity(inventory.getQuantity());
+        existing.setReorderPoint(inventory.getReorderPoint());
+        Inventory saved = repo.save(existing);
+        warehouseService.applyStockChange(saved.getWarehouseId(), saved.getProductId(), quantityDelta);
+        ledgerService.recordChange(saved.getId(), quantityDelta, 0, null);
+        lowStockMonitor.evaluate(saved);
+        return mapper.map(saved, InventoryDTO.class);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Inventory not found with id: " + id);
-        }
-        repo.deleteById(id);
+        Inventory inventory = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + id));
+        warehouseService.applyStockChange(inventory.getWarehouseId(), inventory.getProductId(), -inventory.getQuantity());
+        repo.delete(inventory);
+        ledgerService.forget(id);
+        eventPublisher.publishEvent(new InventoryDeletedEvent(id));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(Set.of(inventory.getProductId())));
     }
 }
\ No newline at end of file
@@ -1,23 +1,33 @@
 package com.logichaintwo.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.logichaintwo.dto.NotificationDTO;
+import com.logichaintwo.dto.NotificationInboxPageDTO;
 import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationStatus;
 import com.logichaintwo.exception.ResourceNotFoundException;
 import com.logichaintwo.repository.NotificationRepository;
 import com.logichaintwo.service.INotificationService;
+import com.logichaintwo.service.UnreadNotificationCounter;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements INotificationService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository repo;
+    private final UnreadNotificationCounter unreadCounter;
     private final ModelMapper mapper;
 
     @Override
@@ -34,27 +44,81 @@ public class NotificationServiceImpl implements INotificationService {
         return mapper.map(notification, NotificationDTO.class);
     }
 
+    // An empty history is a valid answer, not a missing resource
     @Override
     public List<NotificationDTO> getByUserId(Long userId) {
-        List<Notification> notifications = repo.findByUserId(userId);
-        if (notifications.isEmpty()) {
-            throw new ResourceNotFoundException("No notifications found for user id: " + userId);
-        }
-        return notifications.stream()
+        return repo.findByUserId(userId).stream()
                 .map(e -> mapper.map(e, NotificationDTO.class))
                 .collect(Collectors.toList());
     }
 
+    // Keyset paging: one row beyond the page is read only to tell whether another page exists
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationInboxPageDTO getInbox(Long userId, Long beforeId, int size, boolean unreadOnly) {
+        long cursor = beforeId != null ? beforeId : Long.MAX_VALUE;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Notification> rows = unreadOnly
+                ? repo.findByUserIdAndReadAtIsNullAndIdLessThanOrderByIdDesc(userId, cursor, page)
+                : repo.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor, page);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Notification> visible = hasNext ? rows.subList(0, pageSize) : rows;
+        return NotificationInboxPageDTO.builder()
+                .userId(userId)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextBeforeId(hasNext ? visible.get(visible.size() - 1).getId() : null)
+                .unreadCount(unreadCounter.get(userId))
+                .notifications(visible.stream().map(e -> mapper.map(e, NotificationDTO.class)).toList())
+                .build();
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    @Override
+    @Transactional
+    public int markRead(Long userId, Collection<Long> notificationIds) {
+        int updated = repo.markRead(userId, notificationIds, LocalDateTime.now());
+        unreadCounter.read(userId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int markAllRead(Long userId) {
+        int updated = repo.markAllRead(userId, LocalDateTime.now());
+        unreadCounter.read(userId, updated);
+        return updated;
+    }
+
     @Override
+    @Transactional
     public NotificationDTO save(Notification notification) {
-        return mapper.map(repo.save(notification), NotificationDTO.class);
+        if (notification.getStatus() == null) {
+            // Queued for NotificationDispatcher
+            notification.setStatus(NotificationStatus.PENDING);
+        }
+        boolean created = notification.getId() == null;
+        Notification saved = repo.save(notification);
+        if (created) {
+            unreadCounter.created(List.of(saved));
+        } else {
+            unreadCounter.invalidate(saved.getUserId());
+        }
+        return mapper.map(saved, NotificationDTO.class);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Notification not found with id: " + id);
-        }
-        repo.deleteById(id);
+        Notification notification = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found with id: " + id));
+        repo.delete(notification);
+        unreadCounter.invalidate(notification.getUserId());
     }
-}
\ No newline at end of file
+}
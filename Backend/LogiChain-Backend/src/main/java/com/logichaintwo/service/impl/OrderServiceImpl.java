@@ -1,24 +1,69 @@
 package com.logichaintwo.service.impl;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.logichaintwo.dto.BulkOrderStatusRequest;
+import com.logichaintwo.dto.BulkOrderStatusResultDTO;
+import com.logichaintwo.dto.OrderHistoryEntryDTO;
+import com.logichaintwo.dto.OrderHistoryPageDTO;
+import com.logichaintwo.dto.NotificationDTO;
 import com.logichaintwo.dto.OrderDTO;
+import com.logichaintwo.dto.OrderDetailsDTO;
+import com.logichaintwo.dto.OrderStatusHistoryDTO;
+import com.logichaintwo.dto.ReturnDTO;
+import com.logichaintwo.dto.ShipmentDTO;
+import com.logichaintwo.dto.ShipmentEventDTO;
 import com.logichaintwo.entities.Order;
+import com.logichaintwo.entities.OrderItem;
+import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.entities.OrderStatusHistory;
 import com.logichaintwo.enums.OrderStatus;
+import com.logichaintwo.exception.InvalidInputException;
 import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.NotificationRepository;
+import com.logichaintwo.repository.OrderItemRepository;
 import com.logichaintwo.repository.OrderRepository;
+import com.logichaintwo.repository.OrderStatusHistoryRepository;
+import com.logichaintwo.repository.ReturnRepository;
+import com.logichaintwo.repository.projection.OrderHistoryView;
+import com.logichaintwo.repository.projection.OrderStatusView;
+import com.logichaintwo.repository.projection.OrderSummaryView;
 import com.logichaintwo.service.IOrderService;
+import com.logichaintwo.service.IProductPriceService;
+import com.logichaintwo.service.ReferenceNumberGenerator;
+import com.logichaintwo.service.StatusTransitionPlan;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements IOrderService {
+    private static final String ORDER_NOT_FOUND = "Order not found";
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final OrderRepository repo;
+    private final OrderStatusHistoryRepository historyRepo;
+    private final OrderItemRepository itemRepo;
+    private final ReturnRepository returnRepo;
+    private final NotificationRepository notificationRepo;
+    private final IProductPriceService priceService;
+    private final ReferenceNumberGenerator numberGenerator;
     private final ModelMapper mapper;
 
     @Override
@@ -35,36 +80,183 @@ public class OrderServiceImpl implements IOrderService {
         return mapper.map(order, OrderDTO.class);
     }
 
+    /*
+     * Four statements however large the order: the order with customer, shipment, carrier and
+     * timeline; items with their products; returns; notifications with their users. Every
+     * eager back-reference those rows carry resolves from the persistence context.
+     */
     @Override
-    public List<OrderDTO> getByCustomerId(Long customerId) {
-        List<Order> orders = repo.findByCustomerId(customerId);
-        if (orders.isEmpty()) {
-            throw new ResourceNotFoundException("No orders found for customer id: " + customerId);
+    @Transactional(readOnly = true)
+    public OrderDetailsDTO getDetails(Long id) {
+        Order order = repo.findDetailsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+
+        List<OrderDetailsDTO.Item> items = new ArrayList<>();
+        for (OrderItem item : itemRepo.findWithProductByOrderId(id)) {
+            items.add(OrderDetailsDTO.Item.builder()
+                    .id(item.getId())
+                    .productId(item.getProductId())
+                    .sku(item.getProduct() != null ? item.getProduct().getSku() : null)
+                    .productName(item.getProductName())
+                    .quantity(item.getQuantity())
+                    .unitPrice(item.getUnitPrice())
+                    .subtotal(item.getSubtotal())
+                    .build());
         }
-        return orders.stream()
+
+        Shipment shipment = order.getShipment();
+        ShipmentDTO shipmentDTO = null;
+        List<ShipmentEventDTO> events = List.of();
+        if (shipment != null) {
+            shipmentDTO = mapper.map(shipment, ShipmentDTO.class);
+            shipmentDTO.setOrder(null);
+            events = shipment.getEvents().stream()
+                    .map(e -> mapper.map(e, ShipmentEventDTO.class))
+                    .collect(Collectors.toList());
+        }
+
+        List<ReturnDTO> returns = returnRepo.findByOrderIdOrderByIdAsc(id).stream()
+                .map(e -> {
+                    ReturnDTO dto = mapper.map(e, ReturnDTO.class);
+                    dto.setOrder(null);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+        List<NotificationDTO> notifications = notificationRepo.findWithUserByOrderId(id).stream()
+                .map(e -> mapper.map(e, NotificationDTO.class))
+                .collect(Collectors.toList());
+
+        return OrderDetailsDTO.builder()
+                .order(mapper.map(order, OrderDTO.class))
+                .items(items)
+                .shipment(shipmentDTO)
+                .shipmentEvents(events)
+                .returns(returns)
+                .notifications(notifications)
+                .build();
+    }
+
+    @Override
+    public List<OrderDTO> getByCustomerId(Long customerId) {
+        return repo.findByCustomerId(customerId).stream()
                 .map(e -> mapper.map(e, OrderDTO.class))
                 .collect(Collectors.toList());
     }
+
+    /*
+     * Reads only the covering index columns, keyset-paged on (orderDate, id) so a deep page costs
+     * the same as the first; an empty page is a normal answer, not an error.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryPageDTO getHistory(Long customerId, LocalDateTime beforeDate, Long beforeId, int size,
+                                          boolean includeSummary) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((beforeDate == null) != (beforeId == null)) {
+            throw new InvalidInputException("beforeDate and beforeId must be given together");
+        }
+        // One row past the page tells whether another page follows
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<OrderHistoryView> rows = beforeDate == null
+                ? repo.findHistoryByCustomerId(customerId, limit)
+                : repo.findHistoryByCustomerIdBefore(customerId, beforeDate, beforeId, limit);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        Map<Long, OrderHistoryEntryDTO> entries = new LinkedHashMap<>();
+        for (OrderHistoryView view : rows) {
+            entries.put(view.getId(), OrderHistoryEntryDTO.builder()
+                    .id(view.getId())
+                    .orderNumber(view.getOrderNumber())
+                    .orderDate(view.getOrderDate())
+                    .orderStatus(view.getOrderStatus())
+                    .totalAmount(view.getTotalAmount())
+                    .build());
+        }
+        if (includeSummary && !entries.isEmpty()) {
+            for (OrderSummaryView summary : repo.summarize(entries.keySet())) {
+                OrderHistoryEntryDTO entry = entries.get(summary.getOrderId());
+                entry.setItemCount(summary.getItemCount());
+                entry.setUnitCount(summary.getUnitCount());
+                entry.setShipmentStatus(summary.getShipmentStatus());
+            }
+        }
+        OrderHistoryView last = hasNext ? rows.get(rows.size() - 1) : null;
+        return OrderHistoryPageDTO.builder()
+                .customerId(customerId)
+                .size(size)
+                .hasNext(hasNext)
+                .nextBeforeDate(last != null ? last.getOrderDate() : null)
+                .nextBeforeId(last != null ? last.getId() : null)
+                .orders(new ArrayList<>(entries.values()))
+                .build();
+    }
     
     @Override
-    public OrderDTO updateStatus(Long id, String status) {
-        Order order = repo.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        
-        try {
-            OrderStatus newStatus = OrderStatus.valueOf(status.toUpperCase());
-            order.setOrderStatus(newStatus);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Invalid status value: " + status);
+    @Transactional
+    public OrderDTO updateStatus(Long id, String status, Long changedBy) {
+        OrderStatus next = parseStatus(status);
+        BulkOrderStatusResultDTO result = transition(List.of(id), null, next, changedBy, null);
+        String failure = result.getFailed().get(id);
+        if (ORDER_NOT_FOUND.equals(failure)) {
+            throw new ResourceNotFoundException("Order not found with id: " + id);
+        }
+        if (failure != null) {
+            throw new InvalidInputException(failure);
         }
-        
-        Order updatedOrder = repo.save(order);
-        return mapper.map(updatedOrder, OrderDTO.class);
+        return getById(id);
     }
 
     @Override
+    @Transactional
+    public BulkOrderStatusResultDTO updateStatuses(BulkOrderStatusRequest request, Long changedBy) {
+        return transition(request.getOrderIds(), request.getExpectedStatus(), request.getStatus(), changedBy,
+                request.getNote());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderStatusHistoryDTO> getStatusHistory(Long id) {
+        if (!repo.existsById(id)) {
+            throw new ResourceNotFoundException("Order not found with id: " + id);
+        }
+        return historyRepo.findByOrderIdOrderByIdAsc(id).stream()
+                .map(e -> mapper.map(e, OrderStatusHistoryDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    // Status changes on an existing order go through the transition table like any other
+    @Override
+    @Transactional
     public OrderDTO save(Order order) {
-        return mapper.map(repo.save(order), OrderDTO.class);
+        if (order.getId() == null) {
+            priceItems(order, Map.of());
+            order.setOrderNumber(numberGenerator.nextOrderNumber());
+            // Every order starts at PENDING; later statuses only come through the transition table
+            order.setOrderStatus(OrderStatus.PENDING);
+            Order created = repo.save(order);
+            OrderStatusHistory entry = new OrderStatusHistory();
+            entry.setOrderId(created.getId());
+            entry.setToStatus(created.getOrderStatus());
+            entry.setNote("Order created");
+            historyRepo.save(entry);
+            return mapper.map(created, OrderDTO.class);
+        }
+        Order existing = repo.findById(order.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + order.getId()));
+        OrderStatus requested = order.getOrderStatus();
+        priceItems(order, itemRepo.findByOrderId(order.getId()).stream()
+                .collect(Collectors.toMap(OrderItem::getId, Function.identity())));
+        order.setOrderNumber(existing.getOrderNumber());
+        order.setOrderStatus(existing.getOrderStatus());
+        repo.saveAndFlush(order);
+        if (requested != null && requested != existing.getOrderStatus()) {
+            return updateStatus(order.getId(), requested.name(), null);
+        }
+        return getById(order.getId());
     }
 
     @Override
@@ -74,4 +266,81 @@ public class OrderServiceImpl implements IOrderService {
         }
         repo.deleteById(id);
     }
-}
\ No newline at end of file
+
+    /*
+     * Prices come from the catalogue, never the request body: items already on the order keep
+     * the price they were bought at as long as they still name the same product, anything else
+     * takes the current price, and the total is their sum. An update that sends no items keeps
+     * the stored ones; a new order must have at least one.
+     */
+    private void priceItems(Order order, Map<Long, OrderItem> stored) {
+        List<OrderItem> items = order.getOrderItems();
+        if (items == null || items.isEmpty()) {
+            if (stored.isEmpty()) {
+                throw new InvalidInputException("An order needs at least one item");
+            }
+            order.setOrderItems(new ArrayList<>(stored.values()));
+            order.setTotalAmount(stored.values().stream()
+                    .map(OrderItem::getSubtotal)
+                    .filter(subtotal -> subtotal != null)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+            return;
+        }
+        Map<Long, BigDecimal> prices = priceService.currentPrices(items.stream()
+                .map(OrderItem::getProductId)
+                .filter(productId -> productId != null)
+                .collect(Collectors.toSet()));
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new InvalidInputException("Item quantity must be positive");
+            }
+            OrderItem previous = item.getId() != null ? stored.get(item.getId()) : null;
+            BigDecimal unitPrice = previous != null && Objects.equals(previous.getProductId(), item.getProductId())
+                    ? previous.getUnitPrice() : prices.get(item.getProductId());
+            if (unitPrice == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + item.getProductId());
+            }
+            item.setUnitPrice(unitPrice);
+            item.setSubtotal(unitPrice.multiply(BigDecimal.valueOf(item.getQuantity())));
+            total = total.add(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+    }
+
+    /*
+     * Locks the requested orders, groups them by current status, and moves each group with one
+     * UPDATE guarded by that status plus one INSERT ... SELECT into the history table. Orders
+     * already at the target count as succeeded without a history entry.
+     */
+    private BulkOrderStatusResultDTO transition(Collection<Long> orderIds, OrderStatus expected, OrderStatus next,
+                                                Long changedBy, String note) {
+        Map<Long, OrderStatus> current = new HashMap<>();
+        for (OrderStatusView view : repo.lockStatuses(new LinkedHashSet<>(orderIds))) {
+            current.put(view.getId(), OrderStatus.valueOf(view.getOrderStatus()));
+        }
+        StatusTransitionPlan<OrderStatus> plan = StatusTransitionPlan.plan("order", ORDER_NOT_FOUND, orderIds,
+                current, expected, next);
+
+        LocalDateTime at = LocalDateTime.now();
+        plan.apply((ids, source) -> repo.transitionStatus(ids, source, next),
+                (source, ids) -> historyRepo.appendAll(ids, source.name(), next.name(), changedBy, note, at));
+
+        return BulkOrderStatusResultDTO.builder()
+                .status(next)
+                .succeeded(plan.succeeded())
+                .failed(plan.failed())
+                .build();
+    }
+
+    private static OrderStatus parseStatus(String status) {
+        if (status == null) {
+            throw new InvalidInputException("Order status is required");
+        }
+        try {
+            return OrderStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid status value: " + status);
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.logichaintwo.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logichaintwo.dto.BulkProductRow;
+import com.logichaintwo.dto.BulkRowResultDTO;
+import com.logichaintwo.dto.BulkUpsertResultDTO;
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.service.CategoryFacetIndex;
+import com.logichaintwo.service.IProductBulkService;
+import com.logichaintwo.service.IProductImageService;
+import com.logichaintwo.service.IProductPriceService;
+import com.logichaintwo.service.IWarehouseService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a catalog upload into chunks and upserts each chunk in its own transaction:
+ * one SKU lookup per chunk, then JDBC batch inserts and updates. Chunks run on a shared
+ * pool, and each upload keeps only a bounded number of them in flight so the reader
+ * never buffers more than that many chunks of a large body.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductBulkServiceImpl implements IProductBulkService {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String SKIPPED = "SKIPPED";
+    public static final String FAILED = "FAILED";
+
+    private static final String SELECT_BY_SKU_SQL = "SELECT id, sku, weight, price, image_url FROM product WHERE sku IN (:skus)";
+    private static final String INSERT_SQL = "INSERT INTO product "
+            + "(sku, name, price, weight, description, category, image_url, created_by, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE product SET name = ?, price = ?, weight = ?, description = ?, "
+            + "category = ?, image_url = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final IProductImageService imageService;
+    private final IProductPriceService priceService;
+    private final IWarehouseService warehouseService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${products.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${products.bulk.parallelism:4}")
+    private int parallelism;
+
+    @Value("${products.bulk.max-rows:100000}")
+    private int maxRows;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "product-bulk-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public BulkUpsertResultDTO upsert(InputStream body, String contentType, Long userId) {
+        long started = System.nanoTime();
+        Upload upload = new Upload(userId);
+        try {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")) {
+                readCsv(body, upload);
+            } else {
+                readJson(body, upload);
+            }
+        } catch (IOException e) {
+            // Rows already dispatched still finish; the rest of the body is reported as unreadable
+            upload.reject(null, "Could not read upload: " + e.getMessage());
+        }
+        upload.flush();
+
+        List<BulkRowResultDTO> results = new ArrayList<>(upload.rejected);
+        for (CompletableFuture<List<BulkRowResultDTO>> chunk : upload.chunks) {
+            results.addAll(chunk.join());
+        }
+        results.sort(Comparator.comparingLong(BulkRowResultDTO::getRow));
+
+        Map<String, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkRowResultDTO::getStatus, Collectors.counting()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Bulk product upsert: {} rows in {} chunks, {} ms", results.size(), upload.chunks.size(), elapsedMs);
+        return BulkUpsertResultDTO.builder()
+                .totalRows(results.size())
+                .created(counts.getOrDefault(CREATED, 0L))
+                .updated(counts.getOrDefault(UPDATED, 0L))
+                .skipped(counts.getOrDefault(SKIPPED, 0L))
+                .failed(counts.getOrDefault(FAILED, 0L))
+                .chunks(upload.chunks.size())
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(results.size() * 1000.0 / Math.max(elapsedMs, 1))
+                .results(results)
+                .build();
+    }
+
+    // Accepts either a JSON array of rows or newline-delimited JSON objects
+    private void readJson(InputStream body, Upload upload) throws IOException {
+        try (MappingIterator<BulkProductRow> rows = objectMapper.readerFor(BulkProductRow.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                BulkProductRow row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    upload.reject(null, "Malformed row: " + e.getOriginalMessage());
+                    return;
+                }
+                if (!upload.accept(row)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Header row names the columns; quoted fields may contain commas but not line breaks
+    private void readCsv(InputStream body, Upload upload) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        if (!columns.containsKey("sku")) {
+            throw new InvalidInputException("CSV header must include a sku column");
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            BulkProductRow row;
+            try {
+                row = BulkProductRow.builder()
+                        .sku(field(fields, columns, "sku"))
+                        .name(field(fields, columns, "name"))
+                        .price(decimal(field(fields, columns, "price")))
+                        .weight(number(field(fields, columns, "weight")))
+                        .description(field(fields, columns, "description"))
+                        .category(CategoryFacetIndex.toStored(field(fields, columns, "category")))
+                        .imageUrl(field(fields, columns, "imageurl"))
+                        .build();
+            } catch (NumberFormatException e) {
+                upload.reject(field(fields, columns, "sku"), "Price and weight must be numbers");
+                continue;
+            }
+            if (!upload.accept(row)) {
+                return;
+            }
+        }
+    }
+
+    private List<BulkRowResultDTO> processChunk(List<PendingRow> chunk, Long userId) {
+        List<BulkRowResultDTO> results = new ArrayList<>(chunk.size());
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            String error = validate(pending.row());
+            if (error != null) {
+                results.add(result(pending, FAILED, null, error));
+            } else {
+                valid.add(pending);
+            }
+        }
+        if (valid.isEmpty()) {
+            return results;
+        }
+        try {
+            results.addAll(txTemplate.execute(status -> write(valid, userId)));
+        } catch (RuntimeException e) {
+            log.warn("Bulk product chunk starting at row {} rolled back", valid.get(0).rowNumber(), e);
+            for (PendingRow pending : valid) {
+                results.add(result(pending, FAILED, null, "Chunk rolled back: " + e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private List<BulkRowResultDTO> write(List<PendingRow> rows, Long userId) {
+        Map<String, ExistingProduct> existing = new HashMap<>();
+        lookup(rows, existing);
+
+        List<PendingRow> inserts = new ArrayList<>();
+        List<PendingRow> candidates = new ArrayList<>();
+        for (PendingRow pending : rows) {
+            (existing.containsKey(skuKey(pending.row().getSku())) ? candidates : inserts).add(pending);
+        }
+
+        // Weight changes are checked for the whole chunk up front; a row that would overflow a warehouse fails alone
+        Map<Long, Double> weightDeltas = new LinkedHashMap<>();
+        for (PendingRow pending : candidates) {
+            ExistingProduct before = existing.get(skuKey(pending.row().getSku()));
+            weightDeltas.put(before.id(), pending.row().getWeight() - before.weight());
+        }
+        Map<Long, String> overflowing = warehouseService.applyProductWeightChanges(weightDeltas);
+        List<BulkRowResultDTO> results = new ArrayList<>(rows.size());
+        List<PendingRow> updates = new ArrayList<>(candidates.size());
+        for (PendingRow pending : candidates) {
+            ExistingProduct before = existing.get(skuKey(pending.row().getSku()));
+            String problem = overflowing.get(before.id());
+            if (problem != null) {
+                results.add(result(pending, FAILED, before.id(), problem));
+            } else {
+                updates.add(pending);
+            }
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, pending) -> {
+                BulkProductRow row = pending.row();
+                ps.setString(1, row.getSku());
+                ps.setString(2, row.getName());
+                ps.setBigDecimal(3, row.getPrice());
+                ps.setDouble(4, row.getWeight());
+                ps.setString(5, row.getDescription());
+                ps.setString(6, row.getCategory());
+                ps.setString(7, row.getImageUrl());
+                ps.setObject(8, userId);
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+            });
+            // Generated keys are not reliable across a rewritten batch, so read them back by SKU
+            lookup(inserts, existing);
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, pending) -> {
+                BulkProductRow row = pending.row();
+                ps.setString(1, row.getName());
+                ps.setBigDecimal(2, row.getPrice());
+                ps.setDouble(3, row.getWeight());
+                ps.setString(4, row.getDescription());
+                ps.setString(5, row.getCategory());
+                ps.setString(6, row.getImageUrl());
+                ps.setTimestamp(7, now);
+                ps.setLong(8, existing.get(skuKey(row.getSku())).id());
+            });
+        }
+
+        Map<Long, BigDecimal> priceChanges = new HashMap<>();
+        for (PendingRow pending : inserts) {
+            priceChanges.put(existing.get(skuKey(pending.row().getSku())).id(), pending.row().getPrice());
+        }
+        for (PendingRow pending : updates) {
+            ExistingProduct before = existing.get(skuKey(pending.row().getSku()));
+            if (before.price().compareTo(pending.row().getPrice()) != 0) {
+                priceChanges.put(before.id(), pending.row().getPrice());
+            }
+        }
+        priceService.recordCurrent(priceChanges, userId);
+
+        published(inserts, existing, CREATED, results);
+        published(updates, existing, UPDATED, results);
+        return results;
+    }
+
+    private void lookup(List<PendingRow> rows, Map<String, ExistingProduct> into) {
+        List<String> skus = rows.stream().map(pending -> pending.row().getSku()).toList();
+        namedJdbcTemplate.query(SELECT_BY_SKU_SQL, Map.of("skus", skus), rs -> {
+            into.put(skuKey(rs.getString("sku")),
+                    new ExistingProduct(rs.getLong("id"), rs.getDouble("weight"), rs.getBigDecimal("price"),
+                            rs.getString("image_url")));
+        });
+    }
+
+    private void published(List<PendingRow> rows, Map<String, ExistingProduct> ids, String status,
+                           List<BulkRowResultDTO> results) {
+        for (PendingRow pending : rows) {
+            BulkProductRow row = pending.row();
+            ExistingProduct before = ids.get(skuKey(row.getSku()));
+            long id = before.id();
+            // Updated rows still hold the values read before the write
+            boolean imageChanged = CREATED.equals(status) || !Objects.equals(before.imageUrl(), row.getImageUrl());
+            eventPublisher.publishEvent(new ProductChangedEvent(id, row.getSku(), row.getName(),
+                    row.getDescription(), row.getCategory(), row.getImageUrl(), imageChanged, false));
+            results.add(result(pending, status, id, null));
+        }
+    }
+
+    private String validate(BulkProductRow row) {
+        Set<ConstraintViolation<BulkProductRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        try {
+            imageService.validateImageUrl(row.getImageUrl());
+        } catch (InvalidInputException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private static BulkRowResultDTO result(PendingRow pending, String status, Long productId, String message) {
+        return BulkRowResultDTO.builder()
+                .row(pending.rowNumber())
+                .sku(pending.row().getSku())
+                .status(status)
+                .productId(productId)
+                .message(message)
+                .build();
+    }
+
+    // The sku column uses a case-insensitive collation, so lookups and de-duplication do too
+    private static String skuKey(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    private static Double number(String value) {
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record PendingRow(long rowNumber, BulkProductRow row) {
+    }
+
+    private record ExistingProduct(long id, double weight, BigDecimal price, String imageUrl) {
+    }
+
+    // Reader-side state of one upload
+    private final class Upload {
+        private final Long userId;
+        private final Semaphore inFlight = new Semaphore(parallelism * 2);
+        private final Set<String> seenSkus = new HashSet<>();
+        private final List<BulkRowResultDTO> rejected = new ArrayList<>();
+        private final List<CompletableFuture<List<BulkRowResultDTO>>> chunks = new ArrayList<>();
+        private List<PendingRow> current = new ArrayList<>();
+        private long rowNumber;
+
+        private Upload(Long userId) {
+            this.userId = userId;
+        }
+
+        // Returns false once the row limit is reached and reading should stop
+        private boolean accept(BulkProductRow row) {
+            long number = ++rowNumber;
+            if (number > maxRows) {
+                rejected.add(BulkRowResultDTO.builder().row(number).sku(row != null ? row.getSku() : null)
+                        .status(FAILED).message("Upload exceeds " + maxRows + " rows; remaining rows were not read")
+                        .build());
+                return false;
+            }
+            if (row == null) {
+                rejected.add(BulkRowResultDTO.builder().row(number).status(FAILED).message("Empty row").build());
+                return true;
+            }
+            if (row.getSku() != null) {
+                row.setSku(row.getSku().trim());
+                // First occurrence of a SKU wins, so parallel chunks never race on the same product
+                if (!seenSkus.add(skuKey(row.getSku()))) {
+                    rejected.add(BulkRowResultDTO.builder().row(number).sku(row.getSku()).status(SKIPPED)
+                            .message("Duplicate SKU in upload").build());
+                    return true;
+                }
+            }
+            current.add(new PendingRow(number, row));
+            if (current.size() >= chunkSize) {
+                flush();
+            }
+            return true;
+        }
+
+        // Records the next row as unreadable without dispatching it
+        private void reject(String sku, String message) {
+            rejected.add(BulkRowResultDTO.builder().row(++rowNumber).sku(sku).status(FAILED).message(message).build());
+        }
+
+        private void flush() {
+            if (current.isEmpty()) {
+                return;
+            }
+            List<PendingRow> chunk = current;
+            current = new ArrayList<>(chunkSize);
+            inFlight.acquireUninterruptibly();
+            try {
+                chunks.add(CompletableFuture.supplyAsync(() -> processChunk(chunk, userId), executor)
+                        .whenComplete((results, error) -> inFlight.release()));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.logichaintwo.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.logichaintwo.dto.ProductDTO;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.service.IProductImageService;
+import com.logichaintwo.service.MediaStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns a product's image into fixed-width JPEG thumbnails off the request thread.
+ * Work is keyed by content hash, so re-saving a product or uploading a duplicate image
+ * costs a hash check rather than another resize. The hash is only written while the
+ * product still points at the image it came from, so a slow job for a replaced image
+ * cannot attach stale thumbnails.
+ */
+@Slf4j
+@Service
+public class ProductImageServiceImpl implements IProductImageService {
+    private final ProductRepository productRepo;
+    private final MediaStore store;
+    private final ModelMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate txTemplate;
+
+    @Value("${media.import-dir:}")
+    private String importDir;
+
+    @Value("${media.thumbnail.workers:2}")
+    private int workers;
+
+    @Value("${media.thumbnail.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${media.max-image-bytes:10485760}")
+    private long maxImageBytes;
+
+    private ThreadPoolExecutor executor;
+
+    public ProductImageServiceImpl(ProductRepository productRepo, MediaStore store, ModelMapper mapper,
+                                   ApplicationEventPublisher eventPublisher, TransactionTemplate txTemplate) {
+        this.productRepo = productRepo;
+        this.store = store;
+        this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.txTemplate = txTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threads = new AtomicInteger();
+        // A full queue rejects the job (see submit) rather than running it on the request thread
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // Every Product -> ProductDTO mapping picks up the thumbnail URLs
+        mapper.typeMap(Product.class, ProductDTO.class).setPostConverter(context -> {
+            String hash = context.getSource().getImageHash();
+            if (MediaStore.isHash(hash)) {
+                Map<Integer, String> urls = new LinkedHashMap<>();
+                for (int width : store.thumbnailWidths()) {
+                    urls.put(width, MediaStore.thumbnailUrl(hash, width));
+                }
+                context.getDestination().setThumbnailUrls(urls);
+            }
+            return context.getDestination();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Accepts http(s) URLs, images already in the store, and files under media.import-dir
+    @Override
+    public void validateImageUrl(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return;
+        }
+        if (imageUrl.startsWith(MediaStore.ORIGINALS_PATH)) {
+            String hash = imageUrl.substring(MediaStore.ORIGINALS_PATH.length());
+            if (!MediaStore.isHash(hash) || !Files.isRegularFile(store.original(hash))) {
+                throw new InvalidInputException("Unknown media reference: " + imageUrl);
+            }
+            return;
+        }
+        if (imageUrl.startsWith("http://") || imageUrl.startsWith("https://")) {
+            try {
+                URI uri = URI.create(imageUrl);
+                if (uri.getHost() == null) {
+                    throw new InvalidInputException("Image URL has no host: " + imageUrl);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Malformed image URL: " + imageUrl);
+            }
+            return;
+        }
+        Path local = importPath(imageUrl);
+        if (local == null) {
+            throw new InvalidInputException("Image must be an http(s) URL, an uploaded image or a file under the import directory");
+        }
+        if (!Files.isRegularFile(local)) {
+            throw new InvalidInputException("Image file not found: " + imageUrl);
+        }
+        try {
+            if (Files.size(local) > maxImageBytes) {
+                throw new InvalidInputException("Image exceeds " + maxImageBytes + " bytes: " + imageUrl);
+            }
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not read image file: " + imageUrl);
+        }
+    }
+
+    @Override
+    @Transactional
+    public ProductDTO upload(Long productId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidInputException("Image file is required");
+        }
+        if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+            throw new InvalidInputException("Only image uploads are accepted");
+        }
+        if (file.getSize() > maxImageBytes) {
+            throw new InvalidInputException("Image exceeds " + maxImageBytes + " bytes");
+        }
+        Product product = productRepo.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        String hash;
+        try {
+            hash = store.putOriginal(file.getBytes());
+        } catch (IOException e) {
+            throw new InvalidInputException("Could not read uploaded image: " + e.getMessage());
+        }
+        product.setImageUrl(MediaStore.originalUrl(hash));
+        Product saved = productRepo.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(saved));
+        return mapper.map(saved, ProductDTO.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.deleted()) {
+            return;
+        }
+        String imageUrl = event.imageUrl();
+        if (imageUrl != null && imageUrl.startsWith(MediaStore.ORIGINALS_PATH)) {
+            String hash = imageUrl.substring(MediaStore.ORIGINALS_PATH.length());
+            submit(event.productId(), () -> process(event.productId(), imageUrl, hash, null));
+        } else if (imageUrl != null && importPath(imageUrl) != null) {
+            Path source = importPath(imageUrl);
+            submit(event.productId(), () -> process(event.productId(), imageUrl, null, source));
+        } else if (event.imageChanged()) {
+            // Remote or removed images have no local thumbnails
+            setImageHash(event.productId(), null, imageUrl);
+        }
+    }
+
+    // The publisher is usually a request thread, so a full queue drops the job; the next save of the product retries it
+    private void submit(Long productId, Runnable job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Thumbnail queue full, skipped thumbnails for product {}", productId);
+        }
+    }
+
+    private void process(Long productId, String imageUrl, String knownHash, Path importFile) {
+        try {
+            String hash = knownHash;
+            if (importFile != null) {
+                if (Files.size(importFile) > maxImageBytes) {
+                    log.warn("Product {} image {} exceeds {} bytes, not imported", productId, importFile, maxImageBytes);
+                    return;
+                }
+                hash = store.putOriginal(Files.readAllBytes(importFile));
+            }
+            if (!MediaStore.isHash(hash) || !Files.exists(store.original(hash))) {
+                log.warn("No stored original for product {} image {}", productId, hash);
+                return;
+            }
+            if (!store.hasThumbnails(hash)) {
+                if (Files.size(store.original(hash)) > maxImageBytes) {
+                    log.warn("Product {} image {} exceeds {} bytes, no thumbnails made", productId, hash, maxImageBytes);
+                    return;
+                }
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(Files.readAllBytes(store.original(hash))));
+                if (image == null) {
+                    log.warn("Product {} image {} is not a decodable image", productId, hash);
+                    return;
+                }
+                for (int width : store.thumbnailWidths()) {
+                    store.write(store.thumbnail(hash, width), toJpeg(resize(image, width)));
+                }
+            }
+            setImageHash(productId, hash, imageUrl);
+        } catch (IOException | RuntimeException e) {
+            log.error("Thumbnail generation failed for product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    private void setImageHash(Long productId, String hash, String imageUrl) {
+        Integer updated = txTemplate.execute(status -> productRepo.updateImageHash(productId, hash, imageUrl));
+        if (updated == null || updated == 0) {
+            log.debug("Product {} no longer points at {}, image hash left unchanged", productId, imageUrl);
+        }
+    }
+
+    // Halves repeatedly before the final bilinear step, which keeps downscaling sharp without a filter library
+    private static BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width <= targetWidth) {
+            return draw(current, width, height);
+        }
+        while (width / 2 >= targetWidth) {
+            width /= 2;
+            height = Math.max(1, height / 2);
+            current = draw(current, width, height);
+        }
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha; transparent areas become white
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+
+    // Resolves file: URIs and plain paths, but only inside the configured import directory
+    private Path importPath(String imageUrl) {
+        if (importDir == null || importDir.isBlank()) {
+            return null;
+        }
+        try {
+            Path path = imageUrl.startsWith("file:") ? Path.of(URI.create(imageUrl)) : Path.of(imageUrl);
+            Path normalized = path.toAbsolutePath().normalize();
+            return normalized.startsWith(Path.of(importDir).toAbsolutePath().normalize()) ? normalized : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
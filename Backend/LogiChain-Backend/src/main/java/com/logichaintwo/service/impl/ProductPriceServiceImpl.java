@@ -0,0 +1,354 @@
+package com.logichaintwo.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.logichaintwo.dto.PriceChangeRequest;
+import com.logichaintwo.dto.ProductPriceDTO;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.entities.ProductPrice;
+import com.logichaintwo.event.ProductChangedEvent;
+import com.logichaintwo.event.ProductPriceChangedEvent;
+import com.logichaintwo.exception.ConflictException;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.ProductPriceRepository;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.projection.CurrentPriceView;
+import com.logichaintwo.repository.projection.PriceBoundaryView;
+import com.logichaintwo.service.IProductPriceService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product prices as non-overlapping versions with effective ranges. Product.price and an
+ * in-memory map always hold the version in force; future versions wait in the table until
+ * the activation tick switches them over in one transaction and swaps in a new copy of the
+ * map, so readers of current prices never touch the history table or see a half-applied change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductPriceServiceImpl implements IProductPriceService {
+    private static final int ACTIVATION_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "INSERT INTO product_price "
+            + "(product_id, price, effective_from, effective_to, applied, created_by, created_at) "
+            + "VALUES (?, ?, ?, ?, TRUE, ?, ?)";
+
+    private final ProductPriceRepository repo;
+    private final ProductRepository productRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final ModelMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guards writes of both fields below; readers only dereference the volatile map
+    private final Object monitor = new Object();
+    private volatile Map<Long, BigDecimal> currentPrices = Map.of();
+    private volatile LocalDateTime nextActivationAt;
+
+    @Override
+    public BigDecimal currentPrice(Long productId) {
+        BigDecimal price = currentPrices.get(productId);
+        if (price == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return price;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> currentPrices(Collection<Long> productIds) {
+        Map<Long, BigDecimal> prices = currentPrices;
+        Map<Long, BigDecimal> result = new HashMap<>();
+        for (Long productId : productIds) {
+            BigDecimal price = prices.get(productId);
+            if (price != null) {
+                result.put(productId, price);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPriceDTO getPriceAt(Long productId, LocalDateTime at) {
+        LocalDateTime pointInTime = at != null ? at : LocalDateTime.now();
+        return repo.findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDesc(productId, pointInTime)
+                .map(version -> mapper.map(version, ProductPriceDTO.class))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No price recorded for product id: " + productId + " at " + pointInTime));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductPriceDTO> getHistory(Long productId) {
+        if (!productRepo.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return repo.findByProductIdOrderByEffectiveFromDesc(productId).stream()
+                .map(version -> mapper.map(version, ProductPriceDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public ProductPriceDTO schedule(Long productId, PriceChangeRequest request, Long userId) {
+        // The product row lock serialises edits to one product's chain of versions
+        Product product = productRepo.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = request.getEffectiveFrom() != null && request.getEffectiveFrom().isAfter(now)
+                ? request.getEffectiveFrom() : now;
+        LocalDateTime until = request.getEffectiveTo();
+        if (until != null && !until.isAfter(from)) {
+            throw new InvalidInputException("effectiveTo must be after effectiveFrom");
+        }
+
+        ProductPrice previous = repo
+                .findFirstByProductIdAndEffectiveFromLessThanEqualOrderByEffectiveFromDesc(productId, from)
+                .orElse(null);
+        ProductPrice next = repo.findFirstByProductIdAndEffectiveFromGreaterThanOrderByEffectiveFromAsc(productId, from)
+                .orElse(null);
+        if (previous != null && !previous.isApplied() && previous.getEffectiveFrom().isEqual(from)) {
+            throw new ConflictException("A price change is already scheduled for " + from);
+        }
+        if (until != null && next != null && next.getEffectiveFrom().isBefore(until)) {
+            throw new ConflictException("Price change overlaps the one scheduled for " + next.getEffectiveFrom());
+        }
+
+        LocalDateTime nextStart = next != null ? next.getEffectiveFrom() : null;
+        if (until != null && (nextStart == null || nextStart.isAfter(until))) {
+            // A promotion hands back to the price it interrupted
+            BigDecimal revertPrice = previous != null ? previous.getPrice() : product.getPrice();
+            repo.save(version(productId, revertPrice, until, nextStart, userId));
+            nextStart = until;
+        }
+        if (previous != null) {
+            previous.setEffectiveTo(from);
+        }
+        ProductPrice version = repo.save(version(productId, request.getPrice(), from, nextStart, userId));
+
+        if (!from.isAfter(now)) {
+            version.setApplied(true);
+            productRepo.updatePrice(productId, version.getPrice(), now);
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(Map.of(productId, version.getPrice())));
+        }
+        // The earliest version still pending: this one, or the revert of an immediate promotion
+        noteScheduledAfterCommit(from.isAfter(now) ? from : until);
+        return mapper.map(version, ProductPriceDTO.class);
+    }
+
+    @Override
+    @Transactional
+    public void cancel(Long productId, Long priceId) {
+        productRepo.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        ProductPrice version = repo.findById(priceId)
+                .filter(found -> found.getProductId().equals(productId))
+                .orElseThrow(() -> new ResourceNotFoundException("Price change not found with id: " + priceId));
+        if (version.isApplied()) {
+            throw new ConflictException("Only price changes that have not taken effect can be cancelled");
+        }
+        repo.findFirstByProductIdAndEffectiveFromLessThanOrderByEffectiveFromDesc(productId, version.getEffectiveFrom())
+                .ifPresent(previous -> previous.setEffectiveTo(version.getEffectiveTo()));
+        repo.delete(version);
+    }
+
+    // Records prices that take effect immediately, splitting each product's chain at now
+    @Override
+    @Transactional
+    public void recordCurrent(Map<Long, BigDecimal> prices, Long userId) {
+        if (prices.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        repo.closeCurrent(prices.keySet(), now);
+        Map<Long, LocalDateTime> nextStarts = new HashMap<>();
+        for (PriceBoundaryView boundary : repo.findNextStarts(prices.keySet(), now)) {
+            nextStarts.put(boundary.getProductId(), boundary.getEffectiveFrom());
+        }
+
+        Timestamp at = Timestamp.valueOf(now);
+        List<Map.Entry<Long, BigDecimal>> rows = new ArrayList<>(prices.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            LocalDateTime nextStart = nextStarts.get(row.getKey());
+            ps.setLong(1, row.getKey());
+            ps.setBigDecimal(2, row.getValue());
+            ps.setTimestamp(3, at);
+            ps.setTimestamp(4, nextStart != null ? Timestamp.valueOf(nextStart) : null);
+            ps.setObject(5, userId);
+            ps.setTimestamp(6, at);
+        });
+        eventPublisher.publishEvent(new ProductPriceChangedEvent(Map.copyOf(prices)));
+    }
+
+    @Override
+    @Transactional
+    public void forget(Long productId) {
+        repo.deleteByProductId(productId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${products.price.activation-tick-ms:1000}")
+    public int activateDue() {
+        LocalDateTime next = nextActivationAt;
+        LocalDateTime now = LocalDateTime.now();
+        if (next == null || next.isAfter(now)) {
+            return 0;
+        }
+        int activated = 0;
+        synchronized (monitor) {
+            Activation batch;
+            do {
+                batch = txTemplate.execute(status -> activate(now));
+                activated += batch.versions();
+                // Each batch is committed before the map changes, so readers never run ahead of the table
+                swapIn(batch.prices());
+            } while (batch.versions() == ACTIVATION_BATCH_SIZE);
+            nextActivationAt = repo.findNextPendingFrom();
+        }
+        if (activated > 0) {
+            log.info("Activated {} scheduled price changes", activated);
+        }
+        return activated;
+    }
+
+    // Reloads the map and the next activation time, picking up changes made by other instances
+    @Scheduled(initialDelayString = "${products.price.resync-ms:60000}",
+               fixedDelayString = "${products.price.resync-ms:60000}")
+    public void resync() {
+        synchronized (monitor) {
+            Map<Long, BigDecimal> prices = new HashMap<>();
+            for (CurrentPriceView view : productRepo.findAllPrices()) {
+                prices.put(view.getProductId(), view.getPrice());
+            }
+            currentPrices = Collections.unmodifiableMap(prices);
+            nextActivationAt = repo.findNextPendingFrom();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        int anchored = txTemplate.execute(status -> repo.anchorUnversioned());
+        if (anchored > 0) {
+            log.info("Anchored price history for {} products at their current price", anchored);
+        }
+        resync();
+        activateDue();
+        log.info("Product price map loaded: {} products, next scheduled change at {}",
+                currentPrices.size(), nextActivationAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPriceChanged(ProductPriceChangedEvent event) {
+        synchronized (monitor) {
+            swapIn(event.prices());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        synchronized (monitor) {
+            Map<Long, BigDecimal> prices = new HashMap<>(currentPrices);
+            prices.remove(event.productId());
+            currentPrices = Collections.unmodifiableMap(prices);
+        }
+    }
+
+    private Activation activate(LocalDateTime now) {
+        List<ProductPrice> due = repo.findDueForUpdate(now, PageRequest.of(0, ACTIVATION_BATCH_SIZE));
+        Map<Long, BigDecimal> inForce = new HashMap<>();
+        List<Long> ids = new ArrayList<>(due.size());
+        for (ProductPrice version : due) {
+            ids.add(version.getId());
+            // Versions already cut short by a later change are marked without touching the product
+            if (version.getEffectiveTo() == null || version.getEffectiveTo().isAfter(now)) {
+                inForce.put(version.getProductId(), version.getPrice());
+            }
+        }
+        inForce.forEach((productId, price) -> productRepo.updatePrice(productId, price, now));
+        if (!ids.isEmpty()) {
+            repo.markApplied(ids);
+        }
+        return new Activation(due.size(), inForce);
+    }
+
+    // Copy-on-write: callers hold the monitor
+    private void swapIn(Map<Long, BigDecimal> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Long, BigDecimal> prices = new HashMap<>(currentPrices);
+        prices.putAll(changes);
+        currentPrices = Collections.unmodifiableMap(prices);
+    }
+
+    /*
+     * Brings the next activation forward once the new version is committed; a tick that ran
+     * before the commit would otherwise reload nextActivationAt without it and leave the change
+     * waiting for the next resync.
+     */
+    private void noteScheduledAfterCommit(LocalDateTime from) {
+        if (from == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    noteScheduled(from);
+                }
+            });
+        } else {
+            noteScheduled(from);
+        }
+    }
+
+    private void noteScheduled(LocalDateTime from) {
+        synchronized (monitor) {
+            if (nextActivationAt == null || from.isBefore(nextActivationAt)) {
+                nextActivationAt = from;
+            }
+        }
+    }
+
+    private static ProductPrice version(Long productId, BigDecimal price, LocalDateTime from, LocalDateTime to,
+                                        Long userId) {
+        ProductPrice version = new ProductPrice();
+        version.setProductId(productId);
+        version.setPrice(price);
+        version.setEffectiveFrom(from);
+        version.setEffectiveTo(to);
+        version.setCreatedBy(userId);
+        return version;
+    }
+
+    private record Activation(int versions, Map<Long, BigDecimal> prices) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.logichaintwo.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.logichaintwo.dto.AutocompleteSuggestionDTO;
+import com.logichaintwo.dto.CategoryFacetDTO;
+import com.logichaintwo.dto.ProductDTO;
+import com.logichaintwo.dto.ProductPageDTO;
+import com.logichaintwo.dto.ProductSearchResultDTO;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.projection.ProductStockView;
+import com.logichaintwo.service.CategoryFacetIndex;
+import com.logichaintwo.service.IProductSearchService;
+import com.logichaintwo.service.ProductAutocompleteIndex;
+import com.logichaintwo.service.ProductSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements IProductSearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final ProductSearchIndex searchIndex;
+    private final ProductAutocompleteIndex autocompleteIndex;
+    private final CategoryFacetIndex categoryFacetIndex;
+    private final ProductRepository productRepo;
+    private final InventoryRepository inventoryRepo;
+    private final ModelMapper mapper;
+
+    // Ranking and facets come from the index; only the requested page is read from the database
+    @Override
+    public ProductSearchResultDTO search(String query, String category, boolean fuzzy, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String categoryFilter = category != null && !category.isBlank() ? category.trim() : null;
+        ProductSearchIndex.Result result = searchIndex.search(query, categoryFilter, fuzzy);
+
+        int from = (int) Math.min((long) page * size, result.hits().size());
+        int to = Math.min(from + size, result.hits().size());
+        List<Long> ids = result.hits().subList(from, to).stream().map(ProductSearchIndex.Hit::productId).toList();
+
+        Map<Long, Product> byId = ids.isEmpty() ? Map.of() : productRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        List<ProductDTO> products = withStock(ordered);
+
+        return ProductSearchResultDTO.builder()
+                .query(query)
+                .category(categoryFilter)
+                .page(page)
+                .size(size)
+                .totalHits(result.hits().size())
+                .products(products)
+                .categoryFacets(result.categoryFacets())
+                .build();
+    }
+
+    @Override
+    public List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @Override
+    public List<CategoryFacetDTO> getCategories() {
+        return categoryFacetIndex.getFacets();
+    }
+
+    // Keyset pages over the (category, id) index
+    @Override
+    public ProductPageDTO browseCategory(String category, Long afterId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long cursor = afterId != null ? afterId : 0L;
+        PageRequest limit = PageRequest.of(0, size);
+        String stored = CategoryFacetIndex.toStored(category);
+        List<Product> page = stored == null
+                ? productRepo.findUncategorizedPage(cursor, limit)
+                : productRepo.findCategoryPage(stored, cursor, limit);
+        return ProductPageDTO.builder()
+                .products(withStock(page))
+                .nextAfterId(page.size() == size ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    // One grouped inventory query for the whole page
+    private List<ProductDTO> withStock(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductStockView> stock = inventoryRepo
+                .sumStockByProductIds(products.stream().map(Product::getId).toList()).stream()
+                .collect(Collectors.toMap(ProductStockView::getProductId, Function.identity()));
+        List<ProductDTO> dtos = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDTO dto = mapper.map(product, ProductDTO.class);
+            ProductStockView level = stock.get(product.getId());
+            int total = level != null && level.getTotalStock() != null ? level.getTotalStock().intValue() : 0;
+            int reserved = level != null && level.getReservedStock() != null ? level.getReservedStock().intValue() : 0;
+            dto.setTotalStock(total);
+            dto.setReservedStock(reserved);
+            dto.setAvailableStock(total - reserved);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+}
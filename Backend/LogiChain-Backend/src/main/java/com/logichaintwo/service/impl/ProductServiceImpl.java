@@ -2,17 +2,25 @@ package com.logichaintwo.service.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.logichaintwo.dto.ProductDTO;
 import com.logichaintwo.entities.Inventory;
 import com.logichaintwo.entities.Product;
+import com.logichaintwo.event.ProductChangedEvent;
 import com.logichaintwo.exception.ResourceNotFoundException;
 import com.logichaintwo.repository.InventoryRepository;
 import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.service.CategoryFacetIndex;
+import com.logichaintwo.service.IProductImageService;
+import com.logichaintwo.service.IProductPriceService;
 import com.logichaintwo.service.IProductService;
+import com.logichaintwo.service.IWarehouseService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,7 +29,11 @@ import lombok.RequiredArgsConstructor;
 public class ProductServiceImpl implements IProductService {
 	private final ProductRepository repo;
 	private final InventoryRepository inventoryRepository;
+	private final IWarehouseService warehouseService;
+	private final IProductImageService imageService;
+	private final IProductPriceService priceService;
 	private final ModelMapper mapper;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Override
 	public List<ProductDTO> getAll() {
@@ -101,18 +113,29 @@ public class ProductServiceImpl implements IProductService {
 	}
 
 	@Override
+	@Transactional
 	public ProductDTO save(Product product) {
+		imageService.validateImageUrl(product.getImageUrl());
 		if (product.getId() != null) {
 			Product existingProduct = repo.findById(product.getId())
 					.orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+			if (!existingProduct.getWeight().equals(product.getWeight())) {
+				warehouseService.applyProductWeightChange(existingProduct.getId(),
+						product.getWeight() - existingProduct.getWeight());
+			}
+			if (existingProduct.getPrice().compareTo(product.getPrice()) != 0) {
+				priceService.recordCurrent(Map.of(existingProduct.getId(), product.getPrice()), null);
+			}
+			String previousImageUrl = existingProduct.getImageUrl();
 			existingProduct.setName(product.getName());
 			existingProduct.setSku(product.getSku());
 			existingProduct.setDescription(product.getDescription());
 			existingProduct.setPrice(product.getPrice());
 			existingProduct.setWeight(product.getWeight());
-			existingProduct.setCategory(product.getCategory());
+			existingProduct.setCategory(CategoryFacetIndex.toStored(product.getCategory()));
 			existingProduct.setImageUrl(product.getImageUrl());
 			Product savedProduct = repo.save(existingProduct);
+			eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct, previousImageUrl));
 
 			ProductDTO dto = mapper.map(savedProduct, ProductDTO.class);
 			List<Inventory> inventories = inventoryRepository.findByProductId(savedProduct.getId());
@@ -128,7 +151,12 @@ public class ProductServiceImpl implements IProductService {
 
 			return dto;
 		}
+		// Thumbnails are attached by the image pipeline, never by the request body
+		product.setImageHash(null);
+		product.setCategory(CategoryFacetIndex.toStored(product.getCategory()));
 		Product savedProduct = repo.save(product);
+		priceService.recordCurrent(Map.of(savedProduct.getId(), savedProduct.getPrice()), savedProduct.getCreatedBy());
+		eventPublisher.publishEvent(ProductChangedEvent.saved(savedProduct));
 
 		ProductDTO dto = mapper.map(savedProduct, ProductDTO.class);
 		dto.setTotalStock(0);
@@ -139,8 +167,13 @@ public class ProductServiceImpl implements IProductService {
 	}
 
 	@Override
+	@Transactional
 	public void delete(Long id) {
 		Product product = repo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+		// Its inventory rows are removed by cascade, so release the space they held first
+		warehouseService.applyProductWeightChange(product.getId(), -product.getWeight());
 		repo.delete(product);
+		priceService.forget(id);
+		eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.logichaintwo.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.service.NotificationSender;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Local stand-in until a push provider is wired up: logs the message for the user's devices
+@Slf4j
+@Component
+public class PushNotificationSender implements NotificationSender {
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.PUSH;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        log.info("Push to user {}: {}", notification.getUserId(), notification.getMessage());
+    }
+}
@@ -0,0 +1,73 @@
+package com.logichaintwo.service.impl;
+
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.logichaintwo.batch.ReorderForecastJobConfig;
+import com.logichaintwo.dto.ReorderSuggestionDTO;
+import com.logichaintwo.entities.ReorderSuggestion;
+import com.logichaintwo.exception.ApiException;
+import com.logichaintwo.repository.ReorderSuggestionRepository;
+import com.logichaintwo.service.IReorderSuggestionService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ReorderSuggestionServiceImpl implements IReorderSuggestionService {
+    private final ReorderSuggestionRepository repo;
+    private final ModelMapper mapper;
+    private final JobOperator jobOperator;
+    private final Job reorderForecastJob;
+
+    public ReorderSuggestionServiceImpl(ReorderSuggestionRepository repo, ModelMapper mapper, JobOperator jobOperator,
+                                        @Qualifier(ReorderForecastJobConfig.JOB_NAME) Job reorderForecastJob) {
+        this.repo = repo;
+        this.mapper = mapper;
+        this.jobOperator = jobOperator;
+        this.reorderForecastJob = reorderForecastJob;
+    }
+
+    @Override
+    public List<ReorderSuggestionDTO> getSuggestions(Long warehouseId, boolean actionableOnly) {
+        List<ReorderSuggestion> suggestions;
+        if (warehouseId != null) {
+            suggestions = actionableOnly
+                    ? repo.findByWarehouseIdAndSuggestedQuantityGreaterThanOrderBySuggestedQuantityDesc(warehouseId, 0)
+                    : repo.findByWarehouseIdOrderBySuggestedQuantityDesc(warehouseId);
+        } else {
+            suggestions = actionableOnly
+                    ? repo.findBySuggestedQuantityGreaterThanOrderBySuggestedQuantityDesc(0)
+                    : repo.findAllByOrderBySuggestedQuantityDesc();
+        }
+        return suggestions.stream().map(s -> mapper.map(s, ReorderSuggestionDTO.class)).toList();
+    }
+
+    @Override
+    public synchronized String runForecast() {
+        try {
+            var execution = jobOperator.start(reorderForecastJob, new JobParametersBuilder()
+                    .addLong("run.id", System.currentTimeMillis())
+                    .toJobParameters());
+            return execution.getStatus().name();
+        } catch (Exception e) {
+            throw new ApiException("Reorder forecast could not be started: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${forecast.cron:0 30 2 * * *}")
+    public void scheduledForecast() {
+        try {
+            log.info("Scheduled reorder forecast finished with status {}", runForecast());
+        } catch (ApiException e) {
+            log.error(e.getMessage());
+        }
+    }
+}
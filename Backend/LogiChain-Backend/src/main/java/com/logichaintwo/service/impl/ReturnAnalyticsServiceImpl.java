@@ -0,0 +1,104 @@
+package com.logichaintwo.service.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.logichaintwo.batch.ReturnAnalyticsJobConfig;
+import com.logichaintwo.batch.ReturnRateTasklet;
+import com.logichaintwo.dto.ReturnAnalyticsDTO;
+import com.logichaintwo.dto.ReturnRateDTO;
+import com.logichaintwo.dto.ReturnReasonClusterDTO;
+import com.logichaintwo.entities.ReturnRateStat;
+import com.logichaintwo.entities.ReturnReasonCluster;
+import com.logichaintwo.exception.ApiException;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.repository.ReturnRateStatRepository;
+import com.logichaintwo.repository.ReturnReasonClusterRepository;
+import com.logichaintwo.service.IReturnAnalyticsService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ReturnAnalyticsServiceImpl implements IReturnAnalyticsService {
+    private static final int MAX_LIMIT = 500;
+
+    private final ReturnRateStatRepository rateRepo;
+    private final ReturnReasonClusterRepository clusterRepo;
+    private final ModelMapper mapper;
+    private final JobOperator jobOperator;
+    private final Job returnAnalyticsJob;
+    private final List<Integer> windows;
+
+    @Value("${returns.analytics.min-units-sold:20}")
+    private long minUnitsSold;
+
+    public ReturnAnalyticsServiceImpl(ReturnRateStatRepository rateRepo, ReturnReasonClusterRepository clusterRepo,
+                                      ModelMapper mapper, JobOperator jobOperator,
+                                      @Qualifier(ReturnAnalyticsJobConfig.JOB_NAME) Job returnAnalyticsJob,
+                                      @Value("${returns.analytics.windows-days:7,30,90}") Integer[] windowDays) {
+        this.rateRepo = rateRepo;
+        this.clusterRepo = clusterRepo;
+        this.mapper = mapper;
+        this.jobOperator = jobOperator;
+        this.returnAnalyticsJob = returnAnalyticsJob;
+        this.windows = Arrays.stream(windowDays).filter(days -> days > 0).distinct().sorted().toList();
+    }
+
+    @Override
+    public ReturnAnalyticsDTO getAnalytics(Integer windowDays, int limit) {
+        // Defaults to the second-shortest window, 30 days with the stock settings
+        int window = windowDays != null ? windowDays : windows.get(Math.min(1, windows.size() - 1));
+        if (!windows.contains(window)) {
+            throw new InvalidInputException("Return rates are computed for windows " + windows + " days only");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<ReturnRateStat> products = rateRepo.findByScopeAndWindowDaysAndUnitsSoldGreaterThanEqualOrderByReturnRateDesc(
+                ReturnRateTasklet.PRODUCT_SCOPE, window, minUnitsSold, PageRequest.of(0, pageSize));
+        List<ReturnRateStat> categories = rateRepo.findByScopeAndWindowDaysOrderByReturnRateDesc(
+                ReturnRateTasklet.CATEGORY_SCOPE, window);
+        List<ReturnReasonCluster> clusters = clusterRepo.findAllByOrderByReturnCountDesc();
+
+        return ReturnAnalyticsDTO.builder()
+                .windowDays(window)
+                .availableWindows(windows)
+                .generatedAt(!categories.isEmpty() ? categories.get(0).getGeneratedAt() : null)
+                .products(products.stream().map(s -> mapper.map(s, ReturnRateDTO.class)).toList())
+                .categories(categories.stream().map(s -> mapper.map(s, ReturnRateDTO.class)).toList())
+                .reasonWindowDays(!clusters.isEmpty() ? clusters.get(0).getWindowDays() : null)
+                .reasonClusters(clusters.stream().map(c -> mapper.map(c, ReturnReasonClusterDTO.class)).toList())
+                .build();
+    }
+
+    @Override
+    public synchronized String runAnalytics() {
+        try {
+            var execution = jobOperator.start(returnAnalyticsJob, new JobParametersBuilder()
+                    .addLong("run.id", System.currentTimeMillis())
+                    .toJobParameters());
+            return execution.getStatus().name();
+        } catch (Exception e) {
+            throw new ApiException("Return analytics could not be started: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${returns.analytics.cron:0 0 3 * * *}")
+    public void scheduledAnalytics() {
+        try {
+            log.info("Scheduled return analytics finished with status {}", runAnalytics());
+        } catch (ApiException e) {
+            log.error(e.getMessage());
+        }
+    }
+}
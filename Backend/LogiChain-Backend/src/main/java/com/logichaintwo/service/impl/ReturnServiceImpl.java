@@ -5,12 +5,16 @@ import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.logichaintwo.dto.ReturnDTO;
 import com.logichaintwo.entities.Return;
+import com.logichaintwo.enums.ReturnStatus;
 import com.logichaintwo.exception.ResourceNotFoundException;
 import com.logichaintwo.repository.ReturnRepository;
 import com.logichaintwo.service.IReturnService;
+import com.logichaintwo.service.IReturnWorkflowService;
+import com.logichaintwo.service.ReferenceNumberGenerator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,6 +22,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ReturnServiceImpl implements IReturnService {
     private final ReturnRepository repo;
+    private final IReturnWorkflowService workflowService;
+    private final ReferenceNumberGenerator numberGenerator;
     private final ModelMapper mapper;
 
     public List<ReturnDTO> getAll() {
@@ -33,9 +39,29 @@ public class ReturnServiceImpl implements IReturnService {
         return mapper.map(returnEntity, ReturnDTO.class);
     }
 
+    // Status changes on an existing return go through the workflow so their side effects run
     @Override
+    @Transactional
     public ReturnDTO save(Return returnEntity) {
-        return mapper.map(repo.save(returnEntity), ReturnDTO.class);
+        if (returnEntity.getId() == null) {
+            returnEntity.setReturnNumber(numberGenerator.nextReturnNumber());
+            returnEntity.setReturnStatus(ReturnStatus.REQUESTED);
+            return mapper.map(repo.save(returnEntity), ReturnDTO.class);
+        }
+        Return existing = repo.findById(returnEntity.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Return not found with id: " + returnEntity.getId()));
+        ReturnStatus requested = returnEntity.getReturnStatus();
+        returnEntity.setReturnNumber(existing.getReturnNumber());
+        returnEntity.setReturnStatus(existing.getReturnStatus());
+        returnEntity.setProcessedBy(existing.getProcessedBy());
+        returnEntity.setProcessedAt(existing.getProcessedAt());
+        returnEntity.setRequestedAt(existing.getRequestedAt());
+        returnEntity.setCreatedAt(existing.getCreatedAt());
+        Return saved = repo.saveAndFlush(returnEntity);
+        if (requested != null && requested != existing.getReturnStatus()) {
+            return workflowService.updateStatus(saved.getId(), requested, null, null, null);
+        }
+        return mapper.map(saved, ReturnDTO.class);
     }
 
     @Override
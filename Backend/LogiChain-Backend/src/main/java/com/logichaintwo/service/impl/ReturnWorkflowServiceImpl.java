@@ -0,0 +1,357 @@
+package com.logichaintwo.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.dto.BulkReturnStatusResultDTO;
+import com.logichaintwo.dto.ReturnDTO;
+import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.entities.InventoryTransaction;
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.entities.Warehouse;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.enums.NotificationType;
+import com.logichaintwo.enums.PaymentStatus;
+import com.logichaintwo.enums.ReturnStatus;
+import com.logichaintwo.enums.TransactionType;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.OrderRepository;
+import com.logichaintwo.repository.ProductRepository;
+import com.logichaintwo.repository.ReturnRepository;
+import com.logichaintwo.repository.WarehouseRepository;
+import com.logichaintwo.repository.projection.RestockLineView;
+import com.logichaintwo.repository.projection.ReturnRecipientView;
+import com.logichaintwo.repository.projection.ReturnSiblingView;
+import com.logichaintwo.repository.projection.ReturnStatusView;
+import com.logichaintwo.service.IInventoryLedgerService;
+import com.logichaintwo.service.IReturnWorkflowService;
+import com.logichaintwo.service.IWarehouseService;
+import com.logichaintwo.service.LowStockMonitor;
+import com.logichaintwo.service.NotificationDigester;
+import com.logichaintwo.service.StatusTransitionPlan;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Walks returns through REQUESTED -> APPROVED -> RECEIVED -> REFUNDED (or REJECTED) in bulk.
+ * The requested returns are locked and moved through StatusTransitionPlan, the same planning
+ * step orders use. Side effects stay set-based: receipt restocks each stock location once
+ * and writes its ledger entries in one batch, refunds flip the orders' payment status in one
+ * UPDATE, and every move hands the customers' notifications to NotificationDigester.
+ *
+ * A return covers its whole order, so only one return per order is ever received. Receipt is
+ * checked per return before anything moves: one that would restock an order twice, has no
+ * warehouse, or would overflow its warehouse is reported as failed and the rest go ahead.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReturnWorkflowServiceImpl implements IReturnWorkflowService {
+    private static final String RETURN_NOT_FOUND = "Return not found";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ReturnRepository repo;
+    private final OrderRepository orderRepo;
+    private final InventoryRepository inventoryRepo;
+    private final WarehouseRepository warehouseRepo;
+    private final ProductRepository productRepo;
+    private final NotificationDigester digester;
+    private final IInventoryLedgerService ledgerService;
+    private final IWarehouseService warehouseService;
+    private final LowStockMonitor lowStockMonitor;
+    private final ModelMapper mapper;
+
+    private record Location(Long productId, Long warehouseId) {
+    }
+
+    private record RestockLine(Long returnId, Location location, int quantity) {
+    }
+
+    @Override
+    @Transactional
+    public ReturnDTO updateStatus(Long id, ReturnStatus status, Long warehouseId, String note, Long processedBy) {
+        BulkReturnStatusResultDTO result = updateStatuses(List.of(id), status, warehouseId, note, processedBy);
+        String failure = result.getFailed().get(id);
+        if (RETURN_NOT_FOUND.equals(failure)) {
+            throw new ResourceNotFoundException("Return not found with id: " + id);
+        }
+        if (failure != null) {
+            throw new InvalidInputException(failure);
+        }
+        return mapper.map(repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Return not found with id: " + id)), ReturnDTO.class);
+    }
+
+    @Override
+    @Transactional
+    public BulkReturnStatusResultDTO updateStatuses(Collection<Long> ids, ReturnStatus next, Long warehouseId,
+                                                    String note, Long processedBy) {
+        if (next == null) {
+            throw new InvalidInputException("Return status is required");
+        }
+        if (warehouseId != null && !warehouseRepo.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse not found with id: " + warehouseId);
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (next == ReturnStatus.RECEIVED && !requested.isEmpty()) {
+            // Orders before returns, so concurrent receipts for one order queue up instead of deadlocking
+            orderRepo.lockByReturnIds(requested);
+        }
+        Map<Long, ReturnStatus> current = new HashMap<>();
+        for (ReturnStatusView view : repo.lockStatuses(requested)) {
+            current.put(view.getId(), ReturnStatus.valueOf(view.getReturnStatus()));
+        }
+        StatusTransitionPlan<ReturnStatus> plan = StatusTransitionPlan.plan("return", RETURN_NOT_FOUND, requested,
+                current, null, next);
+
+        // Restock lines are planned before anything moves, so a return that cannot be restocked stays put
+        List<RestockLine> restock = List.of();
+        if (next == ReturnStatus.RECEIVED && !plan.moving().isEmpty()) {
+            restock = planRestock(plan.moving(), warehouseId, plan::fail);
+        }
+
+        LocalDateTime at = LocalDateTime.now();
+        List<Long> moved = plan.apply((group, source) -> repo.transitionStatus(group, source, next, processedBy, note, at),
+                (source, group) -> { });
+
+        long unitsRestocked = 0;
+        if (!moved.isEmpty()) {
+            if (next == ReturnStatus.RECEIVED) {
+                unitsRestocked = restock(restock);
+            } else if (next == ReturnStatus.REFUNDED) {
+                orderRepo.updatePaymentStatusByReturnIds(moved, PaymentStatus.REFUNDED);
+            }
+            queueNotifications(moved, next, at);
+        }
+
+        return BulkReturnStatusResultDTO.builder()
+                .status(next)
+                .succeeded(plan.succeeded())
+                .failed(plan.failed())
+                .unitsRestocked(unitsRestocked)
+                .build();
+    }
+
+    // Received returns waiting for their refund, oldest first; pass the last id seen to continue
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReturnDTO> getRefundQueue(Long afterId, int size) {
+        long cursor = afterId != null ? Math.max(afterId, 0) : 0;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return repo.findByReturnStatusAndIdGreaterThanOrderByIdAsc(ReturnStatus.RECEIVED, cursor,
+                        PageRequest.of(0, pageSize)).stream()
+                .map(e -> mapper.map(e, ReturnDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    /*
+     * A return covers the whole order, so every item goes back into the requested warehouse,
+     * or the one the order shipped from. Returns are checked in id order, and each that passes
+     * reserves its weight against the warehouse before the next is looked at.
+     */
+    private List<RestockLine> planRestock(List<Long> returnIds, Long warehouseId, BiConsumer<Long, String> fail) {
+        Set<Long> failed = new HashSet<>();
+        BiConsumer<Long, String> reject = (returnId, reason) -> {
+            failed.add(returnId);
+            fail.accept(returnId, reason);
+        };
+
+        Set<Long> receiving = new HashSet<>(returnIds);
+        Set<Long> ordersReceived = new HashSet<>();
+        List<ReturnSiblingView> siblings = repo.findSiblingsForShare(returnIds);
+        for (ReturnSiblingView sibling : siblings) {
+            ReturnStatus status = ReturnStatus.valueOf(sibling.getReturnStatus());
+            if (status == ReturnStatus.RECEIVED || status == ReturnStatus.REFUNDED) {
+                ordersReceived.add(sibling.getOrderId());
+            }
+        }
+        for (ReturnSiblingView sibling : siblings) {
+            if (!receiving.contains(sibling.getId())) {
+                continue;
+            }
+            if (!ordersReceived.add(sibling.getOrderId())) {
+                reject.accept(sibling.getId(), "Another return for order " + sibling.getOrderId()
+                        + " has already been received");
+            }
+        }
+
+        Map<Long, List<RestockLine>> byReturn = new TreeMap<>();
+        for (RestockLineView view : repo.findRestockLines(returnIds)) {
+            if (failed.contains(view.getReturnId())) {
+                continue;
+            }
+            Long target = warehouseId != null ? warehouseId : view.getWarehouseId();
+            if (target == null) {
+                reject.accept(view.getReturnId(), "Order was never assigned a warehouse; pass warehouseId to receive it");
+                byReturn.remove(view.getReturnId());
+            } else if (view.getQuantity() != null && view.getQuantity() > 0) {
+                byReturn.computeIfAbsent(view.getReturnId(), id -> new ArrayList<>())
+                        .add(new RestockLine(view.getReturnId(), new Location(view.getProductId(), target),
+                                view.getQuantity().intValue()));
+            }
+        }
+        byReturn.keySet().removeIf(failed::contains);
+
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> warehouseIds = new HashSet<>();
+        byReturn.values().forEach(lines -> lines.forEach(line -> {
+            productIds.add(line.location().productId());
+            warehouseIds.add(line.location().warehouseId());
+        }));
+        Map<Long, Double> weights = new HashMap<>();
+        for (Product product : productRepo.findAllById(productIds)) {
+            weights.put(product.getId(), product.getWeight() != null ? product.getWeight() : 0.0);
+        }
+        Map<Long, Warehouse> warehouses = new HashMap<>();
+        for (Warehouse warehouse : warehouseRepo.findAllById(warehouseIds)) {
+            warehouses.put(warehouse.getId(), warehouse);
+        }
+
+        Map<Long, Double> planned = new HashMap<>();
+        List<RestockLine> accepted = new ArrayList<>();
+        for (Map.Entry<Long, List<RestockLine>> entry : byReturn.entrySet()) {
+            Map<Long, Double> adding = new HashMap<>();
+            for (RestockLine line : entry.getValue()) {
+                adding.merge(line.location().warehouseId(),
+                        weights.getOrDefault(line.location().productId(), 0.0) * line.quantity(), Double::sum);
+            }
+            String problem = null;
+            for (Map.Entry<Long, Double> add : adding.entrySet()) {
+                Warehouse warehouse = warehouses.get(add.getKey());
+                if (warehouse == null) {
+                    problem = "Warehouse not found with id: " + add.getKey();
+                    break;
+                }
+                double used = (warehouse.getUsedCapacity() != null ? warehouse.getUsedCapacity() : 0.0)
+                        + planned.getOrDefault(add.getKey(), 0.0);
+                if (used + add.getValue() > warehouse.getCapacity()) {
+                    problem = "Warehouse " + warehouse.getCode() + " cannot take " + add.getValue() + " more: "
+                            + used + " of " + warehouse.getCapacity() + " already used or planned";
+                    break;
+                }
+            }
+            if (problem != null) {
+                reject.accept(entry.getKey(), problem);
+                continue;
+            }
+            adding.forEach((id, weight) -> planned.merge(id, weight, Double::sum));
+            accepted.addAll(entry.getValue());
+        }
+        return accepted;
+    }
+
+    /*
+     * Each stock location is updated once however many returns share it; missing rows start at
+     * zero. The rows are locked before they are read: the whole entity is written back, so an
+     * unlocked read would overwrite a reservation made in between.
+     */
+    private long restock(List<RestockLine> lines) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        Map<Location, Integer> byLocation = new LinkedHashMap<>();
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> warehouseIds = new HashSet<>();
+        for (RestockLine line : lines) {
+            byLocation.merge(line.location(), line.quantity(), Integer::sum);
+            productIds.add(line.location().productId());
+            warehouseIds.add(line.location().warehouseId());
+        }
+
+        Map<Location, Inventory> inventories = new HashMap<>();
+        for (Inventory inventory : inventoryRepo.findByProductIdInAndWarehouseIdInForUpdate(productIds, warehouseIds)) {
+            inventories.put(new Location(inventory.getProductId(), inventory.getWarehouseId()), inventory);
+        }
+        for (Location location : byLocation.keySet()) {
+            if (!inventories.containsKey(location)) {
+                Inventory created = new Inventory();
+                created.setProductId(location.productId());
+                created.setWarehouseId(location.warehouseId());
+                created.setQuantity(0);
+                inventories.put(location, inventoryRepo.save(created));
+            }
+        }
+
+        long units = 0;
+        for (Map.Entry<Location, Integer> entry : byLocation.entrySet()) {
+            Inventory inventory = inventories.get(entry.getKey());
+            inventory.setQuantity(inventory.getQuantity() + entry.getValue());
+            warehouseService.applyStockChange(inventory.getWarehouseId(), inventory.getProductId(), entry.getValue());
+            lowStockMonitor.evaluate(inventory);
+            units += entry.getValue();
+        }
+
+        List<InventoryTransaction> entries = new ArrayList<>(lines.size());
+        for (RestockLine line : lines) {
+            InventoryTransaction entry = new InventoryTransaction();
+            entry.setInventoryId(inventories.get(line.location()).getId());
+            entry.setTransactionType(TransactionType.STOCK_IN);
+            entry.setQuantityChanged(line.quantity());
+            entry.setReferenceId(line.returnId());
+            entries.add(entry);
+        }
+        ledgerService.recordAll(entries);
+        return units;
+    }
+
+    private void queueNotifications(List<Long> returnIds, ReturnStatus status, LocalDateTime at) {
+        NotificationType type;
+        String prefix;
+        String suffix;
+        switch (status) {
+            case APPROVED -> {
+                type = NotificationType.RETURN_APPROVED;
+                prefix = "Your return ";
+                suffix = " has been approved. Please send the items back to us.";
+            }
+            case REJECTED -> {
+                type = NotificationType.RETURN_REJECTED;
+                prefix = "Your return ";
+                suffix = " has been rejected.";
+            }
+            case RECEIVED -> {
+                type = NotificationType.RETURN_RECEIVED;
+                prefix = "We have received the items for your return ";
+                suffix = ". Your refund is on its way.";
+            }
+            case REFUNDED -> {
+                type = NotificationType.REFUND_PROCESSED;
+                prefix = "The refund for your return ";
+                suffix = " has been issued.";
+            }
+            default -> {
+                return;
+            }
+        }
+        List<Notification> notifications = new ArrayList<>(returnIds.size());
+        for (ReturnRecipientView recipient : repo.findRecipients(returnIds)) {
+            Notification notification = new Notification();
+            notification.setUserId(recipient.getCustomerId());
+            notification.setOrderId(recipient.getOrderId());
+            notification.setNotificationType(type);
+            notification.setChannel(NotificationChannel.EMAIL);
+            notification.setMessage(prefix + recipient.getReturnNumber() + suffix);
+            notification.setCreatedAt(at);
+            notifications.add(notification);
+        }
+        digester.submit(notifications);
+    }
+}
@@ -1,24 +1,43 @@
 package com.logichaintwo.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.logichaintwo.dto.ShipmentDTO;
+import com.logichaintwo.dto.ShipmentEventDTO;
+import com.logichaintwo.dto.ShipmentStatusUpdateRequest;
 import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.entities.ShipmentEvent;
+import com.logichaintwo.enums.EventType;
+import com.logichaintwo.enums.ShipmentStatus;
+import com.logichaintwo.exception.ConflictException;
+import com.logichaintwo.exception.InvalidInputException;
 import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.ShipmentEventRepository;
 import com.logichaintwo.repository.ShipmentRepository;
+import com.logichaintwo.service.ICarrierStatsService;
 import com.logichaintwo.service.IShipmentService;
+import com.logichaintwo.service.ReferenceNumberGenerator;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ShipmentServiceImpl implements IShipmentService {
+    private static final int MAX_CAS_ATTEMPTS = 5;
+
     private final ShipmentRepository repo;
+    private final ShipmentEventRepository eventRepo;
     private final ModelMapper mapper;
+    private final TransactionTemplate txTemplate;
+    private final ICarrierStatsService carrierStatsService;
+    private final ReferenceNumberGenerator numberGenerator;
 
     public List<ShipmentDTO> getAll() {
         return repo.findAll().stream()
@@ -42,7 +61,77 @@ public class ShipmentServiceImpl implements IShipmentService {
 
     @Override
     public ShipmentDTO save(Shipment shipment) {
-        return mapper.map(repo.save(shipment), ShipmentDTO.class);
+        if (shipment.getId() != null) {
+            return update(shipment.getId(), shipment);
+        }
+        shipment.setTrackingNumber(numberGenerator.nextTrackingNumber());
+        // Every shipment starts at CREATED; later statuses only come through the transition table
+        shipment.setShipmentStatus(ShipmentStatus.CREATED);
+        Shipment saved = txTemplate.execute(status -> {
+            Shipment created = repo.save(shipment);
+            recordEvent(created.getId(), created.getShipmentStatus(), created.getCurrentLocation(),
+                    null, null, "Shipment created");
+            return created;
+        });
+        return mapper.map(saved, ShipmentDTO.class);
+    }
+
+    /*
+     * Edits everything except the tracking number; a status change goes through the same
+     * transition check as updateStatus, in the same transaction, so a rejected transition
+     * rolls back the field edits with it.
+     */
+    @Override
+    public ShipmentDTO update(Long id, Shipment shipment) {
+        txTemplate.executeWithoutResult(status -> {
+            Shipment existing = repo.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+            if (shipment.getVersion() != null && !shipment.getVersion().equals(existing.getVersion())) {
+                throw new ConflictException("Shipment " + id + " was modified by someone else (expected version "
+                        + shipment.getVersion() + ", current " + existing.getVersion() + ")");
+            }
+            existing.setOrderId(shipment.getOrderId());
+            existing.setCarrierId(shipment.getCarrierId());
+            existing.setWarehouseId(shipment.getWarehouseId());
+            existing.setCurrentLocation(shipment.getCurrentLocation());
+            existing.setEstimatedDeliveryDate(shipment.getEstimatedDeliveryDate());
+            Shipment saved = repo.saveAndFlush(existing);
+            if (shipment.getShipmentStatus() == null || shipment.getShipmentStatus() == saved.getShipmentStatus()) {
+                return;
+            }
+            // A missed compare-and-set rolls the field edits back along with it
+            boolean moved = tryTransition(id, ShipmentStatusUpdateRequest.builder()
+                    .status(shipment.getShipmentStatus())
+                    .location(shipment.getCurrentLocation())
+                    .expectedVersion(saved.getVersion())
+                    .build());
+            if (!moved) {
+                throw new ConflictException("Shipment " + id + " is being updated concurrently, please retry");
+            }
+        });
+        return getById(id);
+    }
+
+    @Override
+    public ShipmentDTO updateStatus(Long id, ShipmentStatusUpdateRequest request) {
+        for (int attempt = 1; attempt <= MAX_CAS_ATTEMPTS; attempt++) {
+            Boolean applied = txTemplate.execute(status -> tryTransition(id, request));
+            if (Boolean.TRUE.equals(applied)) {
+                return getById(id);
+            }
+            backoff(attempt);
+        }
+        throw new ConflictException("Shipment " + id + " is being updated concurrently, please retry");
+    }
+
+    @Override
+    public List<ShipmentEventDTO> getEvents(Long id) {
+        if (!repo.existsById(id)) {
+            throw new ResourceNotFoundException("Shipment not found with id: " + id);
+        }
+        return eventRepo.findByShipmentIdOrderByEventTimestampAsc(id).stream()
+                .map(e -> mapper.map(e, ShipmentEventDTO.class))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -52,4 +141,64 @@ public class ShipmentServiceImpl implements IShipmentService {
         }
         repo.deleteById(id);
     }
-}
\ No newline at end of file
+
+    // One compare-and-set attempt: returns false if another writer moved the row first
+    private boolean tryTransition(Long id, ShipmentStatusUpdateRequest request) {
+        Shipment current = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Shipment not found with id: " + id));
+        Long version = current.getVersion();
+        if (request.getExpectedVersion() != null && !request.getExpectedVersion().equals(version)) {
+            throw new ConflictException("Shipment " + id + " was modified by someone else (expected version "
+                    + request.getExpectedVersion() + ", current " + version + ")");
+        }
+
+        ShipmentStatus from = current.getShipmentStatus();
+        ShipmentStatus to = request.getStatus();
+        if (from == to) {
+            return true;
+        }
+        if (!from.canTransitionTo(to)) {
+            throw new InvalidInputException("Invalid shipment status transition: " + from + " -> " + to);
+        }
+        if (from == ShipmentStatus.CREATED && current.getCarrierId() == null) {
+            throw new InvalidInputException("Shipment " + id + " has no carrier assigned yet");
+        }
+
+        LocalDateTime deliveredAt = to == ShipmentStatus.DELIVERED ? LocalDateTime.now() : null;
+        int updated = repo.compareAndSetStatus(id, version, from, to, request.getLocation(), deliveredAt);
+        if (updated == 0) {
+            return false;
+        }
+        if (deliveredAt != null) {
+            current.setActualDeliveryDate(deliveredAt);
+        }
+        carrierStatsService.recordTransition(current, from, to);
+
+        String description = request.getDescription() != null
+                ? request.getDescription()
+                : "Status changed from " + from + " to " + to;
+        recordEvent(id, to, request.getLocation(), request.getLatitude(), request.getLongitude(), description);
+        return true;
+    }
+
+    private void recordEvent(Long shipmentId, ShipmentStatus status, String location,
+                             Double latitude, Double longitude, String description) {
+        ShipmentEvent event = new ShipmentEvent();
+        event.setShipmentId(shipmentId);
+        event.setEventType(EventType.valueOf(status.name()));
+        event.setLocation(location);
+        event.setLatitude(latitude);
+        event.setLongitude(longitude);
+        event.setDescription(description);
+        eventRepo.save(event);
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying shipment status update");
+        }
+    }
+}
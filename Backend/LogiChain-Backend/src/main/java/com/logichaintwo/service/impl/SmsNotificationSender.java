@@ -0,0 +1,28 @@
+package com.logichaintwo.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.service.NotificationSender;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Local stand-in until an SMS provider is wired up: validates the recipient and logs the message
+@Slf4j
+@Component
+public class SmsNotificationSender implements NotificationSender {
+    @Override
+    public NotificationChannel channel() {
+        return NotificationChannel.SMS;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        String phone = notification.getUser() != null ? notification.getUser().getPhone() : null;
+        if (phone == null || phone.isBlank()) {
+            throw new UndeliverableException("User " + notification.getUserId() + " has no phone number");
+        }
+        log.info("SMS to {}: {}", phone, notification.getMessage());
+    }
+}
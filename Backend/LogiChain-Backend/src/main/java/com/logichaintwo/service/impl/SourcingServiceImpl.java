@@ -0,0 +1,209 @@
+package com.logichaintwo.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Service;
+
+import com.logichaintwo.dto.SourcingPlanDTO;
+import com.logichaintwo.dto.SourcingRequest;
+import com.logichaintwo.entities.OrderItem;
+import com.logichaintwo.entities.Warehouse;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.OrderItemRepository;
+import com.logichaintwo.repository.OrderRepository;
+import com.logichaintwo.repository.WarehouseRepository;
+import com.logichaintwo.service.ISourcingService;
+import com.logichaintwo.service.InventoryAvailabilityIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class SourcingServiceImpl implements ISourcingService {
+    // Orders with at least this many product x warehouse cells evaluate start warehouses in parallel
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    // Warehouses without coordinates rank behind every located one
+    private static final double UNKNOWN_DISTANCE_KM = 20_000.0;
+
+    private static final Comparator<Plan> PLAN_ORDER = Comparator
+            .comparingInt((Plan plan) -> plan.shortageUnits)
+            .thenComparingInt(plan -> plan.warehouses.size())
+            .thenComparingDouble(plan -> plan.distanceKm);
+
+    private final InventoryAvailabilityIndex availabilityIndex;
+    private final WarehouseRepository warehouseRepo;
+    private final OrderRepository orderRepo;
+    private final OrderItemRepository orderItemRepo;
+
+    @Override
+    public SourcingPlanDTO plan(SourcingRequest request) {
+        Map<Long, Integer> demandByProduct = new LinkedHashMap<>();
+        for (SourcingRequest.Line line : request.getLines()) {
+            demandByProduct.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+        return plan(demandByProduct, request.getDestinationLatitude(), request.getDestinationLongitude());
+    }
+
+    @Override
+    public SourcingPlanDTO planForOrder(Long orderId, Double destinationLatitude, Double destinationLongitude) {
+        if (!orderRepo.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        Map<Long, Integer> demandByProduct = new LinkedHashMap<>();
+        for (OrderItem item : orderItemRepo.findByOrderId(orderId)) {
+            if (item.getProductId() != null && item.getQuantity() != null && item.getQuantity() > 0) {
+                demandByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return plan(demandByProduct, destinationLatitude, destinationLongitude);
+    }
+
+    private SourcingPlanDTO plan(Map<Long, Integer> demandByProduct, Double latitude, Double longitude) {
+        long[] productIds = demandByProduct.keySet().stream().mapToLong(Long::longValue).toArray();
+        int[] demand = demandByProduct.values().stream().mapToInt(Integer::intValue).toArray();
+
+        InventoryAvailabilityIndex.Snapshot snapshot = availabilityIndex.snapshot(productIds);
+        long[] warehouseIds = snapshot.warehouseIds();
+        int[][] available = snapshot.available();
+        double[] distance = distances(warehouseIds, latitude, longitude);
+
+        IntStream starts = IntStream.range(0, warehouseIds.length);
+        if ((long) productIds.length * warehouseIds.length >= PARALLEL_THRESHOLD) {
+            starts = starts.parallel();
+        }
+        Plan best = starts
+                .mapToObj(start -> greedyFrom(start, demand, available, distance))
+                .filter(plan -> plan != null)
+                .min(PLAN_ORDER)
+                .orElseGet(() -> new Plan(demand.clone()));
+
+        return toDTO(best, productIds, warehouseIds, distance, latitude != null && longitude != null);
+    }
+
+    // Takes what it can from the start warehouse, then repeatedly adds whichever warehouse covers the most remaining units
+    private Plan greedyFrom(int start, int[] demand, int[][] available, double[] distance) {
+        Plan plan = new Plan(demand.clone());
+        if (take(plan, start, available, distance) == 0) {
+            return null;
+        }
+        int warehouseCount = distance.length;
+        while (plan.shortageUnits > 0) {
+            int next = -1;
+            int nextCovered = 0;
+            for (int w = 0; w < warehouseCount; w++) {
+                if (plan.warehouses.containsKey(w)) {
+                    continue;
+                }
+                int covered = 0;
+                for (int p = 0; p < demand.length; p++) {
+                    covered += Math.min(Math.max(available[p][w], 0), plan.remaining[p]);
+                }
+                if (covered > nextCovered || (covered == nextCovered && covered > 0 && distance[w] < distance[next])) {
+                    next = w;
+                    nextCovered = covered;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            take(plan, next, available, distance);
+        }
+        return plan;
+    }
+
+    private int take(Plan plan, int warehouse, int[][] available, double[] distance) {
+        int[] taken = new int[plan.remaining.length];
+        int total = 0;
+        for (int p = 0; p < taken.length; p++) {
+            taken[p] = Math.min(Math.max(available[p][warehouse], 0), plan.remaining[p]);
+            plan.remaining[p] -= taken[p];
+            total += taken[p];
+        }
+        if (total > 0) {
+            plan.warehouses.put(warehouse, taken);
+            plan.shortageUnits -= total;
+            plan.distanceKm += distance[warehouse];
+        }
+        return total;
+    }
+
+    private double[] distances(long[] warehouseIds, Double latitude, Double longitude) {
+        double[] distance = new double[warehouseIds.length];
+        if (latitude == null || longitude == null) {
+            return distance;
+        }
+        Map<Long, Warehouse> warehouses = warehouseRepo.findAll().stream()
+                .collect(Collectors.toMap(Warehouse::getId, w -> w));
+        for (int w = 0; w < warehouseIds.length; w++) {
+            Warehouse warehouse = warehouses.get(warehouseIds[w]);
+            distance[w] = warehouse != null && warehouse.getLatitude() != null && warehouse.getLongitude() != null
+                    ? haversineKm(latitude, longitude, warehouse.getLatitude(), warehouse.getLongitude())
+                    : UNKNOWN_DISTANCE_KM;
+        }
+        return distance;
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private SourcingPlanDTO toDTO(Plan plan, long[] productIds, long[] warehouseIds, double[] distance,
+                                  boolean withDistance) {
+        List<SourcingPlanDTO.WarehouseAllocation> allocations = new ArrayList<>();
+        for (Map.Entry<Integer, int[]> entry : plan.warehouses.entrySet()) {
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            int[] taken = entry.getValue();
+            for (int p = 0; p < taken.length; p++) {
+                if (taken[p] > 0) {
+                    quantities.put(productIds[p], taken[p]);
+                }
+            }
+            allocations.add(SourcingPlanDTO.WarehouseAllocation.builder()
+                    .warehouseId(warehouseIds[entry.getKey()])
+                    .quantities(quantities)
+                    .distanceKm(withDistance ? distance[entry.getKey()] : null)
+                    .build());
+        }
+
+        Map<Long, Integer> shortages = new HashMap<>();
+        for (int p = 0; p < productIds.length; p++) {
+            if (plan.remaining[p] > 0) {
+                shortages.put(productIds[p], plan.remaining[p]);
+            }
+        }
+
+        return SourcingPlanDTO.builder()
+                .fullyAllocated(plan.shortageUnits == 0)
+                .shipmentCount(allocations.size())
+                .totalDistanceKm(withDistance ? plan.distanceKm : null)
+                .allocations(allocations)
+                .shortages(shortages)
+                .build();
+    }
+
+    private static final class Plan {
+        private final int[] remaining;
+        private final Map<Integer, int[]> warehouses = new LinkedHashMap<>();
+        private int shortageUnits;
+        private double distanceKm;
+
+        private Plan(int[] remaining) {
+            this.remaining = remaining;
+            for (int units : remaining) {
+                shortageUnits += units;
+            }
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.logichaintwo.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.logichaintwo.dto.ReservationRequest;
+import com.logichaintwo.dto.StockReservationDTO;
+import com.logichaintwo.entities.Inventory;
+import com.logichaintwo.entities.StockReservation;
+import com.logichaintwo.enums.ReservationStatus;
+import com.logichaintwo.enums.TransactionType;
+import com.logichaintwo.exception.ConflictException;
+import com.logichaintwo.exception.InvalidInputException;
+import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.InventoryRepository;
+import com.logichaintwo.repository.StockReservationRepository;
+import com.logichaintwo.repository.projection.ReservationDeadlineView;
+import com.logichaintwo.service.HashedTimingWheel;
+import com.logichaintwo.service.IInventoryLedgerService;
+import com.logichaintwo.service.IStockReservationService;
+import com.logichaintwo.service.IWarehouseService;
+import com.logichaintwo.service.LowStockMonitor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stock holds with a time to live. Deadlines live in a hashed timing wheel rather than
+ * the database: one ticker advances it and releases whatever falls out in batches, and
+ * the wheel is refilled from the ACTIVE rows on startup. Extensions are bounded by
+ * max-hold-seconds from when the hold was placed, so a hold cannot be renewed forever.
+ */
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements IStockReservationService {
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final StockReservationRepository repo;
+    private final InventoryRepository inventoryRepo;
+    private final IInventoryLedgerService ledgerService;
+    private final IWarehouseService warehouseService;
+    private final LowStockMonitor lowStockMonitor;
+    private final ModelMapper mapper;
+    private final TransactionTemplate txTemplate;
+    private final HashedTimingWheel wheel;
+
+    @Value("${inventory.reservation.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${inventory.reservation.max-ttl-seconds:86400}")
+    private long maxTtlSeconds;
+
+    @Value("${inventory.reservation.max-hold-seconds:172800}")
+    private long maxHoldSeconds;
+
+    @Value("${inventory.reservation.release-batch-size:500}")
+    private int releaseBatchSize;
+
+    public StockReservationServiceImpl(StockReservationRepository repo, InventoryRepository inventoryRepo,
+                                       IInventoryLedgerService ledgerService, IWarehouseService warehouseService,
+                                       LowStockMonitor lowStockMonitor, ModelMapper mapper,
+                                       TransactionTemplate txTemplate,
+                                       @Value("${inventory.reservation.tick-ms:1000}") long tickMillis,
+                                       @Value("${inventory.reservation.wheel-slots:512}") int wheelSlots) {
+        this.repo = repo;
+        this.inventoryRepo = inventoryRepo;
+        this.ledgerService = ledgerService;
+        this.warehouseService = warehouseService;
+        this.lowStockMonitor = lowStockMonitor;
+        this.mapper = mapper;
+        this.txTemplate = txTemplate;
+        this.wheel = new HashedTimingWheel(tickMillis, wheelSlots, System.currentTimeMillis());
+    }
+
+    @Override
+    @Transactional
+    public StockReservationDTO reserve(ReservationRequest request, Long userId) {
+        long ttl = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        if (ttl <= 0 || ttl > maxTtlSeconds) {
+            throw new InvalidInputException("Reservation TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+        if (!inventoryRepo.existsById(request.getInventoryId())) {
+            throw new ResourceNotFoundException("Inventory not found with id: " + request.getInventoryId());
+        }
+        if (inventoryRepo.reserveIfAvailable(request.getInventoryId(), request.getQuantity()) == 0) {
+            throw new InvalidInputException("Insufficient available stock for inventory id: " + request.getInventoryId());
+        }
+
+        StockReservation reservation = new StockReservation();
+        reservation.setInventoryId(request.getInventoryId());
+        reservation.setQuantity(request.getQuantity());
+        reservation.setReferenceId(request.getReferenceId());
+        reservation.setCreatedBy(userId);
+        reservation.setExpiresAt(LocalDateTime.now().plusSeconds(ttl));
+        StockReservation saved = repo.save(reservation);
+        ledgerService.record(saved.getInventoryId(), TransactionType.RESERVED, saved.getQuantity(), saved.getId());
+        evaluateLowStock(List.of(saved.getInventoryId()));
+
+        // A hold whose transaction rolls back is a harmless no-op when its tick comes round
+        wheel.schedule(saved.getId(), toEpochMillis(saved.getExpiresAt()));
+        return mapper.map(saved, StockReservationDTO.class);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationDTO release(Long id, Long ownerId) {
+        StockReservation reservation = lockActive(id);
+        checkOwner(reservation, ownerId);
+        inventoryRepo.releaseReserved(reservation.getInventoryId(), reservation.getQuantity());
+        ledgerService.record(reservation.getInventoryId(), TransactionType.RELEASED, reservation.getQuantity(), id);
+        close(reservation, ReservationStatus.RELEASED, LocalDateTime.now());
+        evaluateLowStock(List.of(reservation.getInventoryId()));
+        return mapper.map(reservation, StockReservationDTO.class);
+    }
+
+    // The held units leave the warehouse: reserved and on-hand stock both drop
+    @Override
+    @Transactional
+    public StockReservationDTO confirm(Long id) {
+        StockReservation reservation = lockActive(id);
+        Long inventoryId = reservation.getInventoryId();
+        if (inventoryRepo.consumeReserved(inventoryId, reservation.getQuantity()) == 0) {
+            throw new ConflictException("Reserved stock for inventory id " + inventoryId + " no longer covers this hold");
+        }
+        ledgerService.record(inventoryId, TransactionType.RELEASED, reservation.getQuantity(), id);
+        ledgerService.record(inventoryId, TransactionType.STOCK_OUT, reservation.getQuantity(), id);
+        Inventory inventory = inventoryRepo.findById(inventoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory not found with id: " + inventoryId));
+        warehouseService.applyStockChange(inventory.getWarehouseId(), inventory.getProductId(), -reservation.getQuantity());
+        lowStockMonitor.evaluate(inventory);
+        close(reservation, ReservationStatus.CONFIRMED, LocalDateTime.now());
+        return mapper.map(reservation, StockReservationDTO.class);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationDTO extend(Long id, long ttlSeconds, Long ownerId) {
+        if (ttlSeconds <= 0 || ttlSeconds > maxTtlSeconds) {
+            throw new InvalidInputException("Reservation TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+        StockReservation reservation = lockActive(id);
+        checkOwner(reservation, ownerId);
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+        LocalDateTime limit = reservation.getCreatedAt().plusSeconds(maxHoldSeconds);
+        if (expiresAt.isAfter(limit)) {
+            throw new InvalidInputException("Reservation " + id + " cannot be held past " + limit
+                    + " (" + maxHoldSeconds + " seconds after it was placed)");
+        }
+        reservation.setExpiresAt(expiresAt);
+        // The old wheel entry stays; when it fires it sees the later deadline and reschedules
+        wheel.schedule(id, toEpochMillis(reservation.getExpiresAt()));
+        return mapper.map(repo.save(reservation), StockReservationDTO.class);
+    }
+
+    @Override
+    public StockReservationDTO getById(Long id, Long ownerId) {
+        StockReservation reservation = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        checkOwner(reservation, ownerId);
+        return mapper.map(reservation, StockReservationDTO.class);
+    }
+
+    @Override
+    public List<StockReservationDTO> getActiveByInventory(Long inventoryId) {
+        return repo.findByInventoryIdAndStatus(inventoryId, ReservationStatus.ACTIVE).stream()
+                .map(r -> mapper.map(r, StockReservationDTO.class))
+                .toList();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.reservation.tick-ms:1000}")
+    public int expireDue() {
+        long[] due = wheel.advance(System.currentTimeMillis());
+        int expired = 0;
+        for (int start = 0; start < due.length; start += releaseBatchSize) {
+            List<Long> ids = new ArrayList<>(Math.min(releaseBatchSize, due.length - start));
+            for (int i = start; i < Math.min(due.length, start + releaseBatchSize); i++) {
+                ids.add(due[i]);
+            }
+            try {
+                Integer released = txTemplate.execute(status -> expireBatch(ids));
+                expired += released != null ? released : 0;
+            } catch (RuntimeException e) {
+                // Put the batch back so the next tick retries it
+                log.error("Failed to expire {} reservations: {}", ids.size(), e.getMessage());
+                long retryAt = System.currentTimeMillis();
+                ids.forEach(id -> wheel.schedule(id, retryAt));
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+        return expired;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        long afterId = 0;
+        int scheduled = 0;
+        List<ReservationDeadlineView> page;
+        do {
+            page = repo.findDeadlinesAfter(ReservationStatus.ACTIVE, afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (ReservationDeadlineView deadline : page) {
+                wheel.schedule(deadline.getId(), toEpochMillis(deadline.getExpiresAt()));
+                afterId = deadline.getId();
+            }
+            scheduled += page.size();
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        log.info("Reservation timing wheel rebuilt with {} active holds", scheduled);
+    }
+
+    private int expireBatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        // Sorted so inventory rows are always locked in the same order
+        Map<Long, Integer> releasedByInventory = new TreeMap<>();
+        int expired = 0;
+        for (StockReservation reservation : repo.findByIdInAndStatusForUpdate(ids, ReservationStatus.ACTIVE)) {
+            if (reservation.getExpiresAt().isAfter(now)) {
+                wheel.schedule(reservation.getId(), toEpochMillis(reservation.getExpiresAt()));
+                continue;
+            }
+            close(reservation, ReservationStatus.EXPIRED, now);
+            ledgerService.record(reservation.getInventoryId(), TransactionType.RELEASED, reservation.getQuantity(),
+                    reservation.getId());
+            releasedByInventory.merge(reservation.getInventoryId(), reservation.getQuantity(), Integer::sum);
+            expired++;
+        }
+        // One guarded update per inventory row, however many of its holds lapsed together
+        releasedByInventory.forEach(inventoryRepo::releaseReserved);
+        evaluateLowStock(releasedByInventory.keySet());
+        return expired;
+    }
+
+    private StockReservation lockActive(Long id) {
+        StockReservation reservation = repo.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new ConflictException("Reservation " + id + " is already " + reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    // Someone else's hold looks the same as a missing one, so ids cannot be probed
+    private static void checkOwner(StockReservation reservation, Long ownerId) {
+        if (ownerId != null && !ownerId.equals(reservation.getCreatedBy())) {
+            throw new ResourceNotFoundException("Reservation not found with id: " + reservation.getId());
+        }
+    }
+
+    private void close(StockReservation reservation, ReservationStatus status, LocalDateTime at) {
+        reservation.setStatus(status);
+        reservation.setClosedAt(at);
+        repo.save(reservation);
+    }
+
+    // Rows are read after the bulk updates so the flags see the new reserved quantities
+    private void evaluateLowStock(Iterable<Long> inventoryIds) {
+        for (Inventory inventory : inventoryRepo.findAllById(inventoryIds)) {
+            lowStockMonitor.evaluate(inventory);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
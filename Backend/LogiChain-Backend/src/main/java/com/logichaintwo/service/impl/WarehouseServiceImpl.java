@@ -1,24 +1,40 @@
 package com.logichaintwo.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.logichaintwo.dto.WarehouseDTO;
+import com.logichaintwo.dto.WarehouseUtilizationDTO;
 import com.logichaintwo.entities.Warehouse;
+import com.logichaintwo.exception.InvalidInputException;
 import com.logichaintwo.exception.ResourceNotFoundException;
+import com.logichaintwo.repository.ProductRepository;
 import com.logichaintwo.repository.WarehouseRepository;
+import com.logichaintwo.repository.projection.WarehouseHoldingView;
 import com.logichaintwo.service.IWarehouseService;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WarehouseServiceImpl implements IWarehouseService {
     private final WarehouseRepository repo;
+    private final ProductRepository productRepo;
     private final ModelMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
 
     public List<WarehouseDTO> getAll() {
         return repo.findAll().stream()
@@ -34,8 +50,27 @@ public class WarehouseServiceImpl implements IWarehouseService {
     }
 
     @Override
+    @Transactional
     public WarehouseDTO save(Warehouse warehouse) {
-        return mapper.map(repo.save(warehouse), WarehouseDTO.class);
+        if (warehouse.getId() == null) {
+            warehouse.setUsedCapacity(0.0);
+            return mapper.map(repo.save(warehouse), WarehouseDTO.class);
+        }
+
+        // Copy onto the managed row so the request body cannot reset usedCapacity or orphan the inventory
+        Warehouse existing = repo.findById(warehouse.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + warehouse.getId()));
+        if (warehouse.getCapacity() < existing.getUsedCapacity()) {
+            throw new InvalidInputException("Capacity " + warehouse.getCapacity()
+                    + " is below the stock already held (" + existing.getUsedCapacity() + ")");
+        }
+        existing.setCode(warehouse.getCode());
+        existing.setName(warehouse.getName());
+        existing.setLocation(warehouse.getLocation());
+        existing.setCapacity(warehouse.getCapacity());
+        existing.setLatitude(warehouse.getLatitude());
+        existing.setLongitude(warehouse.getLongitude());
+        return mapper.map(repo.save(existing), WarehouseDTO.class);
     }
 
     @Override
@@ -45,4 +80,152 @@ public class WarehouseServiceImpl implements IWarehouseService {
         }
         repo.deleteById(id);
     }
-}
\ No newline at end of file
+
+    @Override
+    public WarehouseUtilizationDTO getUtilization(Long id) {
+        Warehouse warehouse = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + id));
+        return toUtilization(warehouse);
+    }
+
+    @Override
+    public List<WarehouseUtilizationDTO> getUtilization(List<Long> ids) {
+        List<Warehouse> warehouses = ids == null || ids.isEmpty() ? repo.findAll() : repo.findAllById(ids);
+        return warehouses.stream()
+                .map(this::toUtilization)
+                .collect(Collectors.toList());
+    }
+
+    // Joins the caller's transaction so a rejected increase rolls back the inventory write as well
+    @Override
+    @Transactional
+    public void applyStockChange(Long warehouseId, Long productId, int quantityDelta) {
+        if (quantityDelta == 0) {
+            return;
+        }
+        Double weight = productRepo.findWeightById(productId);
+        if (weight == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        double delta = weight * quantityDelta;
+        if (delta <= 0) {
+            repo.addUsedCapacity(warehouseId, delta);
+            return;
+        }
+        if (repo.addUsedCapacityWithinLimit(warehouseId, delta) == 0) {
+            Warehouse warehouse = repo.findById(warehouseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Warehouse not found with id: " + warehouseId));
+            throw new InvalidInputException("Warehouse " + warehouse.getCode() + " cannot take " + delta
+                    + " more: " + warehouse.getUsedCapacity() + " of " + warehouse.getCapacity() + " already used");
+        }
+    }
+
+    // Like applyStockChange, a rejected increase rolls back the caller's product update with it
+    @Override
+    @Transactional
+    public void applyProductWeightChange(Long productId, double weightDelta) {
+        if (weightDelta < 0) {
+            repo.applyProductWeightChange(productId, weightDelta);
+            return;
+        }
+        if (weightDelta == 0) {
+            return;
+        }
+        List<String> full = repo.findCodesOverflowingOnWeightChange(productId, weightDelta);
+        if (!full.isEmpty()) {
+            throw new InvalidInputException("Weight change would push warehouse(s) " + String.join(", ", full)
+                    + " over capacity");
+        }
+        // Guarded again in case stock moved since the check
+        if (repo.applyProductWeightIncreaseWithinLimit(productId, weightDelta) != repo.countHolding(productId)) {
+            throw new InvalidInputException("Weight change would push a warehouse over capacity, please retry");
+        }
+    }
+
+    /*
+     * The batched form for bulk imports: one locking read of every warehouse holding the
+     * products and one batch of per-warehouse updates. Products are taken in iteration order;
+     * one whose increase would overflow a warehouse, counting the increases accepted before it,
+     * is left unapplied and returned with the reason, and the rest go ahead.
+     */
+    @Override
+    @Transactional
+    public Map<Long, String> applyProductWeightChanges(Map<Long, Double> weightDeltas) {
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<Long> changed = weightDeltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (changed.isEmpty()) {
+            return rejected;
+        }
+        Map<Long, List<WarehouseHoldingView>> holdings = new HashMap<>();
+        Map<Long, Double> used = new HashMap<>();
+        Map<Long, Integer> capacity = new HashMap<>();
+        for (WarehouseHoldingView view : repo.lockHoldings(changed)) {
+            holdings.computeIfAbsent(view.getProductId(), id -> new ArrayList<>()).add(view);
+            used.put(view.getWarehouseId(), view.getUsedCapacity() != null ? view.getUsedCapacity() : 0.0);
+            capacity.put(view.getWarehouseId(), view.getCapacity());
+        }
+
+        Map<Long, Double> deltas = new LinkedHashMap<>();
+        for (Long productId : changed) {
+            double weightDelta = weightDeltas.get(productId);
+            List<WarehouseHoldingView> held = holdings.getOrDefault(productId, List.of());
+            if (weightDelta > 0) {
+                List<String> full = held.stream()
+                        .filter(h -> used.get(h.getWarehouseId()) + h.getQuantity() * weightDelta
+                                > capacity.get(h.getWarehouseId()))
+                        .map(WarehouseHoldingView::getCode)
+                        .sorted()
+                        .toList();
+                if (!full.isEmpty()) {
+                    rejected.put(productId, "Weight change would push warehouse(s) " + String.join(", ", full)
+                            + " over capacity");
+                    continue;
+                }
+            }
+            for (WarehouseHoldingView h : held) {
+                double delta = h.getQuantity() * weightDelta;
+                used.merge(h.getWarehouseId(), delta, (a, b) -> Math.max(0, a + b));
+                deltas.merge(h.getWarehouseId(), delta, Double::sum);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            List<Map.Entry<Long, Double>> updates = new ArrayList<>(deltas.entrySet());
+            jdbcTemplate.batchUpdate("UPDATE warehouse SET used_capacity = GREATEST(0, used_capacity + ?) WHERE id = ?",
+                    updates, updates.size(), (ps, update) -> {
+                        ps.setDouble(1, update.getValue());
+                        ps.setLong(2, update.getKey());
+                    });
+        }
+        return rejected;
+    }
+
+    @Override
+    @Transactional
+    public int recalculateUtilization() {
+        return repo.recalculateUsedCapacity();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void recalculateOnStartup() {
+        int updated = repo.recalculateUsedCapacity();
+        log.info("Recalculated used capacity for {} warehouses", updated);
+    }
+
+    private WarehouseUtilizationDTO toUtilization(Warehouse warehouse) {
+        double used = warehouse.getUsedCapacity() != null ? warehouse.getUsedCapacity() : 0.0;
+        int capacity = warehouse.getCapacity();
+        return WarehouseUtilizationDTO.builder()
+                .warehouseId(warehouse.getId())
+                .code(warehouse.getCode())
+                .name(warehouse.getName())
+                .capacity(capacity)
+                .usedCapacity(used)
+                .availableCapacity(Math.max(0.0, capacity - used))
+                .utilizationPercent(capacity > 0 ? used * 100.0 / capacity : null)
+                .build();
+    }
+}
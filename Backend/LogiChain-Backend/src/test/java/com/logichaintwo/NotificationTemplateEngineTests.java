@@ -0,0 +1,144 @@
+package com.logichaintwo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.logichaintwo.entities.NotificationTemplate;
+import com.logichaintwo.repository.NotificationTemplateRepository;
+import com.logichaintwo.repository.projection.TemplateVersionView;
+import com.logichaintwo.service.NotificationTemplateEngine;
+import com.logichaintwo.service.NotificationTemplateEngine.CompiledTemplate;
+import com.logichaintwo.service.NotificationTemplateEngine.Rendered;
+
+class NotificationTemplateEngineTests {
+	private static final LocalDateTime V1 = LocalDateTime.of(2026, 1, 1, 0, 0);
+	private static final LocalDateTime V2 = V1.plusMinutes(5);
+
+	private NotificationTemplateRepository repo;
+	private NotificationTemplateEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		repo = mock(NotificationTemplateRepository.class);
+		engine = new NotificationTemplateEngine(repo);
+	}
+
+	@Test
+	void rendersPlaceholdersInOrder() {
+		CompiledTemplate template = CompiledTemplate.compile("Hello {{username}}, order {{ orderId }} is {{status}}.");
+		assertThat(template.render(Map.of("username", "jane", "orderId", 42L, "status", "SHIPPED")))
+				.isEqualTo("Hello jane, order 42 is SHIPPED.");
+	}
+
+	@Test
+	void missingAndNullValuesRenderEmpty() {
+		Map<String, Object> values = new HashMap<>();
+		values.put("x", null);
+		assertThat(CompiledTemplate.compile("[{{x}}][{{missing}}]").render(values)).isEqualTo("[][]");
+	}
+
+	@Test
+	void unterminatedPlaceholderIsKeptAsText() {
+		assertThat(CompiledTemplate.compile("a {{ x }} b {{open").render(Map.of("x", 1))).isEqualTo("a 1 b {{open");
+	}
+
+	@Test
+	void textWithoutPlaceholdersAndNullSourceRenderAsIs() {
+		assertThat(CompiledTemplate.compile("plain text").render(Map.of())).isEqualTo("plain text");
+		assertThat(CompiledTemplate.compile(null).render(Map.of())).isEmpty();
+	}
+
+	@Test
+	void compiledTemplatesAreCachedByName() {
+		when(repo.findByTemplateName("shipped")).thenReturn(Optional.of(template("shipped", "Order {{id}}", V1)));
+
+		assertThat(engine.render("shipped", Map.of("id", 1))).contains(new Rendered("Subject 1", "Order 1"));
+		assertThat(engine.render("shipped", Map.of("id", 2))).contains(new Rendered("Subject 2", "Order 2"));
+		verify(repo, times(1)).findByTemplateName("shipped");
+	}
+
+	@Test
+	void missingTemplatesAreCachedToo() {
+		when(repo.findByTemplateName("none")).thenReturn(Optional.empty());
+
+		assertThat(engine.render("none", Map.of())).isEmpty();
+		assertThat(engine.render("none", Map.of())).isEmpty();
+		verify(repo, times(1)).findByTemplateName("none");
+	}
+
+	@Test
+	void refreshReloadsEditedTemplatesOnly() {
+		when(repo.findByTemplateName("shipped")).thenReturn(
+				Optional.of(template("shipped", "Old {{id}}", V1)),
+				Optional.of(template("shipped", "New {{id}}", V2)));
+		when(repo.findByTemplateName("delivered")).thenReturn(Optional.of(template("delivered", "Done {{id}}", V1)));
+		engine.render("shipped", Map.of("id", 1));
+		engine.render("delivered", Map.of("id", 1));
+
+		when(repo.findAllVersions()).thenReturn(List.of(version("shipped", V2), version("delivered", V1)));
+		engine.refresh();
+
+		assertThat(engine.render("shipped", Map.of("id", 3)).map(Rendered::body)).contains("New 3");
+		assertThat(engine.render("delivered", Map.of("id", 3)).map(Rendered::body)).contains("Done 3");
+		verify(repo, times(2)).findByTemplateName("shipped");
+		verify(repo, times(1)).findByTemplateName("delivered");
+	}
+
+	@Test
+	void refreshPicksUpTemplatesCreatedAfterAMiss() {
+		when(repo.findByTemplateName("new")).thenReturn(Optional.empty(),
+				Optional.of(template("new", "Body {{id}}", V1)));
+		assertThat(engine.render("new", Map.of("id", 1))).isEmpty();
+
+		when(repo.findAllVersions()).thenReturn(List.of(version("new", V1)));
+		engine.refresh();
+
+		assertThat(engine.render("new", Map.of("id", 1)).map(Rendered::body)).contains("Body 1");
+	}
+
+	@Test
+	void refreshDropsDeletedTemplates() {
+		when(repo.findByTemplateName("gone")).thenReturn(Optional.of(template("gone", "Body", V1)), Optional.empty());
+		assertThat(engine.render("gone", Map.of())).isPresent();
+
+		when(repo.findAllVersions()).thenReturn(List.of());
+		engine.refresh();
+
+		assertThat(engine.render("gone", Map.of())).isEmpty();
+	}
+
+	private static NotificationTemplate template(String name, String body, LocalDateTime updatedAt) {
+		NotificationTemplate template = new NotificationTemplate();
+		template.setTemplateName(name);
+		template.setSubject("Subject {{id}}");
+		template.setBodyTemplate(body);
+		template.setUpdatedAt(updatedAt);
+		return template;
+	}
+
+	private static TemplateVersionView version(String name, LocalDateTime updatedAt) {
+		return new TemplateVersionView() {
+			@Override
+			public String getTemplateName() {
+				return name;
+			}
+
+			@Override
+			public LocalDateTime getUpdatedAt() {
+				return updatedAt;
+			}
+		};
+	}
+}
@@ -0,0 +1,68 @@
+package com.logichaintwo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.logichaintwo.service.NotificationTemplateEngine.CompiledTemplate;
+
+/*
+ * Render cost per notification for a compiled template against String.format on the same
+ * text. A warm-up pass runs first; the numbers are printed rather than asserted, so a busy
+ * build machine cannot fail the build. Excluded from the normal build; run it with
+ * mvn test -Pbenchmark. Rendering behaviour is covered by NotificationTemplateEngineTests.
+ */
+@Tag("benchmark")
+class NotificationTemplateRenderBenchmarkTests {
+	private static final int WARMUP = 50_000;
+	private static final int ITERATIONS = 200_000;
+
+	private static final String BODY = """
+			<html><body><div class="container">
+			<h2>Hello {{username}},</h2>
+			<p>{{message}}</p>
+			<p>Order reference: {{orderId}}</p>
+			<p style="color:#999">Notification {{notificationId}}. You are receiving this because you have an account with us.</p>
+			</div></body></html>
+			""";
+
+	private static final String FORMAT = BODY.replace("{{username}}", "%s").replace("{{message}}", "%s")
+			.replace("{{orderId}}", "%s").replace("{{notificationId}}", "%s");
+
+	@Test
+	void renderCostPerNotification() {
+		CompiledTemplate template = CompiledTemplate.compile(BODY);
+		long sink = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sink += template.render(values(i)).length();
+			sink += String.format(FORMAT, "jane", message(i), (long) i, (long) i).length();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += template.render(values(i)).length();
+		}
+		long compiledNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += String.format(FORMAT, "jane", message(i), (long) i, (long) i).length();
+		}
+		long formatNanos = System.nanoTime() - start;
+
+		System.out.printf("Notification render: compiled %d ns/op, String.format %d ns/op (%d chars)%n",
+				compiledNanos / ITERATIONS, formatNanos / ITERATIONS, sink);
+		assertThat(sink).isPositive();
+	}
+
+	private static Map<String, Object> values(long id) {
+		return Map.of("username", "jane", "message", message(id), "orderId", id, "notificationId", id);
+	}
+
+	private static String message(long id) {
+		return "Your order ORD-" + id + " has been shipped and is on its way.";
+	}
+}
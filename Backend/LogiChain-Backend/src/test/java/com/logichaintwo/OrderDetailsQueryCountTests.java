@@ -0,0 +1,142 @@
+package com.logichaintwo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.logichaintwo.dto.OrderDetailsDTO;
+import com.logichaintwo.entities.Notification;
+import com.logichaintwo.entities.Order;
+import com.logichaintwo.entities.OrderItem;
+import com.logichaintwo.entities.Product;
+import com.logichaintwo.entities.Return;
+import com.logichaintwo.entities.Shipment;
+import com.logichaintwo.entities.ShipmentEvent;
+import com.logichaintwo.entities.User;
+import com.logichaintwo.enums.EventType;
+import com.logichaintwo.enums.NotificationChannel;
+import com.logichaintwo.enums.NotificationStatus;
+import com.logichaintwo.enums.NotificationType;
+import com.logichaintwo.enums.OrderStatus;
+import com.logichaintwo.enums.PaymentStatus;
+import com.logichaintwo.enums.ReturnStatus;
+import com.logichaintwo.enums.Role;
+import com.logichaintwo.enums.ShipmentStatus;
+import com.logichaintwo.service.IOrderService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OrderDetailsQueryCountTests {
+	private static final long MAX_STATEMENTS = 4;
+
+	@Autowired
+	private IOrderService orderService;
+
+	@Autowired
+	private EntityManager em;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 40 })
+	void detailsUseAFixedNumberOfStatements(int itemCount) {
+		Long orderId = createOrder(itemCount);
+		em.flush();
+		em.clear();
+
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		OrderDetailsDTO details = orderService.getDetails(orderId);
+
+		assertThat(details.getItems()).hasSize(itemCount);
+		assertThat(details.getShipmentEvents()).hasSize(3);
+		assertThat(details.getReturns()).hasSize(2);
+		assertThat(details.getNotifications()).hasSize(2);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+	}
+
+	private Long createOrder(int itemCount) {
+		String suffix = Long.toString(System.nanoTime(), 36);
+
+		User customer = new User();
+		customer.setUsername("qc_" + suffix);
+		customer.setEmail("qc_" + suffix + "@example.com");
+		customer.setPassword("secret123");
+		customer.setRole(Role.CUSTOMER);
+		em.persist(customer);
+
+		Order order = new Order();
+		order.setOrderNumber("QC-" + suffix);
+		order.setCustomerId(customer.getId());
+		order.setOrderStatus(OrderStatus.SHIPPED);
+		order.setPaymentStatus(PaymentStatus.PAID);
+		order.setTotalAmount(new BigDecimal("10.00").multiply(BigDecimal.valueOf(itemCount)));
+		order.setShippingAddress("1 Test Street");
+		order.setBillingAddress("1 Test Street");
+		em.persist(order);
+
+		for (int i = 0; i < itemCount; i++) {
+			Product product = new Product();
+			product.setSku("QC-" + suffix + "-" + i);
+			product.setName("Query count product " + i);
+			product.setPrice(new BigDecimal("10.00"));
+			product.setWeight(1.0);
+			em.persist(product);
+
+			OrderItem item = new OrderItem();
+			item.setOrderId(order.getId());
+			item.setProductId(product.getId());
+			item.setProductName(product.getName());
+			item.setQuantity(1);
+			item.setUnitPrice(product.getPrice());
+			item.setSubtotal(product.getPrice());
+			em.persist(item);
+		}
+
+		Shipment shipment = new Shipment();
+		shipment.setTrackingNumber("QCT-" + suffix);
+		shipment.setOrderId(order.getId());
+		shipment.setShipmentStatus(ShipmentStatus.IN_TRANSIT);
+		em.persist(shipment);
+		for (EventType type : new EventType[] { EventType.CREATED, EventType.PICKED_UP, EventType.IN_TRANSIT }) {
+			ShipmentEvent event = new ShipmentEvent();
+			event.setShipmentId(shipment.getId());
+			event.setEventType(type);
+			event.setDescription(type.name());
+			em.persist(event);
+		}
+
+		for (int i = 0; i < 2; i++) {
+			Return ret = new Return();
+			ret.setOrderId(order.getId());
+			ret.setReturnNumber("QCR-" + suffix + "-" + i);
+			ret.setReturnStatus(ReturnStatus.REQUESTED);
+			ret.setReason("Arrived damaged in transit");
+			ret.setRefundAmount(new BigDecimal("10.00"));
+			em.persist(ret);
+
+			Notification notification = new Notification();
+			notification.setUserId(customer.getId());
+			notification.setOrderId(order.getId());
+			notification.setShipmentId(shipment.getId());
+			notification.setNotificationType(NotificationType.ORDER_PLACED);
+			notification.setChannel(NotificationChannel.EMAIL);
+			notification.setMessage("Your order " + order.getOrderNumber() + " was placed");
+			notification.setStatus(NotificationStatus.SENT);
+			em.persist(notification);
+		}
+		return order.getId();
+	}
+}